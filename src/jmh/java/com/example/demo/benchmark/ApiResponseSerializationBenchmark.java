@@ -0,0 +1,48 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.common.dto.ApiResponse;
+import com.example.demo.transaction.entity.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거래 목록 API 응답(ApiResponse&lt;Page&lt;Transaction&gt;&gt;) Jackson 직렬화 비용
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"20", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Page<Transaction>> response;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot 와 같은 기본 설정 (JavaTimeModule 등록, 날짜를 timestamp 로 쓰지 않음)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Page<Transaction> page = new PageImpl<>(BenchmarkData.transactions(pageSize, 100),
+                PageRequest.of(0, pageSize), 1_000_000L);
+        response = ApiResponse.success(page);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
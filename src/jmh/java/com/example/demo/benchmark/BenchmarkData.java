@@ -0,0 +1,54 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.account.entity.Account;
+import com.example.demo.batch.engine.SettlementAccount;
+import com.example.demo.transaction.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 벤치마크 입력 데이터 (고정 seed 로 매 실행 동일)
+ */
+final class BenchmarkData {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 15, 0, 0);
+
+    private BenchmarkData() {
+    }
+
+    static List<Transaction> transactions(int count, int accountCount) {
+        Random random = new Random(42L);
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            transactions.add(Transaction.builder()
+                    .id(id)
+                    .accountId(accountId(random.nextInt(accountCount)))
+                    .amount(BigDecimal.valueOf(100 + random.nextInt(1_000_000), 2))
+                    .type(random.nextBoolean() ? Transaction.TransactionType.DEPOSIT : Transaction.TransactionType.WITHDRAWAL)
+                    .createdAt(BASE_TIME.plusSeconds(id))
+                    .isProcessed(false)
+                    .build());
+        }
+        return transactions;
+    }
+
+    static Map<String, SettlementAccount> accounts(int accountCount) {
+        Map<String, SettlementAccount> accounts = new HashMap<>();
+        for (int i = 0; i < accountCount; i++) {
+            String id = accountId(i);
+            accounts.put(id, new SettlementAccount(id, BigDecimal.valueOf(50_000_000L, 2),
+                    i % 3 == 0 ? Account.AccountType.PREMIUM : Account.AccountType.BASIC));
+        }
+        return accounts;
+    }
+
+    private static String accountId(int index) {
+        return "ACC" + String.format("%06d", index);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.batch.engine.ChunkSettlement;
+import com.example.demo.batch.engine.SettlementAccount;
+import com.example.demo.batch.engine.SettlementEngine;
+import com.example.demo.transaction.entity.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * chunk 거래를 계좌별 순증감으로 합산하는 SettlementEngine.settle 비용
+ *
+ * 계좌 수가 적을수록 한 계좌에 거래가 몰려 합산 효과가 커짐
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ChunkCoalescingBenchmark {
+
+    @Param({"1000"})
+    private int chunkSize;
+
+    @Param({"10", "1000"})
+    private int accountCount;
+
+    private SettlementEngine engine;
+    private List<Transaction> chunk;
+    private Map<String, SettlementAccount> accounts;
+
+    @Setup
+    public void setUp() {
+        engine = new SettlementEngine();
+        chunk = BenchmarkData.transactions(chunkSize, accountCount);
+        accounts = BenchmarkData.accounts(accountCount);
+    }
+
+    @Benchmark
+    public ChunkSettlement settleChunk() {
+        return engine.settle(chunk, accounts);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.batch.engine.Cents;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BASIC 입금 보너스 / PREMIUM 출금 수수료 계산: BigDecimal vs long 최소 단위({@link Cents})
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SettlementArithmeticBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final BigDecimal BASIC_DEPOSIT_RATE = new BigDecimal("1.005");
+    private static final BigDecimal PREMIUM_WITHDRAWAL_FEE_RATE = new BigDecimal("0.01");
+
+    private BigDecimal[] amounts;
+    private long[] cents;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        amounts = new BigDecimal[SIZE];
+        cents = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            amounts[i] = BigDecimal.valueOf(100 + random.nextInt(5_000_000), 2);
+            cents[i] = Cents.of(amounts[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void basicDepositBonusBigDecimal(Blackhole blackhole) {
+        for (BigDecimal amount : amounts) {
+            blackhole.consume(amount.multiply(BASIC_DEPOSIT_RATE).setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void basicDepositBonusCents(Blackhole blackhole) {
+        for (long amount : cents) {
+            blackhole.consume(Cents.withBasicDepositBonus(amount));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void premiumWithdrawalFeeBigDecimal(Blackhole blackhole) {
+        for (BigDecimal amount : amounts) {
+            blackhole.consume(amount.add(amount.multiply(PREMIUM_WITHDRAWAL_FEE_RATE).setScale(2, RoundingMode.HALF_UP)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void premiumWithdrawalFeeCents(Blackhole blackhole) {
+        for (long amount : cents) {
+            blackhole.consume(amount + Cents.premiumWithdrawalFee(amount));
+        }
+    }
+
+    /**
+     * 엔티티의 BigDecimal 금액을 long 으로 변환하는 비용까지 포함
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void basicDepositBonusCentsWithConversion(Blackhole blackhole) {
+        for (BigDecimal amount : amounts) {
+            blackhole.consume(Cents.withBasicDepositBonus(Cents.of(amount)));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.account.entity.Account;
+import com.example.demo.batch.util.TransactionDataGenerator;
+import com.example.demo.transaction.entity.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionDataGenerator.generateBulkTransactions 처리량
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class TransactionDataGeneratorBenchmark {
+
+    @Param({"10000", "100000"})
+    private int count;
+
+    private TransactionDataGenerator generator;
+    private List<Account> accounts;
+
+    @Setup
+    public void setUp() {
+        generator = new TransactionDataGenerator();
+        accounts = generator.generateAccounts(1_000);
+    }
+
+    @Benchmark
+    public List<Transaction> generateBulkTransactions() {
+        return generator.generateBulkTransactions(accounts, count);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.batch.step.TransactionItemProcessor;
+import com.example.demo.transaction.entity.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * chunk 1개 분량(1000 건)을 TransactionItemProcessor 로 처리하는 비용
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TransactionItemProcessorBenchmark {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private TransactionItemProcessor processor;
+    private List<Transaction> chunk;
+
+    @Setup
+    public void setUp() {
+        processor = new TransactionItemProcessor();
+        chunk = BenchmarkData.transactions(CHUNK_SIZE, 100);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public void process(Blackhole blackhole) throws Exception {
+        for (Transaction transaction : chunk) {
+            blackhole.consume(processor.process(transaction));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.batch.archive;
+
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.transaction.archive.ColdTransactionStore;
+import com.example.demo.transaction.entity.Transaction;
+import com.example.demo.transaction.repository.TransactionArchiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 보존 기간(settlement.cold-archive.retention)이 지난 정산 완료 거래를 일자별 컬럼 파일로 옮기고 transactions 에서 삭제
+ *
+ * - batch 마다 가장 오래된 batchSize 건을 읽어 파일로 쓰고(fsync) 같은 트랜잭션에서 삭제
+ * - 파일은 커밋 직전에 공개하고 커밋이 실패하면 지우므로, 삭제된 거래는 항상 파일에 있음
+ * - batch 가 가득 차지 않거나 maxBatchesPerRun 에 도달하면 종료 (나머지는 다음 실행에서 이어감)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ColdTransactionArchiver {
+
+    private final TransactionArchiveRepository transactionArchiveRepository;
+    private final ColdTransactionStore coldTransactionStore;
+    private final PlatformTransactionManager transactionManager;
+    private final SettlementProperties settlementProperties;
+
+    public record Result(int batchCount, long archivedCount) {
+    }
+
+    public Result run() {
+        SettlementProperties.ColdArchive coldArchive = settlementProperties.getColdArchive();
+        LocalDateTime cutoff = coldTransactionStore.hotWindowStart();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        coldTransactionStore.cleanUpStaged();
+
+        int batchCount = 0;
+        long archivedCount = 0;
+        for (int i = 0; i < coldArchive.getMaxBatchesPerRun(); i++) {
+            int archived = archiveNextBatch(transactionTemplate, cutoff, coldArchive.getBatchSize());
+            if (archived == 0) {
+                break;
+            }
+
+            batchCount++;
+            archivedCount += archived;
+            if (archived < coldArchive.getBatchSize()) {
+                break;
+            }
+        }
+
+        log.info("Cold archive finished - cutoff: {}, batches: {}, archived: {}", cutoff, batchCount, archivedCount);
+        return new Result(batchCount, archivedCount);
+    }
+
+    private int archiveNextBatch(TransactionTemplate transactionTemplate, LocalDateTime cutoff, int batchSize) {
+        List<Path> published = new ArrayList<>();
+        try {
+            Integer archived = transactionTemplate.execute(status -> {
+                List<Transaction> transactions = transactionArchiveRepository.findSettledBefore(cutoff, batchSize);
+                if (transactions.isEmpty()) {
+                    return 0;
+                }
+
+                List<Path> staged = coldTransactionStore.stage(transactions);
+                try {
+                    transactionArchiveRepository.delete(transactions);
+                } catch (RuntimeException e) {
+                    coldTransactionStore.discard(staged);
+                    throw e;
+                }
+                published.addAll(coldTransactionStore.publish(staged));
+                return transactions.size();
+            });
+            return archived == null ? 0 : archived;
+
+        } catch (RuntimeException e) {
+            // 삭제가 롤백되었으므로 공개한 파일도 지움 (남겨 두면 같은 거래가 다음 실행에서 다시 아카이브됨)
+            coldTransactionStore.discard(published);
+            throw e;
+        }
+    }
+}
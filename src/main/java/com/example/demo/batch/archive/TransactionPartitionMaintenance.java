@@ -0,0 +1,130 @@
+package com.example.demo.batch.archive;
+
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.transaction.archive.ColdTransactionStore;
+import com.example.demo.transaction.repository.TransactionPartitionRepository;
+import com.example.demo.transaction.repository.TransactionPartitionRepository.TransactionPartition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * transactions 월 단위 RANGE 파티션 관리
+ *
+ * - 이번 달 + monthsAhead 개월까지 파티션을 미리 만들어 두어 보통은 비어 있는 p_future 만 나눔 (행 이동 없음)
+ * - p_future 에 이미 행이 있으면 (파티션 생성이 밀린 경우) 같은 REORGANIZE 로 행을 옮겨 나눔
+ *   (테이블 잠금 동안 행을 복사하므로 호출하는 쪽이 정산 실행 잠금이 비어 있을 때만 실행)
+ * - 파티션 생성은 transaction-partition.enabled 와 무관하게 항상 수행하고, enabled 이면 아래 분리도 수행
+ * - retainMonths 보다 오래되고 미처리 거래가 없는 파티션은 EXCHANGE PARTITION 으로 transactions_archive_<파티션> 테이블로 분리
+ *   (콜드 아카이브가 켜져 있으면 아카이브 파일로 옮기기 전의 행이 조회에서 빠지지 않도록 retention 이전 구간만 분리)
+ * - transactions 가 파티션되지 않은 테이블이면 아무것도 하지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionPartitionMaintenance {
+
+    static final String ARCHIVE_TABLE_PREFIX = "transactions_archive_";
+
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final TransactionPartitionRepository transactionPartitionRepository;
+    private final ColdTransactionStore coldTransactionStore;
+    private final SettlementProperties settlementProperties;
+
+    public record Result(List<String> createdPartitions, List<String> archivedPartitions) {
+    }
+
+    public Result run() {
+        return run(YearMonth.now());
+    }
+
+    public Result run(YearMonth currentMonth) {
+        List<TransactionPartition> partitions = transactionPartitionRepository.findPartitions();
+        if (partitions.isEmpty()) {
+            log.info("transactions table is not partitioned - skipping partition maintenance");
+            return new Result(List.of(), List.of());
+        }
+
+        List<String> archived = settlementProperties.getTransactionPartition().isEnabled()
+                ? archiveExpired(partitions, currentMonth)
+                : List.of();
+        Result result = new Result(createUpcoming(partitions, currentMonth), archived);
+        log.info("Transaction partition maintenance finished - created: {}, archived: {}",
+                result.createdPartitions(), result.archivedPartitions());
+        return result;
+    }
+
+    private List<String> createUpcoming(List<TransactionPartition> partitions, YearMonth currentMonth) {
+        LocalDateTime lastBound = partitions.stream()
+                .map(TransactionPartition::upperBound)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        if (lastBound == null) {
+            log.warn("transactions has no bounded partition - cannot derive the next monthly partition");
+            return List.of();
+        }
+
+        // 마지막 경계가 속한 달부터 목표 달까지 한 달씩 추가
+        YearMonth until = currentMonth.plusMonths(settlementProperties.getTransactionPartition().getMonthsAhead());
+        List<TransactionPartition> upcoming = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(lastBound); !month.isAfter(until); month = month.plusMonths(1)) {
+            upcoming.add(new TransactionPartition(month.format(PARTITION_NAME_FORMAT),
+                    month.plusMonths(1).atDay(1).atStartOfDay()));
+        }
+        if (upcoming.isEmpty()) {
+            return List.of();
+        }
+
+        boolean hasMaxValuePartition = partitions.get(partitions.size() - 1).upperBound() == null;
+        if (hasMaxValuePartition && transactionPartitionRepository.hasRows(TransactionPartitionRepository.MAXVALUE_PARTITION)) {
+            log.warn("Partition {} is not empty - reorganizing it into {} moves its rows under a table lock",
+                    TransactionPartitionRepository.MAXVALUE_PARTITION, upcoming.stream().map(TransactionPartition::name).toList());
+        }
+        transactionPartitionRepository.addPartitions(upcoming, hasMaxValuePartition);
+        return upcoming.stream().map(TransactionPartition::name).toList();
+    }
+
+    private List<String> archiveExpired(List<TransactionPartition> partitions, YearMonth currentMonth) {
+        int retainMonths = settlementProperties.getTransactionPartition().getRetainMonths();
+        if (retainMonths <= 0) {
+            return List.of();
+        }
+
+        LocalDateTime retainFrom = currentMonth.minusMonths(retainMonths).atDay(1).atStartOfDay();
+        if (coldTransactionStore.isEnabled() && coldTransactionStore.hotWindowStart().isBefore(retainFrom)) {
+            log.warn("transaction-partition.retain-months {} is shorter than cold-archive.retention {} - keeping partitions after {}",
+                    retainMonths, settlementProperties.getColdArchive().getRetention(), coldTransactionStore.hotWindowStart());
+            retainFrom = coldTransactionStore.hotWindowStart();
+        }
+        List<String> archived = new ArrayList<>();
+        for (TransactionPartition partition : partitions) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(retainFrom)) {
+                continue;
+            }
+
+            String archiveTable = ARCHIVE_TABLE_PREFIX + partition.name();
+            if (transactionPartitionRepository.hasUnprocessed(partition.name())) {
+                log.warn("Partition {} still has unprocessed transactions - keeping it", partition.name());
+                continue;
+            }
+            if (transactionPartitionRepository.tableExists(archiveTable)) {
+                log.warn("Archive table {} already exists - skipping partition {}", archiveTable, partition.name());
+                continue;
+            }
+
+            transactionPartitionRepository.exchangeOut(partition.name(), archiveTable);
+            log.info("Archived partition {} into {}", partition.name(), archiveTable);
+            archived.add(partition.name());
+        }
+        return archived;
+    }
+}
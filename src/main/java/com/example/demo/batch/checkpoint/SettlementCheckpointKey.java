@@ -0,0 +1,37 @@
+package com.example.demo.batch.checkpoint;
+
+import com.example.demo.batch.job.SettlementRunParameters;
+import com.example.demo.batch.step.TransactionItemReader;
+import org.springframework.batch.core.JobParameter;
+import org.springframework.batch.core.StepExecution;
+
+/**
+ * 정산 체크포인트를 구분하는 키 (Job 이름 + 실행 키 + 파티션 번호)
+ *
+ * 실행 키는 settlementDate Job 파라미터 (time 이 있으면 "settlementDate-time", 없으면 JobInstance ID) 이므로,
+ * - 같은 JobInstance 를 재시작하면 Batch 메타데이터가 없어도 마지막 커밋 지점부터 이어서 정산
+ * - time 을 더한 새 JobInstance (재실행/트리거/후속 실행) 는 체크포인트를 공유하지 않고 미처리 거래 처음부터 읽음
+ *   (이전 실행의 cutoff 때문에 건너뛴 거래가 체크포인트 뒤에 남지 않도록)
+ */
+public record SettlementCheckpointKey(String jobName, String runKey, int partitionIndex) {
+
+    public static final String SETTLEMENT_DATE = "settlementDate";
+
+    public static SettlementCheckpointKey of(StepExecution stepExecution) {
+        return new SettlementCheckpointKey(
+                stepExecution.getJobExecution().getJobInstance().getJobName(),
+                runKey(stepExecution),
+                stepExecution.getExecutionContext().getInt(TransactionItemReader.PARTITION_INDEX, 0));
+    }
+
+    private static String runKey(StepExecution stepExecution) {
+        JobParameter<?> settlementDate = stepExecution.getJobParameters().getParameter(SETTLEMENT_DATE);
+        if (settlementDate != null) {
+            JobParameter<?> runTime = stepExecution.getJobParameters().getParameter(SettlementRunParameters.RUN_TIME);
+            return runTime == null
+                    ? settlementDate.getValue().toString()
+                    : settlementDate.getValue() + "-" + runTime.getValue();
+        }
+        return "instance-" + stepExecution.getJobExecution().getJobInstance().getInstanceId();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.batch.config;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * chunk 트랜잭션이 열려 있는 동안에만 세마포어 permit 을 보유하는 트랜잭션 매니저
+ *
+ * chunk 트랜잭션은 시작부터 커밋/롤백까지 커넥션 하나를 점유하므로, permit 수를 커넥션 풀에 맞추면
+ * 가상 스레드 worker 가 풀보다 많아도 커넥션을 기다리다 타임아웃 나지 않음
+ * (worker 자체는 제한하지 않으므로 DB 밖의 작업은 모든 worker 가 동시에 수행)
+ *
+ * TaskletStep 이 chunk 마다 getTransaction 후 commit 또는 rollback 을 정확히 한 번 호출하는 것을 전제로 함
+ */
+public class DbConcurrencyLimitingTransactionManager implements PlatformTransactionManager {
+
+    private final PlatformTransactionManager delegate;
+    private final Semaphore permits;
+
+    public DbConcurrencyLimitingTransactionManager(PlatformTransactionManager delegate, int maxConcurrency) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    @Override
+    public TransactionStatus getTransaction(TransactionDefinition definition) throws TransactionException {
+        permits.acquireUninterruptibly();
+        try {
+            return delegate.getTransaction(definition);
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void commit(TransactionStatus status) throws TransactionException {
+        try {
+            delegate.commit(status);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void rollback(TransactionStatus status) throws TransactionException {
+        try {
+            delegate.rollback(status);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.batch.config;
+
+import com.example.demo.batch.step.SettlementItemWriter;
+import com.example.demo.batch.step.TransactionItemProcessor;
+import com.example.demo.transaction.entity.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * settlement.pipeline.mode=ASYNC 에서 사용하는 비동기 처리/쓰기 구성
+ *
+ * - Reader: settlementPrefetchTaskExecutor 에서 다음 페이지를 미리 조회
+ * - Processor: processor-threads 가 1 이상이면 settlementProcessorTaskExecutor 에서 실행하고 Future 반환
+ * - Writer: chunk 스레드(= chunk 트랜잭션)에서 Future 결과를 모아 SettlementItemWriter 에 위임
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SettlementPipelineConfig {
+
+    private final SettlementProperties settlementProperties;
+
+    /**
+     * 페이지 조회는 Reader 마다 한 번에 하나씩 이어서 실행되므로 동시에 실행되는 Reader 수(파티션 수)만큼의 스레드로 제한
+     * (큐에 쌓이는 작업도 Reader 당 max-in-flight-chunks 로 제한됨)
+     */
+    @Bean
+    public TaskExecutor settlementPrefetchTaskExecutor() {
+        int threads = settlementProperties.getPartition().getGridSize();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("settlement-prefetch-");
+        executor.setVirtualThreads(settlementProperties.getExecution().getThreadMode() == SettlementProperties.ThreadMode.VIRTUAL);
+        return executor;
+    }
+
+    /**
+     * processor-threads 가 0 이면 AsyncItemProcessor 를 쓰지 않으므로 스레드를 만들지 않음 (스레드는 첫 작업에서 생성)
+     */
+    @Bean
+    public TaskExecutor settlementProcessorTaskExecutor() {
+        int threads = Math.max(1, settlementProperties.getPipeline().getProcessorThreads());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("settlement-processor-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean
+    public AsyncItemProcessor<Transaction, Transaction> asyncTransactionItemProcessor(
+            TransactionItemProcessor transactionItemProcessor) {
+        AsyncItemProcessor<Transaction, Transaction> processor = new AsyncItemProcessor<>();
+        processor.setDelegate(transactionItemProcessor);
+        processor.setTaskExecutor(settlementProcessorTaskExecutor());
+        return processor;
+    }
+
+    @Bean
+    public AsyncItemWriter<Transaction> asyncSettlementItemWriter(SettlementItemWriter settlementItemWriter) {
+        AsyncItemWriter<Transaction> writer = new AsyncItemWriter<>();
+        writer.setDelegate(settlementItemWriter);
+        return writer;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.batch.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * shard 별 정산 프로시저(SP_SETTLE_ACCOUNTS_SHARD) 동시 호출 구성
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SettlementProcedureConfig {
+
+    private final SettlementProperties settlementProperties;
+    private final SettlementTaskExecutorFactory settlementTaskExecutorFactory;
+
+    /**
+     * shard 마다 커넥션을 하나씩 쓰므로 스레드 수를 shard 수와 커넥션 풀 여유분(maxDbConcurrency) 중 작은 값으로 제한
+     * (초과한 shard 는 큐에서 기다렸다가 앞선 shard 가 끝나면 실행)
+     */
+    @Bean
+    public TaskExecutor settlementShardTaskExecutor() {
+        int threads = Math.max(1, Math.min(settlementProperties.getProcedure().getShardCount(),
+                settlementTaskExecutorFactory.maxDbConcurrency()));
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("settlement-shard-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
@@ -0,0 +1,400 @@
+package com.example.demo.batch.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 정산 배치 설정 (application.yml 의 settlement.*)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "settlement")
+public class SettlementProperties {
+
+    /**
+     * chunk 당 거래 건수 (= commit interval)
+     */
+    private int chunkSize = 1000;
+
+    private AdaptiveChunk adaptiveChunk = new AdaptiveChunk();
+
+    private Reader reader = new Reader();
+
+    private Partition partition = new Partition();
+
+    private Writer writer = new Writer();
+
+    private Execution execution = new Execution();
+
+    private Pipeline pipeline = new Pipeline();
+
+    private WorkQueue workQueue = new WorkQueue();
+
+    private Procedure procedure = new Procedure();
+
+    private Continuous continuous = new Continuous();
+
+    private Trigger trigger = new Trigger();
+
+    private Lock lock = new Lock();
+
+    private TransactionPartition transactionPartition = new TransactionPartition();
+
+    private ColdArchive coldArchive = new ColdArchive();
+
+    private Checkpoint checkpoint = new Checkpoint();
+
+    @Getter
+    @Setter
+    public static class AdaptiveChunk {
+
+        /**
+         * true 이면 settlementStep 의 chunk 크기를 chunk 소요 시간에 맞춰 chunkSize 에서 시작해 자동 조절
+         */
+        private boolean enabled = false;
+
+        /**
+         * chunk 크기 하한
+         */
+        private int minSize = 100;
+
+        /**
+         * chunk 크기 상한
+         */
+        private int maxSize = 10_000;
+
+        /**
+         * 목표 chunk 소요 시간 (읽기 ~ 커밋)
+         */
+        private Duration targetCommitTime = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Reader {
+
+        /**
+         * keyset 페이지 한 번에 읽어올 거래 건수
+         */
+        private int pageSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Partition {
+
+        /**
+         * 스케줄러가 partitionedSettlementJob 을 실행할지 여부
+         */
+        private boolean enabled = false;
+
+        /**
+         * account_id 해시 파티션 수 (= 동시에 실행되는 worker Step 수)
+         */
+        private int gridSize = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class Writer {
+
+        /**
+         * chunk 정산 방식
+         * - ENGINE: Java 정산 엔진 + JDBC 배치
+         * - PROCEDURE: chunk 거래 ID 만 넘기는 SP_SETTLE_ACCOUNTS_CHUNK 호출
+         */
+        private WriterMode mode = WriterMode.ENGINE;
+    }
+
+    @Getter
+    @Setter
+    public static class Execution {
+
+        /**
+         * 파티션 worker Step 과 /run-batch Job 을 실행할 스레드 종류
+         * - PLATFORM: worker 수만큼 플랫폼 스레드
+         * - VIRTUAL: worker / Job 마다 가상 스레드 (Java 21)
+         */
+        private ThreadMode threadMode = ThreadMode.PLATFORM;
+
+        /**
+         * 동시에 열 수 있는 worker chunk 트랜잭션 수 (0 이면 커넥션 풀 크기 - 1)
+         */
+        private int maxDbConcurrency = 0;
+    }
+
+    @Getter
+    @Setter
+    public static class Pipeline {
+
+        /**
+         * settlementStep 실행 방식
+         * - SYNC: 읽기 → 처리 → 쓰기를 chunk 스레드에서 순서대로 실행
+         * - ASYNC: 다음 페이지를 미리 읽어 쓰기와 읽기를 겹침 (processor-threads 가 1 이상이면 처리도 스레드 풀에서 Future 로 실행)
+         */
+        private PipelineMode mode = PipelineMode.SYNC;
+
+        /**
+         * 쓰기 중인 chunk 외에 미리 읽어둘 수 있는 chunk 수 (backpressure 상한)
+         */
+        private int maxInFlightChunks = 2;
+
+        /**
+         * ASYNC 모드의 처리 스레드 수
+         * (0 이면 처리는 chunk 스레드에서 실행, TransactionItemProcessor 는 로깅만 하므로 스레드 풀로 넘길 작업이 없음)
+         */
+        private int processorThreads = 0;
+    }
+
+    @Getter
+    @Setter
+    public static class WorkQueue {
+
+        /**
+         * true 이면 스케줄러가 Batch Job 대신 작업 큐 모드로 정산 (모든 노드가 계좌 버킷을 나눠 가져감)
+         */
+        private boolean enabled = false;
+
+        /**
+         * 노드 식별자 (비어 있으면 호스트명@PID)
+         */
+        private String nodeId = "";
+
+        /**
+         * account_id 해시 버킷 수 (= 노드들이 나눠 가지는 작업 단위 수)
+         */
+        private int bucketCount = 16;
+
+        /**
+         * 버킷 점유 기간 (페이지를 정산할 때마다 연장, 만료되면 다른 노드가 가져감)
+         */
+        private Duration leaseDuration = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Procedure {
+
+        /**
+         * 전체 정산 프로시저 종류
+         * - CURSOR: 거래를 한 건씩 처리하는 SP_SETTLE_ACCOUNTS
+         * - SET: 계좌별 누적 잔고를 윈도 함수로 한 번에 계산해 일괄 반영하는 SP_SETTLE_ACCOUNTS_SET (잔고 부족 출금이 있는 계좌만 다시 계산)
+         */
+        private ProcedureVariant variant = ProcedureVariant.CURSOR;
+
+        /**
+         * 전체 정산을 나눌 account_id 해시 shard 수
+         * 1 이면 variant 프로시저를 한 번 호출하고, 2 이상이면 SP_SETTLE_ACCOUNTS_SHARD 를 shard 마다 별도 커넥션에서 동시에 호출
+         */
+        private int shardCount = 1;
+    }
+
+    @Getter
+    @Setter
+    public static class Continuous {
+
+        /**
+         * true 이면 04:00 일괄 정산 대신 새로 들어온 거래를 interval 마다 조금씩 정산 (정산 이력은 하루 1건으로 누적)
+         */
+        private boolean enabled = false;
+
+        /**
+         * 정산 주기 (이전 실행이 끝난 뒤부터)
+         */
+        private Duration interval = Duration.ofSeconds(5);
+
+        /**
+         * 트랜잭션 하나에서 정산하는 최대 거래 수
+         */
+        private int batchSize = 500;
+
+        /**
+         * 한 번 실행할 때 처리하는 최대 batch 수 (밀린 거래가 많아도 한 실행이 길어지지 않도록)
+         */
+        private int maxBatchesPerRun = 20;
+
+        /**
+         * 생성된 지 이 시간이 지난 거래만 정산 (늦게 커밋되는 거래가 high-water mark 뒤로 밀리지 않도록)
+         */
+        private Duration settleDelay = Duration.ofSeconds(2);
+
+        /**
+         * high-water mark 뒤에 남은 거래(늦게 커밋된 거래, 오류 거래)를 다시 정산하는 sweep 주기 (04:00 일괄 정산 대신)
+         */
+        private String sweepCron = "0 0 4 * * *";
+    }
+
+    @Getter
+    @Setter
+    public static class Trigger {
+
+        /**
+         * true 이면 미처리 backlog 를 주기적으로 확인해 크기/경과 시간 기준으로 정산 배치를 실행
+         */
+        private boolean enabled = false;
+
+        /**
+         * backlog 확인 주기
+         */
+        private Duration pollInterval = Duration.ofSeconds(10);
+
+        /**
+         * backlog 가 이 건수 이상이면 소진 모드로 들어가 minGap 마다 정산 실행
+         */
+        private long startBacklog = 50_000;
+
+        /**
+         * 소진 모드에서 backlog 가 이 건수 이하로 줄면 소진 모드 종료 (startBacklog 보다 작아야 함)
+         */
+        private long stopBacklog = 5_000;
+
+        /**
+         * 가장 오래된 미정산 거래가 이 시간보다 오래되면 backlog 크기와 무관하게 실행
+         */
+        private Duration maxAge = Duration.ofMinutes(30);
+
+        /**
+         * 정산 실행 사이 최소 간격
+         */
+        private Duration minGap = Duration.ofMinutes(1);
+
+        /**
+         * backlog 가 남아 있으면 이 간격이 지나면 반드시 실행
+         */
+        private Duration maxGap = Duration.ofHours(6);
+
+        /**
+         * 한 번의 실행에서 정산하는 최대 거래 수 (실행 시간을 예측 가능한 범위로 제한, 나머지는 다음 실행에서 정산)
+         */
+        private long maxRunSize = 200_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Lock {
+
+        /**
+         * true 이면 스케줄/수동 정산 실행을 settlement_lock 으로 클러스터 전체에서 하나로 제한
+         */
+        private boolean enabled = true;
+
+        /**
+         * 잠금 점유 기간 (실행 중에는 1/3 주기로 연장, 노드가 죽으면 만료 후 다른 노드가 획득)
+         */
+        private Duration leaseDuration = Duration.ofMinutes(5);
+
+        /**
+         * 잠금 보유자 이름 (비어 있으면 호스트명@PID)
+         */
+        private String nodeId = "";
+    }
+
+    @Getter
+    @Setter
+    public static class TransactionPartition {
+
+        /**
+         * true 이면 보관 기간이 지난 파티션을 아카이브 테이블로 분리 (월 파티션 생성은 이 값과 무관하게 항상 수행)
+         */
+        private boolean enabled = false;
+
+        /**
+         * 파티션 관리 실행 시각
+         */
+        private String cron = "0 30 3 * * *";
+
+        /**
+         * 이번 달 이후 미리 만들어 둘 월 파티션 수
+         */
+        private int monthsAhead = 3;
+
+        /**
+         * transactions 에 남겨 둘 개월 수 (이보다 오래되고 모두 정산된 파티션만 분리, 0 이면 분리하지 않음)
+         *
+         * 콜드 아카이브가 켜져 있으면 cold-archive.retention 보다 짧게 잡아도 retention 이전 구간의 파티션만 분리
+         * (분리된 행은 조회 대상이 아니므로 아카이브 파일로 옮기기 전에 분리되지 않도록 함)
+         */
+        private int retainMonths = 14;
+    }
+
+    @Getter
+    @Setter
+    public static class ColdArchive {
+
+        /**
+         * true 이면 retention 보다 오래된 정산 완료 거래를 일 단위 컬럼 파일로 옮기고 transactions 에서 삭제
+         */
+        private boolean enabled = false;
+
+        /**
+         * 아카이브 실행 시각
+         */
+        private String cron = "0 0 5 * * *";
+
+        /**
+         * transactions 에 남겨 둘 기간 (오늘 - retention 일자 이전에 생성된 거래가 대상)
+         */
+        private Duration retention = Duration.ofDays(400);
+
+        /**
+         * 아카이브 파일 루트 디렉터리 (하위에 dt=yyyy-MM-dd 디렉터리)
+         */
+        private String directory = "./archive/transactions";
+
+        /**
+         * true 이면 shared-directory 가 true 일 때만 시작 (여러 노드로 배포할 때 켬)
+         */
+        private boolean requireSharedDirectory = false;
+
+        /**
+         * directory 가 모든 노드에 마운트된 공유 경로인지
+         */
+        private boolean sharedDirectory = false;
+
+        /**
+         * 한 트랜잭션에서 파일로 옮기고 삭제하는 거래 수
+         */
+        private int batchSize = 10_000;
+
+        /**
+         * 실행 한 번에 처리하는 최대 batch 수
+         */
+        private int maxBatchesPerRun = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Checkpoint {
+
+        /**
+         * 이 기간 동안 갱신되지 않은 settlement_checkpoint 행 삭제
+         */
+        private Duration retention = Duration.ofDays(7);
+
+        /**
+         * 체크포인트 정리 실행 시각
+         */
+        private String purgeCron = "0 45 3 * * *";
+    }
+
+    public enum WriterMode {
+        ENGINE, PROCEDURE
+    }
+
+    public enum ThreadMode {
+        PLATFORM, VIRTUAL
+    }
+
+    public enum ProcedureVariant {
+        CURSOR, SET
+    }
+
+    public enum PipelineMode {
+        SYNC, ASYNC
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.batch.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * 정산 worker 용 TaskExecutor / chunk 트랜잭션 매니저 생성
+ *
+ * - PLATFORM: 동시 실행 수를 worker 수로 제한한 플랫폼 스레드
+ * - VIRTUAL: worker 마다 가상 스레드
+ * - 어느 모드든 DB 작업 동시성은 worker 수가 아니라 chunk 트랜잭션 단위로 커넥션 풀 크기에 맞춰 제한
+ */
+@Slf4j
+@Component
+public class SettlementTaskExecutorFactory {
+
+    private final DataSource dataSource;
+    private final SettlementProperties settlementProperties;
+    private final PlatformTransactionManager workerTransactionManager;
+
+    public SettlementTaskExecutorFactory(DataSource dataSource, SettlementProperties settlementProperties,
+                                         PlatformTransactionManager transactionManager) {
+        this.dataSource = dataSource;
+        this.settlementProperties = settlementProperties;
+        this.workerTransactionManager = new DbConcurrencyLimitingTransactionManager(transactionManager, maxDbConcurrency());
+    }
+
+    public TaskExecutor create(SettlementProperties.ThreadMode threadMode, int workers) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("settlement-worker-");
+        if (threadMode == SettlementProperties.ThreadMode.VIRTUAL) {
+            executor.setVirtualThreads(true);
+        } else {
+            executor.setConcurrencyLimit(workers);
+        }
+
+        log.info("Created settlement task executor - threadMode: {}, workers: {}, maxDbConcurrency: {}",
+                threadMode, workers, maxDbConcurrency());
+        return executor;
+    }
+
+    /**
+     * worker Step 의 chunk 트랜잭션 매니저 (모든 worker 가 같은 permit 을 나눠 씀)
+     */
+    public PlatformTransactionManager workerTransactionManager() {
+        return workerTransactionManager;
+    }
+
+    /**
+     * 설정값이 없으면 커넥션 풀 크기 - 1 (JobRepository/manager Step 용 커넥션 1개를 남겨둠)
+     */
+    int maxDbConcurrency() {
+        int configured = settlementProperties.getExecution().getMaxDbConcurrency();
+        if (configured > 0) {
+            return configured;
+        }
+
+        if (dataSource instanceof HikariDataSource hikariDataSource) {
+            return Math.max(1, hikariDataSource.getMaximumPoolSize() - 1);
+        }
+        return settlementProperties.getPartition().getGridSize();
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.demo.batch.continuous;
+
+import com.example.demo.batch.checkpoint.SettlementCheckpointKey;
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.step.SettlementItemWriter;
+import com.example.demo.settlementhistory.entity.SettlementCheckpoint;
+import com.example.demo.settlementhistory.entity.SettlementHistory;
+import com.example.demo.settlementhistory.repository.SettlementCheckpointRepository;
+import com.example.demo.settlementhistory.repository.SettlementHistoryRepository;
+import com.example.demo.transaction.entity.Transaction;
+import com.example.demo.transaction.repository.TransactionCursorRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 새로 들어온 거래를 짧은 주기로 조금씩 정산하는 연속 정산 모드
+ *
+ * - 미처리 거래 전체를 훑는 대신 settlement_checkpoint 에 저장한 high-water mark (created_at, id) 이후만 조회
+ * - batch 마다 체크포인트 행을 FOR UPDATE 로 잠그므로 여러 노드가 실행해도 한 번에 한 노드만 정산
+ * - 정산, high-water mark 이동, 당일 정산 이력 누적을 같은 트랜잭션에서 커밋
+ * - 생성된 지 settleDelay 가 지나지 않은 거래는 늦게 커밋될 수 있으므로 다음 실행으로 미룸
+ * - high-water mark 는 앞으로만 움직이므로 그보다 늦게 커밋된 거래와 오류로 남은 거래는 sweep 으로 다시 정산
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContinuousSettlementWorker {
+
+    static final SettlementCheckpointKey CHECKPOINT_KEY = new SettlementCheckpointKey("continuousSettlement", "continuous", 0);
+
+    private static final LocalDateTime INITIAL_HIGH_WATER_MARK = LocalDate.EPOCH.atStartOfDay();
+
+    private final SettlementCheckpointRepository settlementCheckpointRepository;
+    private final TransactionCursorRepository transactionCursorRepository;
+    private final SettlementItemWriter settlementItemWriter;
+    private final SettlementHistoryRepository settlementHistoryRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final SettlementProperties settlementProperties;
+
+    /**
+     * high-water mark 이후의 거래를 batch 단위로 정산 (batch 가 가득 차지 않거나 maxBatchesPerRun 에 도달하면 종료)
+     */
+    public RunResult run() {
+        SettlementProperties.Continuous continuous = settlementProperties.getContinuous();
+        LocalDateTime cutoff = LocalDateTime.now().minus(continuous.getSettleDelay());
+        LocalDate settlementDate = LocalDate.now();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        settlementCheckpointRepository.createIfAbsent(CHECKPOINT_KEY, INITIAL_HIGH_WATER_MARK, 0L);
+
+        RunResult result = new RunResult();
+        for (int i = 0; i < continuous.getMaxBatchesPerRun(); i++) {
+            BatchResult batch = transactionTemplate.execute(status ->
+                    settleNextBatch(cutoff, settlementDate, continuous.getBatchSize()));
+            if (batch == null || batch.size() == 0) {
+                break;
+            }
+
+            result.add(batch);
+            if (batch.size() < continuous.getBatchSize()) {
+                break;
+            }
+        }
+
+        if (result.getBatchCount() > 0) {
+            log.info("Continuous settlement - Batches: {}, Processed: {}, Errors: {}",
+                    result.getBatchCount(), result.getProcessedCount(), result.getErrorCount());
+        }
+        return result;
+    }
+
+    /**
+     * high-water mark 뒤에 남은 미처리 거래를 처음부터 batch 단위로 정산
+     *
+     * - batch 마다 체크포인트 행을 잠그므로 run 과 번갈아 실행되고, 읽는 범위는 잠근 시점의 high-water mark 까지
+     * - 오류 거래는 sweep 한 번에 한 번만 다시 시도 (위치가 앞으로만 움직이므로)
+     */
+    public RunResult sweep() {
+        int batchSize = settlementProperties.getContinuous().getBatchSize();
+        LocalDate settlementDate = LocalDate.now();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        settlementCheckpointRepository.createIfAbsent(CHECKPOINT_KEY, INITIAL_HIGH_WATER_MARK, 0L);
+
+        RunResult result = new RunResult();
+        SweepPosition position = new SweepPosition(INITIAL_HIGH_WATER_MARK, 0L);
+        while (position != null) {
+            SweepPosition from = position;
+            SweepBatch batch = transactionTemplate.execute(status -> sweepNextBatch(from, settlementDate, batchSize));
+            if (batch == null || batch.result().size() == 0) {
+                break;
+            }
+
+            result.add(batch.result());
+            position = batch.result().size() < batchSize ? null : batch.next();
+        }
+
+        log.info("Continuous settlement sweep - Batches: {}, Processed: {}, Errors: {}",
+                result.getBatchCount(), result.getProcessedCount(), result.getErrorCount());
+        return result;
+    }
+
+    private SweepBatch sweepNextBatch(SweepPosition from, LocalDate settlementDate, int batchSize) {
+        SettlementCheckpoint highWaterMark = settlementCheckpointRepository.findForUpdate(CHECKPOINT_KEY)
+                .orElseThrow(() -> new IllegalStateException("Continuous settlement checkpoint is missing"));
+
+        List<Transaction> page = transactionCursorRepository.findUnprocessedPageBehind(
+                from.lastCreatedAt(), from.lastTransactionId(),
+                highWaterMark.getLastCreatedAt(), highWaterMark.getLastTransactionId(), batchSize);
+        if (page.isEmpty()) {
+            return new SweepBatch(new BatchResult(0, 0, 0), from);
+        }
+
+        SettlementItemWriter.ChunkCounts counts = settlementItemWriter.settle(page);
+        rollUpHistory(settlementDate, counts, highWaterMark.getLastTransactionId());
+
+        Transaction last = page.get(page.size() - 1);
+        return new SweepBatch(new BatchResult(page.size(), counts.processedCount(), counts.errorCount()),
+                new SweepPosition(last.getCreatedAt(), last.getId()));
+    }
+
+    private BatchResult settleNextBatch(LocalDateTime cutoff, LocalDate settlementDate, int batchSize) {
+        SettlementCheckpoint highWaterMark = settlementCheckpointRepository.findForUpdate(CHECKPOINT_KEY)
+                .orElseThrow(() -> new IllegalStateException("Continuous settlement checkpoint is missing"));
+
+        List<Transaction> page = transactionCursorRepository.findUnprocessedPageBetween(
+                highWaterMark.getLastCreatedAt(), highWaterMark.getLastTransactionId(), cutoff, batchSize);
+        if (page.isEmpty()) {
+            return new BatchResult(0, 0, 0);
+        }
+
+        SettlementItemWriter.ChunkCounts counts = settlementItemWriter.settle(page);
+
+        Transaction last = page.get(page.size() - 1);
+        settlementCheckpointRepository.save(CHECKPOINT_KEY, last.getCreatedAt(), last.getId());
+        rollUpHistory(settlementDate, counts, last.getId());
+
+        return new BatchResult(page.size(), counts.processedCount(), counts.errorCount());
+    }
+
+    /**
+     * 당일 연속 정산 이력(source = CONTINUOUS) 1건에 batch 결과를 누적 (체크포인트 잠금 안에서 실행되므로 노드 간 경합 없음)
+     * 같은 날 수동 실행/프로시저가 기록한 RUN 행은 건드리지 않음, cutoff 는 high-water mark 의 거래 ID
+     */
+    private void rollUpHistory(LocalDate settlementDate, SettlementItemWriter.ChunkCounts counts, long highWaterMarkId) {
+        SettlementHistory history = settlementHistoryRepository
+                .findBySettlementDateAndSource(settlementDate, SettlementHistory.SettlementSource.CONTINUOUS)
+                .orElseGet(() -> SettlementHistory.builder()
+                        .settlementDate(settlementDate)
+                        .processedCount(0)
+                        .errorCount(0)
+                        .source(SettlementHistory.SettlementSource.CONTINUOUS)
+                        .build());
+
+        history.setProcessedCount(history.getProcessedCount() + (int) counts.processedCount());
+        history.setErrorCount(history.getErrorCount() + (int) counts.errorCount());
+        history.setStatus(history.getErrorCount() == 0
+                ? SettlementHistory.SettlementStatus.SUCCESS
+                : SettlementHistory.SettlementStatus.FAIL);
+        history.setCutoffTransactionId(highWaterMarkId);
+        settlementHistoryRepository.save(history);
+    }
+
+    private record BatchResult(int size, long processedCount, long errorCount) {
+    }
+
+    private record SweepPosition(LocalDateTime lastCreatedAt, long lastTransactionId) {
+    }
+
+    private record SweepBatch(BatchResult result, SweepPosition next) {
+    }
+
+    @Getter
+    public static class RunResult {
+
+        private int batchCount;
+        private long processedCount;
+        private long errorCount;
+
+        private void add(BatchResult batch) {
+            this.batchCount++;
+            this.processedCount += batch.processedCount();
+            this.errorCount += batch.errorCount();
+        }
+    }
+}
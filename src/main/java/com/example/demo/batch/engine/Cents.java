@@ -0,0 +1,57 @@
+package com.example.demo.batch.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 정산 금액을 최소 단위(0.01) 정수로 다루는 고정 소수점 연산
+ *
+ * - DECIMAL(15,2) 의 최대값(10^13 - 0.01)에 1005 를 곱해도 long 범위 안에 있음
+ * - 반올림은 MySQL 의 DECIMAL 대입과 동일한 HALF_UP (0 에서 먼 쪽으로)
+ * - BigDecimal 변환은 DB 에서 읽거나 DB 에 쓸 때만 수행
+ */
+public final class Cents {
+
+    private static final int SCALE = 2;
+
+    private Cents() {
+    }
+
+    /**
+     * BigDecimal 금액 → 최소 단위 정수 (소수 셋째 자리 이하는 HALF_UP 반올림)
+     */
+    public static long of(BigDecimal amount) {
+        // DECIMAL(15,2) 에서 읽은 값(scale <= 2)은 BigInteger 를 만들지 않고 바로 변환
+        BigDecimal scaled = amount.scale() <= SCALE ? amount : amount.setScale(SCALE, RoundingMode.HALF_UP);
+        return scaled.movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * BASIC 계좌 입금액: amount * 1.005 를 DECIMAL(15,2) 로 반올림
+     */
+    public static long withBasicDepositBonus(long cents) {
+        return divideHalfUp(cents * 1005, 1000);
+    }
+
+    /**
+     * PREMIUM 계좌 출금 수수료: amount * 0.01 을 DECIMAL(15,2) 로 반올림
+     */
+    public static long premiumWithdrawalFee(long cents) {
+        return divideHalfUp(cents, 100);
+    }
+
+    public static String toPlainString(long cents) {
+        return toBigDecimal(cents).toPlainString();
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long half = divisor / 2;
+        return dividend >= 0
+                ? (dividend + half) / divisor
+                : -((-dividend + half) / divisor);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.batch.engine;
+
+import com.example.demo.transaction.entity.TransactionError;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 chunk 의 정산 결과
+ *
+ * - balanceUpdates: 계좌별 순증감 (chunk 안의 같은 계좌 거래를 하나로 합산, 계좌당 UPDATE 1건)
+ * - processedTransactionIds: is_processed = TRUE 로 표시할 거래
+ * - errors: transaction_errors 에 기록할 오류 (해당 거래는 미처리로 남음)
+ */
+public class ChunkSettlement {
+
+    private final Map<String, long[]> netDeltas = new LinkedHashMap<>();
+    @Getter
+    private final List<Long> processedTransactionIds = new ArrayList<>();
+    @Getter
+    private final List<TransactionError> errors = new ArrayList<>();
+
+    /**
+     * 정산된 거래의 잔고 증감(최소 단위 정수)을 계좌별 순증감에 합산하고 처리 완료로 기록
+     */
+    public void settled(Long transactionId, String accountId, long deltaCents) {
+        netDeltas.computeIfAbsent(accountId, id -> new long[1])[0] += deltaCents;
+        processedTransactionIds.add(transactionId);
+    }
+
+    public void failed(TransactionError error) {
+        errors.add(error);
+    }
+
+    /**
+     * 계좌별 순증감 (처음 등장한 계좌 순서, DB 반영을 위해 BigDecimal 로 변환)
+     */
+    public List<BalanceUpdate> getBalanceUpdates() {
+        return netDeltas.entrySet().stream()
+                .map(entry -> new BalanceUpdate(entry.getKey(), Cents.toBigDecimal(entry.getValue()[0])))
+                .toList();
+    }
+
+    public int getProcessedCount() {
+        return processedTransactionIds.size();
+    }
+
+    public int getErrorCount() {
+        return errors.size();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BalanceUpdate {
+        private final String accountId;
+        private final BigDecimal delta;
+    }
+}
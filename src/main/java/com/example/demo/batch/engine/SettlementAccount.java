@@ -0,0 +1,19 @@
+package com.example.demo.batch.engine;
+
+import com.example.demo.account.entity.Account;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * 정산 시점에 잠금을 잡고 읽은 활성 계좌의 잔고/유형
+ */
+@Getter
+@AllArgsConstructor
+public class SettlementAccount {
+
+    private final String id;
+    private final BigDecimal balance;
+    private final Account.AccountType accountType;
+}
@@ -0,0 +1,90 @@
+package com.example.demo.batch.engine;
+
+import com.example.demo.account.entity.Account;
+import com.example.demo.transaction.entity.Transaction;
+import com.example.demo.transaction.entity.TransactionError;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SP_SETTLE_ACCOUNTS 와 동일한 정산 규칙을 메모리에서 적용하는 엔진
+ *
+ * - BASIC 계좌 입금: 0.5% 보너스 (amount * 1.005)
+ * - PREMIUM 계좌 출금: 1% 수수료 (amount * 0.01) 를 더한 금액 차감
+ * - 계좌가 없거나 비활성: ACCOUNT_NOT_FOUND
+ * - 잔고 부족: INSUFFICIENT_FUNDS (잔고는 앞선 거래가 반영된 누적 잔고 기준)
+ *
+ * 금액은 최소 단위 long 으로 계산하고({@link Cents}), 반올림은 프로시저의 DECIMAL(15,2) 변수 대입과 동일한 HALF_UP
+ *
+ * 같은 계좌의 거래는 created_at 순서로 누적 잔고에 적용한 뒤 계좌별 순증감 하나로 합산하므로,
+ * 한 chunk 에서 계좌 행 잠금/UPDATE 는 계좌당 한 번만 발생함
+ */
+@Component
+public class SettlementEngine {
+
+    public static final String ACCOUNT_NOT_FOUND = "ACCOUNT_NOT_FOUND";
+    public static final String INSUFFICIENT_FUNDS = "INSUFFICIENT_FUNDS";
+
+    /**
+     * 거래를 주어진 순서(created_at, id)대로 정산
+     *
+     * @param transactions 정산할 거래
+     * @param accounts     거래에 등장하는 활성 계좌 (계좌 ID 기준)
+     */
+    public ChunkSettlement settle(List<? extends Transaction> transactions, Map<String, SettlementAccount> accounts) {
+        ChunkSettlement result = new ChunkSettlement();
+        // 계좌별 누적 잔고 (최소 단위 정수)
+        Map<String, long[]> balances = new HashMap<>();
+
+        for (Transaction transaction : transactions) {
+            SettlementAccount account = accounts.get(transaction.getAccountId());
+
+            // 계좌가 존재하지 않거나 비활성화된 경우
+            if (account == null) {
+                result.failed(error(transaction, ACCOUNT_NOT_FOUND, "Account not found or inactive"));
+                continue;
+            }
+
+            long[] balance = balances.computeIfAbsent(account.getId(), id -> new long[]{Cents.of(account.getBalance())});
+            long amount = Cents.of(transaction.getAmount());
+            long delta;
+
+            if (transaction.getType() == Transaction.TransactionType.DEPOSIT) {
+                // BASIC 계좌는 0.5% 보너스 추가
+                if (account.getAccountType() == Account.AccountType.BASIC) {
+                    amount = Cents.withBasicDepositBonus(amount);
+                }
+                delta = amount;
+            } else {
+                // PREMIUM 계좌는 1% 수수료
+                if (account.getAccountType() == Account.AccountType.PREMIUM) {
+                    amount += Cents.premiumWithdrawalFee(amount);
+                }
+
+                if (balance[0] < amount) {
+                    result.failed(error(transaction, INSUFFICIENT_FUNDS,
+                            "Insufficient funds. Required: " + Cents.toPlainString(amount)
+                                    + ", Available: " + Cents.toPlainString(balance[0])));
+                    continue;
+                }
+                delta = -amount;
+            }
+
+            balance[0] += delta;
+            result.settled(transaction.getId(), account.getId(), delta);
+        }
+
+        return result;
+    }
+
+    private TransactionError error(Transaction transaction, String errorCode, String errorMessage) {
+        return TransactionError.builder()
+                .transactionId(transaction.getId())
+                .errorCode(errorCode)
+                .errorMessage(errorMessage)
+                .build();
+    }
+}
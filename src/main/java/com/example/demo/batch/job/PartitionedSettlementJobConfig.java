@@ -0,0 +1,95 @@
+package com.example.demo.batch.job;
+
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.config.SettlementTaskExecutorFactory;
+import com.example.demo.batch.listener.PartitionThroughputListener;
+import com.example.demo.batch.listener.SettlementHistoryJobListener;
+import com.example.demo.batch.listener.SettlementMetricsListener;
+import com.example.demo.batch.partition.AccountHashPartitioner;
+import com.example.demo.batch.step.SettlementItemWriter;
+import com.example.demo.batch.step.TransactionItemProcessor;
+import com.example.demo.batch.step.TransactionItemReader;
+import com.example.demo.transaction.entity.Transaction;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * account_id 해시 파티션 단위로 정산을 병렬 처리하는 settlementJob 변형
+ *
+ * settlementManagerStep 이 파티션을 나누고, 각 파티션은 settlementWorkerStep 으로
+ * 별도 스레드에서 실행됨 (파티션 수 = settlement.partition.grid-size)
+ *
+ * worker 스레드 종류는 settlement.execution.thread-mode (PLATFORM/VIRTUAL)
+ * worker 의 chunk 트랜잭션은 동시에 열 수 있는 수가 커넥션 풀에 맞춰 제한됨
+ */
+@Configuration
+@RequiredArgsConstructor
+public class PartitionedSettlementJobConfig {
+
+    private final JobRepository jobRepository;
+    private final TransactionItemReader transactionItemReader;
+    private final TransactionItemProcessor transactionItemProcessor;
+    private final SettlementItemWriter settlementItemWriter;
+    private final AccountHashPartitioner accountHashPartitioner;
+    private final PartitionThroughputListener partitionThroughputListener;
+    private final SettlementHistoryJobListener settlementHistoryJobListener;
+    private final SettlementProperties settlementProperties;
+    private final SettlementTaskExecutorFactory settlementTaskExecutorFactory;
+    private final MeterRegistry meterRegistry;
+
+    @Bean
+    public Job partitionedSettlementJob() {
+        return new JobBuilder("partitionedSettlementJob", jobRepository)
+                .start(settlementManagerStep())
+                .listener(settlementHistoryJobListener)
+                .build();
+    }
+
+    @Bean
+    public Step settlementManagerStep() {
+        int gridSize = settlementProperties.getPartition().getGridSize();
+
+        return new StepBuilder("settlementManagerStep", jobRepository)
+                .partitioner("settlementWorkerStep", accountHashPartitioner)
+                .step(settlementWorkerStep())
+                .gridSize(gridSize)
+                .taskExecutor(settlementPartitionTaskExecutor())
+                .listener(partitionThroughputListener)
+                .build();
+    }
+
+    @Bean
+    public Step settlementWorkerStep() {
+        SettlementMetricsListener metricsListener = new SettlementMetricsListener("settlementWorkerStep", meterRegistry);
+
+        return new StepBuilder("settlementWorkerStep", jobRepository)
+                .<Transaction, Transaction>chunk(settlementProperties.getChunkSize(),
+                        settlementTaskExecutorFactory.workerTransactionManager())
+                .reader(transactionItemReader)
+                .processor(transactionItemProcessor)
+                .writer(settlementItemWriter)
+                .listener(partitionThroughputListener)
+                .listener((ItemReadListener<Transaction>) metricsListener)
+                .listener((StepExecutionListener) metricsListener)
+                .listener((ChunkListener) settlementItemWriter)
+                .transactionAttribute(SettlementJobConfig.chunkTransactionAttribute())
+                .build();
+    }
+
+    @Bean
+    public TaskExecutor settlementPartitionTaskExecutor() {
+        return settlementTaskExecutorFactory.create(settlementProperties.getExecution().getThreadMode(),
+                settlementProperties.getPartition().getGridSize());
+    }
+}
@@ -1,21 +1,41 @@
 package com.example.demo.batch.job;
 
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.listener.SettlementHistoryJobListener;
+import com.example.demo.batch.listener.SettlementMetricsListener;
+import com.example.demo.batch.listener.SettlementProgressListener;
+import com.example.demo.batch.step.AdaptiveChunkSizePolicy;
 import com.example.demo.batch.step.SettlementItemWriter;
 import com.example.demo.batch.step.TransactionItemProcessor;
 import com.example.demo.batch.step.TransactionItemReader;
 import com.example.demo.transaction.entity.Transaction;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemReadListener;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.core.step.tasklet.TaskletStep;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+import java.util.concurrent.Future;
 
 @Slf4j
 @Configuration
@@ -27,24 +47,91 @@ public class SettlementJobConfig {
     private final TransactionItemReader transactionItemReader;
     private final TransactionItemProcessor transactionItemProcessor;
     private final SettlementItemWriter settlementItemWriter;
+    private final SettlementHistoryJobListener settlementHistoryJobListener;
+    private final SettlementProgressListener settlementProgressListener;
+    private final AsyncItemProcessor<Transaction, Transaction> asyncTransactionItemProcessor;
+    private final AsyncItemWriter<Transaction> asyncSettlementItemWriter;
+    private final SettlementProperties settlementProperties;
+    private final MeterRegistry meterRegistry;
     
     @Bean
     public Job settlementJob() {
         return new JobBuilder("settlementJob", jobRepository)
                 .start(settlementStep())
+                .listener(settlementHistoryJobListener)
+                .listener((JobExecutionListener) settlementProgressListener)
                 .build();
     }
     
+    /**
+     * settlement.pipeline.mode=ASYNC 이면 Reader 가 다음 페이지를 미리 읽어 쓰기와 다음 chunk 조회가 겹치도록 실행
+     * (processor-threads 가 1 이상이면 처리도 스레드 풀에서 Future 로 실행)
+     *
+     * settlement.adaptive-chunk.enabled=true 이면 chunk 크기를 목표 커밋 시간에 맞춰 조절
+     * chunk 커밋마다 진행 이벤트를 SSE 구독자에게 전달 (SettlementProgressListener)
+     * 처리/오류 건수는 커밋 후 SettlementItemWriter.afterChunk 에서 누적 (after 콜백은 등록 역순이므로 진행 이벤트보다 먼저 실행)
+     * Job 시작 시 고정한 cutoff 이하 거래만 읽고, chunk 트랜잭션은 READ COMMITTED 로 실행
+     */
     @Bean
     public Step settlementStep() {
-        return new StepBuilder("settlementStep", jobRepository)
-                .<Transaction, Transaction>chunk(1000, transactionManager)
+        AdaptiveChunkSizePolicy adaptivePolicy = settlementProperties.getAdaptiveChunk().isEnabled()
+                ? new AdaptiveChunkSizePolicy("settlementStep", settlementProperties.getChunkSize(),
+                        settlementProperties.getAdaptiveChunk(), meterRegistry)
+                : null;
+        CompletionPolicy completionPolicy = adaptivePolicy != null
+                ? adaptivePolicy
+                : new SimpleCompletionPolicy(settlementProperties.getChunkSize());
+        SettlementProperties.Pipeline pipeline = settlementProperties.getPipeline();
+
+        if (pipeline.getMode() == SettlementProperties.PipelineMode.ASYNC && pipeline.getProcessorThreads() > 0) {
+            return withSettlementListeners(new StepBuilder("settlementStep", jobRepository)
+                    .<Transaction, Future<Transaction>>chunk(completionPolicy, transactionManager)
+                    .reader(transactionItemReader)
+                    .processor(asyncTransactionItemProcessor)
+                    .writer(asyncSettlementItemWriter), adaptivePolicy)
+                    .build();
+        }
+
+        return withSettlementListeners(new StepBuilder("settlementStep", jobRepository)
+                .<Transaction, Transaction>chunk(completionPolicy, transactionManager)
                 .reader(transactionItemReader)
                 .processor(transactionItemProcessor)
-                .writer(settlementItemWriter)
+                .writer(settlementItemWriter), adaptivePolicy)
                 .build();
     }
     
+    /**
+     * 처리 방식과 관계없이 settlementStep 에 공통으로 등록하는 리스너와 트랜잭션 속성
+     */
+    private <O> SimpleStepBuilder<Transaction, O> withSettlementListeners(SimpleStepBuilder<Transaction, O> builder,
+                                                                          AdaptiveChunkSizePolicy adaptivePolicy) {
+        // item 리스너로 한 번 등록하면 읽기/처리/쓰기 모두에 적용됨
+        SettlementMetricsListener metricsListener = new SettlementMetricsListener("settlementStep", meterRegistry);
+        builder.listener((ItemReadListener<Transaction>) metricsListener)
+                .listener((StepExecutionListener) metricsListener)
+                .listener((ChunkListener) settlementProgressListener)
+                .listener((StepExecutionListener) settlementProgressListener)
+                .listener((ChunkListener) settlementItemWriter);
+        builder.transactionAttribute(chunkTransactionAttribute());
+        if (adaptivePolicy != null) {
+            builder.listener((ChunkListener) adaptivePolicy);
+            builder.listener((StepExecutionListener) adaptivePolicy);
+        }
+        return builder;
+    }
+    
+    /**
+     * 정산 chunk 트랜잭션 속성 (READ COMMITTED)
+     *
+     * 읽기는 잠금 없는 일관된 읽기이고 쓰기는 계좌/거래를 PK 로만 잠그므로, READ COMMITTED 에서는 gap lock 이 생기지 않아
+     * 정산 중에도 거래 INSERT 가 정산 트랜잭션을 기다리지 않음
+     */
+    static TransactionAttribute chunkTransactionAttribute() {
+        DefaultTransactionAttribute transactionAttribute = new DefaultTransactionAttribute();
+        transactionAttribute.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        return transactionAttribute;
+    }
+    
     @Bean
     public Step settlementTaskletStep() {
         return new StepBuilder("settlementTaskletStep", jobRepository)
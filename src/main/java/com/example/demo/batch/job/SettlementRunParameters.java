@@ -0,0 +1,53 @@
+package com.example.demo.batch.job;
+
+import com.example.demo.batch.checkpoint.SettlementCheckpointKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * 정산 Job 식별 파라미터 결정
+ *
+ * - settlementDate 만으로 식별되는 실행이 실패/중지 상태이면 같은 파라미터로 재시작 (마지막 커밋 지점부터)
+ * - 그 외(이미 완료, 또는 재시작할 수 없는 상태)이면 time 을 더해 새 JobInstance 로 실행
+ *   (같은 날 두 번째 실행이 JobInstanceAlreadyCompleteException 으로 실패하지 않도록)
+ */
+@Component
+@RequiredArgsConstructor
+public class SettlementRunParameters {
+
+    public static final String RUN_TIME = "time";
+
+    private final JobRepository jobRepository;
+
+    public JobParametersBuilder forSettlementDate(Job job, LocalDate settlementDate) {
+        JobParametersBuilder builder = dateOnly(settlementDate);
+        JobExecution lastExecution = jobRepository.getLastJobExecution(job.getName(), builder.toJobParameters());
+        if (lastExecution != null && !isRestartable(lastExecution.getStatus())) {
+            builder.addLong(RUN_TIME, System.currentTimeMillis());
+        }
+        return builder;
+    }
+
+    /**
+     * settlementDate 만으로 식별되는 실행이 이미 완료되었는지 (재시작할 실행이 없음)
+     */
+    public boolean isCompleted(Job job, LocalDate settlementDate) {
+        JobExecution lastExecution = jobRepository.getLastJobExecution(job.getName(), dateOnly(settlementDate).toJobParameters());
+        return lastExecution != null && lastExecution.getStatus() == BatchStatus.COMPLETED;
+    }
+
+    private JobParametersBuilder dateOnly(LocalDate settlementDate) {
+        return new JobParametersBuilder().addLocalDate(SettlementCheckpointKey.SETTLEMENT_DATE, settlementDate);
+    }
+
+    private boolean isRestartable(BatchStatus status) {
+        return status == BatchStatus.FAILED || status == BatchStatus.STOPPED;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.batch.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 파티션(worker Step)별 처리량 기록
+ *
+ * Step 종료 시 읽기/쓰기 건수와 초당 처리 건수를 로그로 남기고
+ * Step ExecutionContext 에도 저장하여 배치 메타 테이블에서 조회할 수 있게 함
+ */
+@Slf4j
+@Component
+public class PartitionThroughputListener implements StepExecutionListener {
+
+    public static final String ITEMS_PER_SECOND = "throughput.itemsPerSecond";
+    public static final String ELAPSED_MILLIS = "throughput.elapsedMillis";
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        LocalDateTime startTime = stepExecution.getStartTime();
+        long elapsedMillis = startTime == null ? 0 : Duration.between(startTime, LocalDateTime.now()).toMillis();
+        long writeCount = stepExecution.getWriteCount();
+        double itemsPerSecond = elapsedMillis == 0 ? writeCount : writeCount * 1000.0 / elapsedMillis;
+
+        stepExecution.getExecutionContext().putLong(ELAPSED_MILLIS, elapsedMillis);
+        stepExecution.getExecutionContext().putDouble(ITEMS_PER_SECOND, itemsPerSecond);
+
+        log.info("Partition {} finished - Read: {}, Written: {}, Elapsed: {} ms, Throughput: {} items/s",
+                stepExecution.getStepName(), stepExecution.getReadCount(), writeCount,
+                elapsedMillis, String.format("%.1f", itemsPerSecond));
+
+        return stepExecution.getExitStatus();
+    }
+}
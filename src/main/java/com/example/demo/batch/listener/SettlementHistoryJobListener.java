@@ -0,0 +1,76 @@
+package com.example.demo.batch.listener;
+
+import com.example.demo.batch.step.SettlementItemWriter;
+import com.example.demo.settlementhistory.entity.SettlementHistory;
+import com.example.demo.settlementhistory.repository.SettlementHistoryRepository;
+import com.example.demo.transaction.repository.TransactionCursorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * 정산 Job 시작 시 cutoff(MAX(transactions.id)) 를 Job ExecutionContext 에 고정하고,
+ * 종료 시 모든 Step(파티션 worker 포함)의 처리/오류 건수를 합산하여 cutoff 와 함께 정산 이력 1건 기록
+ *
+ * 재시작하면 이전 실행의 Job ExecutionContext 가 복원되므로 처음 고정한 cutoff 를 그대로 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SettlementHistoryJobListener implements JobExecutionListener {
+
+    public static final String CUTOFF_TRANSACTION_ID = "settlement.cutoffTransactionId";
+
+    private final SettlementHistoryRepository settlementHistoryRepository;
+    private final TransactionCursorRepository transactionCursorRepository;
+    private final JobRepository jobRepository;
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        ExecutionContext executionContext = jobExecution.getExecutionContext();
+        if (executionContext.containsKey(CUTOFF_TRANSACTION_ID)) {
+            log.info("Resuming settlement with cutoff transaction id {}", executionContext.getLong(CUTOFF_TRANSACTION_ID));
+            return;
+        }
+
+        long cutoff = transactionCursorRepository.findMaxTransactionId();
+        executionContext.putLong(CUTOFF_TRANSACTION_ID, cutoff);
+        jobRepository.updateExecutionContext(jobExecution);
+        log.info("Settlement cutoff fixed at transaction id {}", cutoff);
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        long processedCount = 0;
+        long errorCount = 0;
+
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            ExecutionContext executionContext = stepExecution.getExecutionContext();
+            processedCount += executionContext.getLong(SettlementItemWriter.PROCESSED_COUNT, 0L);
+            errorCount += executionContext.getLong(SettlementItemWriter.ERROR_COUNT, 0L);
+        }
+
+        boolean failed = jobExecution.getStatus().isUnsuccessful() || errorCount > 0;
+
+        SettlementHistory settlementHistory = SettlementHistory.builder()
+                .settlementDate(LocalDate.now())
+                .processedCount((int) processedCount)
+                .errorCount((int) errorCount)
+                .status(failed ? SettlementHistory.SettlementStatus.FAIL : SettlementHistory.SettlementStatus.SUCCESS)
+                .cutoffTransactionId(jobExecution.getExecutionContext().containsKey(CUTOFF_TRANSACTION_ID)
+                        ? jobExecution.getExecutionContext().getLong(CUTOFF_TRANSACTION_ID)
+                        : null)
+                .build();
+        settlementHistoryRepository.save(settlementHistory);
+
+        log.info("Settlement job {} recorded - Processed: {}, Errors: {}, Status: {}",
+                jobExecution.getJobInstance().getJobName(), processedCount, errorCount, settlementHistory.getStatus());
+    }
+}
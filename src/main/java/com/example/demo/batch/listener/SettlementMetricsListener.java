@@ -0,0 +1,156 @@
+package com.example.demo.batch.listener;
+
+import com.example.demo.transaction.entity.Transaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 정산 Step 의 읽기/처리/쓰기 단계별 Micrometer 지표
+ *
+ * - settlement.item.read / settlement.item.process: 거래 1건 읽기/처리 시간
+ * - settlement.chunk.write: chunk 쓰기 시간, settlement.items.written: 쓴 거래 수 (rate 로 초당 처리 건수)
+ * - settlement.item.errors / settlement.item.skips: 단계별 오류/skip 건수
+ * - settlement.step.throughput: 마지막으로 끝난 Step 의 초당 처리 건수
+ *
+ * 파티션 worker 가 같은 Step 을 동시에 실행하므로 시작 시각은 스레드별로 보관
+ * ASYNC 파이프라인에서는 처리 시간이 Future 제출 시간만 포함함
+ */
+public class SettlementMetricsListener implements ItemReadListener<Transaction>, ItemProcessListener<Transaction, Object>,
+        ItemWriteListener<Object>, SkipListener<Transaction, Object>, StepExecutionListener {
+
+    private final Timer readTimer;
+    private final Timer processTimer;
+    private final Timer writeTimer;
+    private final Counter writtenCounter;
+    private final Counter readErrorCounter;
+    private final Counter processErrorCounter;
+    private final Counter writeErrorCounter;
+    private final Counter readSkipCounter;
+    private final Counter processSkipCounter;
+    private final Counter writeSkipCounter;
+    private final AtomicLong lastThroughput = new AtomicLong();
+
+    private final ThreadLocal<Long> readStart = new ThreadLocal<>();
+    private final ThreadLocal<Long> processStart = new ThreadLocal<>();
+    private final ThreadLocal<Long> writeStart = new ThreadLocal<>();
+
+    public SettlementMetricsListener(String stepName, MeterRegistry meterRegistry) {
+        this.readTimer = Timer.builder("settlement.item.read").tag("step", stepName).register(meterRegistry);
+        this.processTimer = Timer.builder("settlement.item.process").tag("step", stepName).register(meterRegistry);
+        this.writeTimer = Timer.builder("settlement.chunk.write").tag("step", stepName).register(meterRegistry);
+        this.writtenCounter = Counter.builder("settlement.items.written").tag("step", stepName).register(meterRegistry);
+        this.readErrorCounter = counter(meterRegistry, "settlement.item.errors", stepName, "read");
+        this.processErrorCounter = counter(meterRegistry, "settlement.item.errors", stepName, "process");
+        this.writeErrorCounter = counter(meterRegistry, "settlement.item.errors", stepName, "write");
+        this.readSkipCounter = counter(meterRegistry, "settlement.item.skips", stepName, "read");
+        this.processSkipCounter = counter(meterRegistry, "settlement.item.skips", stepName, "process");
+        this.writeSkipCounter = counter(meterRegistry, "settlement.item.skips", stepName, "write");
+        Gauge.builder("settlement.step.throughput", lastThroughput, AtomicLong::get)
+                .description("Items per second of the last finished step execution")
+                .tag("step", stepName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeRead() {
+        readStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterRead(Transaction item) {
+        record(readTimer, readStart);
+    }
+
+    @Override
+    public void onReadError(Exception ex) {
+        readStart.remove();
+        readErrorCounter.increment();
+    }
+
+    @Override
+    public void beforeProcess(Transaction item) {
+        processStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterProcess(Transaction item, Object result) {
+        record(processTimer, processStart);
+    }
+
+    @Override
+    public void onProcessError(Transaction item, Exception e) {
+        processStart.remove();
+        processErrorCounter.increment();
+    }
+
+    @Override
+    public void beforeWrite(Chunk<?> items) {
+        writeStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterWrite(Chunk<?> items) {
+        record(writeTimer, writeStart);
+        writtenCounter.increment(items.size());
+    }
+
+    @Override
+    public void onWriteError(Exception exception, Chunk<?> items) {
+        writeStart.remove();
+        writeErrorCounter.increment(items.size());
+    }
+
+    @Override
+    public void onSkipInRead(Throwable t) {
+        readSkipCounter.increment();
+    }
+
+    @Override
+    public void onSkipInProcess(Transaction item, Throwable t) {
+        processSkipCounter.increment();
+    }
+
+    @Override
+    public void onSkipInWrite(Object item, Throwable t) {
+        writeSkipCounter.increment();
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        LocalDateTime startTime = stepExecution.getStartTime();
+        long elapsedMillis = startTime == null ? 0 : Duration.between(startTime, LocalDateTime.now()).toMillis();
+        long writeCount = stepExecution.getWriteCount();
+        lastThroughput.set(elapsedMillis == 0 ? writeCount : writeCount * 1000 / elapsedMillis);
+        return stepExecution.getExitStatus();
+    }
+
+    private void record(Timer timer, ThreadLocal<Long> start) {
+        Long startNanos = start.get();
+        if (startNanos != null) {
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            start.remove();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String stepName, String phase) {
+        return Counter.builder(name)
+                .tag("step", stepName)
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demo.batch.listener;
+
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.step.AdaptiveChunkSizePolicy;
+import com.example.demo.batch.step.SettlementItemWriter;
+import com.example.demo.settlementhistory.dto.SettlementProgressEvent;
+import com.example.demo.settlementhistory.progress.SettlementProgressBroadcaster;
+import com.example.demo.transaction.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * settlementStep 의 chunk 커밋마다 진행 이벤트를 SettlementProgressBroadcaster 로 전달
+ *
+ * 진행 값은 StepExecution 과 ExecutionContext 에서 계산하므로 chunk 마다 추가 쿼리는 없음
+ * (ETA 계산용 미처리 거래 수만 Step 시작 시 한 번 조회)
+ *
+ * 구독 종료는 Job 단위 afterJob 에서 한 번만 (Step 이 끝난 뒤 Job 이 끝나기 전에 들어온 구독자도 완료 이벤트를 받도록)
+ */
+@Component
+@RequiredArgsConstructor
+public class SettlementProgressListener implements ChunkListener, StepExecutionListener, JobExecutionListener {
+
+    public static final String BACKLOG = "progress.backlog";
+
+    private final SettlementProgressBroadcaster settlementProgressBroadcaster;
+    private final TransactionRepository transactionRepository;
+    private final SettlementProperties settlementProperties;
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        // 재시작이면 이미 정산된 건수를 더해 전체 backlog 로 보관
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        long settled = executionContext.getLong(SettlementItemWriter.PROCESSED_COUNT, 0L)
+                + executionContext.getLong(SettlementItemWriter.ERROR_COUNT, 0L);
+        executionContext.putLong(BACKLOG, transactionRepository.countPending() + settled);
+
+        settlementProgressBroadcaster.publish(event(stepExecution));
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        settlementProgressBroadcaster.publish(event(context.getStepContext().getStepExecution()));
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        settlementProgressBroadcaster.publish(event(stepExecution));
+        return stepExecution.getExitStatus();
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        // 마지막 Step 의 진행 값에 Job 의 최종 상태를 담아 전송 (Step 실행 전에 실패했으면 진행 값 없이 상태만)
+        SettlementProgressEvent event = jobExecution.getStepExecutions().stream()
+                .reduce((first, second) -> second)
+                .map(stepExecution -> event(stepExecution, jobExecution.getStatus()))
+                .orElseGet(() -> SettlementProgressEvent.builder()
+                        .jobExecutionId(jobExecution.getId())
+                        .status(jobExecution.getStatus().name())
+                        .timestamp(LocalDateTime.now())
+                        .build());
+        settlementProgressBroadcaster.complete(event);
+    }
+
+    private SettlementProgressEvent event(StepExecution stepExecution) {
+        return event(stepExecution, stepExecution.getStatus());
+    }
+
+    private SettlementProgressEvent event(StepExecution stepExecution, BatchStatus status) {
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        long processedCount = executionContext.getLong(SettlementItemWriter.PROCESSED_COUNT, 0L);
+        long errorCount = executionContext.getLong(SettlementItemWriter.ERROR_COUNT, 0L);
+        long backlog = executionContext.getLong(BACKLOG, 0L);
+
+        LocalDateTime startTime = stepExecution.getStartTime();
+        long elapsedMillis = startTime == null ? 0 : Duration.between(startTime, LocalDateTime.now()).toMillis();
+        long settled = processedCount + errorCount;
+        double itemsPerSecond = elapsedMillis == 0 ? 0 : settled * 1000.0 / elapsedMillis;
+        Long etaSeconds = itemsPerSecond == 0 ? null : (long) Math.ceil(Math.max(backlog - settled, 0) / itemsPerSecond);
+
+        return SettlementProgressEvent.builder()
+                .jobExecutionId(stepExecution.getJobExecutionId())
+                .stepName(stepExecution.getStepName())
+                .status(status.name())
+                .processedCount(processedCount)
+                .errorCount(errorCount)
+                .itemsPerSecond(itemsPerSecond)
+                .backlog(backlog)
+                .etaSeconds(etaSeconds)
+                .chunkSize(executionContext.getInt(AdaptiveChunkSizePolicy.CHUNK_SIZE, settlementProperties.getChunkSize()))
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
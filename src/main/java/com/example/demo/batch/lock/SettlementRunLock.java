@@ -0,0 +1,256 @@
+package com.example.demo.batch.lock;
+
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.settlementhistory.repository.SettlementLockRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * settlement_lock 기반 클러스터 정산 실행 잠금
+ *
+ * - 스케줄러(04:00 배치, 04:05 프로시저, backlog 트리거)와 수동 실행(/run, /run-batch)이 같은 잠금을 사용하여
+ *   클러스터 전체에서 정산이 하나만 실행되도록 함
+ * - 실행 중에 들어온 요청은 요청한 실행의 trigger/파라미터와 함께 pending_run 으로 남기고,
+ *   보유자가 끝난 뒤 그 trigger 에 등록된 작업(registerFollowUp)을 후속 실행 1 회로 실행
+ * - 보유 중에는 leaseDuration 의 1/3 주기로 점유 기간을 연장하고, 노드가 죽으면 만료 후 다른 노드가 획득
+ * - 획득할 때마다 증가하는 fencing token 을 chunk 마다 확인하여 잠금을 잃은 이전 보유자의 쓰기를 거부
+ */
+@Slf4j
+@Component
+public class SettlementRunLock {
+
+    public static final String LOCK_NAME = "settlement";
+    public static final String FENCING_TOKEN = "fencingToken";
+
+    private final SettlementLockRepository settlementLockRepository;
+    private final SettlementProperties settlementProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService heartbeatExecutor;
+    private final Map<Long, ScheduledFuture<?>> heartbeats = new ConcurrentHashMap<>();
+    private final Map<String, BiConsumer<Lease, String>> followUpWork = new ConcurrentHashMap<>();
+
+    public SettlementRunLock(SettlementLockRepository settlementLockRepository, SettlementProperties settlementProperties,
+                             PlatformTransactionManager transactionManager) {
+        this.settlementLockRepository = settlementLockRepository;
+        this.settlementProperties = settlementProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "settlement-lock-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 잠금 보유 정보 (followUp 이면 실행 중에 합쳐진 요청을 처리하는 후속 실행)
+     */
+    public record Lease(String trigger, long fencingToken, boolean followUp) {
+    }
+
+    /**
+     * 잠금 보유 중에 들어온 실행 요청 (요청한 실행의 trigger 와 registerFollowUp 작업에 넘길 파라미터)
+     */
+    public record FollowUp(String trigger, String params) {
+    }
+
+    /**
+     * trigger 로 남은 후속 실행 요청을 처리할 작업 등록 (잠금을 보유한 채 동기 실행되고, 끝나면 잠금 해제)
+     */
+    public void registerFollowUp(String trigger, BiConsumer<Lease, String> work) {
+        followUpWork.put(trigger, work);
+    }
+
+    /**
+     * 잠금을 획득해 work 를 실행하고, 실행 중에 요청이 들어왔으면 요청한 실행의 작업을 후속 실행
+     *
+     * 다른 실행이 잠금을 보유 중이면 후속 실행 요청만 남기고 empty 반환
+     */
+    public <T> Optional<T> runExclusive(String trigger, Function<Lease, T> work) {
+        return run(acquireOrRequestFollowUp(trigger), work);
+    }
+
+    /**
+     * 잠금이 비어 있을 때만 work 를 실행 (주기적으로 다시 확인하는 호출자용, 후속 실행 요청을 남기지 않음)
+     */
+    public <T> Optional<T> runIfAvailable(String trigger, Function<Lease, T> work) {
+        return run(tryAcquire(trigger, false), work);
+    }
+
+    private <T> Optional<T> run(Optional<Lease> lease, Function<Lease, T> work) {
+        if (lease.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(work.apply(lease.get()));
+        } finally {
+            releaseAndRunFollowUp(lease.get());
+        }
+    }
+
+    /**
+     * 잠금을 해제하고, 보유 중에 남은 후속 실행 요청이 있으면 잠금을 새로 획득해 요청한 실행의 작업을 실행
+     * (후속 실행 중에 다시 요청이 들어오면 이어서 실행)
+     */
+    public void releaseAndRunFollowUp(Lease lease) {
+        Optional<FollowUp> followUp = release(lease);
+        while (followUp.isPresent()) {
+            followUp = runFollowUp(followUp.get());
+        }
+    }
+
+    private Optional<FollowUp> runFollowUp(FollowUp request) {
+        BiConsumer<Lease, String> work = followUpWork.get(request.trigger());
+        if (work == null) {
+            log.warn("No follow-up work registered for {} - dropping follow-up request", request.trigger());
+            return Optional.empty();
+        }
+
+        // 해제와 획득 사이에 다른 실행이 잠금을 가져갔으면 요청을 다시 남겨 그 보유자가 끝난 뒤 실행되도록 함
+        Optional<Lease> lease = acquireOrRequestFollowUp(request.trigger(), request.params(), true);
+        if (lease.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Optional<FollowUp> next;
+        try {
+            work.accept(lease.get(), request.params());
+        } catch (RuntimeException e) {
+            log.error("Follow-up run for {} failed", request.trigger(), e);
+        } finally {
+            next = release(lease.get());
+        }
+        return next;
+    }
+
+    /**
+     * 잠금을 획득하거나, 이미 보유 중이면 후속 실행 요청을 남김 (요청을 남겼으면 empty)
+     */
+    public Optional<Lease> acquireOrRequestFollowUp(String trigger) {
+        return acquireOrRequestFollowUp(trigger, null, false);
+    }
+
+    /**
+     * params 는 후속 실행으로 넘어갔을 때 registerFollowUp 작업이 받는 값 (요청한 실행을 그대로 재현하는 데 필요한 파라미터)
+     */
+    public Optional<Lease> acquireOrRequestFollowUp(String trigger, String params) {
+        return acquireOrRequestFollowUp(trigger, params, false);
+    }
+
+    private Optional<Lease> acquireOrRequestFollowUp(String trigger, String params, boolean followUp) {
+        // 획득 실패와 요청 사이에 보유자가 해제했을 수 있으므로 한 번 더 시도
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Optional<Lease> lease = tryAcquire(trigger, followUp);
+            if (lease.isPresent()) {
+                return lease;
+            }
+            if (settlementLockRepository.requestFollowUp(LOCK_NAME, trigger, params)) {
+                log.info("Settlement already running - {} coalesced into a follow-up run", trigger);
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 잠금이 비어 있으면 획득 (후속 실행 요청을 남기지 않음)
+     */
+    public Optional<Lease> tryAcquire(String trigger, boolean followUp) {
+        if (!settlementProperties.getLock().isEnabled()) {
+            return Optional.of(new Lease(trigger, 0L, followUp));
+        }
+
+        settlementLockRepository.createIfAbsent(LOCK_NAME);
+        Duration leaseDuration = settlementProperties.getLock().getLeaseDuration();
+        Optional<Long> token = transactionTemplate.execute(status ->
+                settlementLockRepository.tryAcquire(LOCK_NAME, nodeId(), leaseDuration));
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Lease lease = new Lease(trigger, token.get(), followUp);
+        long periodMillis = Math.max(leaseDuration.toMillis() / 3, 1);
+        heartbeats.put(lease.fencingToken(), heartbeatExecutor.scheduleAtFixedRate(
+                () -> renew(lease, leaseDuration), periodMillis, periodMillis, TimeUnit.MILLISECONDS));
+
+        log.info("Acquired settlement lock for {} - fencing token: {}{}", trigger, lease.fencingToken(),
+                followUp ? " (follow-up)" : "");
+        return Optional.of(lease);
+    }
+
+    /**
+     * 잠금 해제 후 실행 중에 남은 후속 실행 요청 반환 (요청을 넘겨받은 호출자가 실행해야 함)
+     */
+    public Optional<FollowUp> release(Lease lease) {
+        if (!settlementProperties.getLock().isEnabled()) {
+            return Optional.empty();
+        }
+
+        ScheduledFuture<?> heartbeat = heartbeats.remove(lease.fencingToken());
+        if (heartbeat != null) {
+            heartbeat.cancel(false);
+        }
+
+        Optional<FollowUp> followUp = transactionTemplate.execute(status ->
+                settlementLockRepository.release(LOCK_NAME, lease.fencingToken()));
+        log.info("Released settlement lock for {} - fencing token: {}, follow-up requested by: {}",
+                lease.trigger(), lease.fencingToken(), followUp == null ? null : followUp.map(FollowUp::trigger).orElse(null));
+        return followUp == null ? Optional.empty() : followUp;
+    }
+
+    /**
+     * fencing token 이 여전히 유효한지 잠금 없이 확인 (다른 보유자가 잠금을 가져갔으면 예외)
+     *
+     * 확인 이후에 잠금이 넘어간 경우는 체크포인트의 조건부 쓰기가 막음 (SettlementCheckpointRepository.saveFenced)
+     */
+    public void verify(long fencingToken) {
+        if (!settlementProperties.getLock().isEnabled()) {
+            return;
+        }
+
+        long current = settlementLockRepository.currentFencingToken(LOCK_NAME);
+        if (current != fencingToken) {
+            throw new IllegalStateException(
+                    "Settlement lock lost - fencing token " + fencingToken + " superseded by " + current);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+    }
+
+    private void renew(Lease lease, Duration leaseDuration) {
+        try {
+            if (!settlementLockRepository.renew(LOCK_NAME, lease.fencingToken(), leaseDuration)) {
+                log.warn("Settlement lock lease lost for {} - fencing token: {}", lease.trigger(), lease.fencingToken());
+                ScheduledFuture<?> heartbeat = heartbeats.remove(lease.fencingToken());
+                if (heartbeat != null) {
+                    heartbeat.cancel(false);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to renew settlement lock lease - fencing token: {}", lease.fencingToken(), e);
+        }
+    }
+
+    private String nodeId() {
+        String configured = settlementProperties.getLock().getNodeId();
+        return StringUtils.hasText(configured) ? configured : ManagementFactory.getRuntimeMXBean().getName();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo.batch.partition;
+
+import com.example.demo.batch.step.TransactionItemReader;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * account_id 해시(CRC32) 기준으로 미처리 거래를 gridSize 개 파티션으로 분할
+ *
+ * 같은 계좌는 항상 같은 파티션에 배정되므로 계좌 내 거래 순서는 유지되고,
+ * 서로 다른 계좌 간의 순서는 보장하지 않음
+ */
+@Component
+public class AccountHashPartitioner implements Partitioner {
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+
+        for (int i = 0; i < gridSize; i++) {
+            ExecutionContext context = new ExecutionContext();
+            context.putInt(TransactionItemReader.PARTITION_INDEX, i);
+            context.putInt(TransactionItemReader.PARTITION_COUNT, gridSize);
+            partitions.put("partition" + i, context);
+        }
+
+        return partitions;
+    }
+}
@@ -1,15 +1,30 @@
 package com.example.demo.batch.scheduler;
 
+import com.example.demo.batch.archive.ColdTransactionArchiver;
+import com.example.demo.batch.archive.TransactionPartitionMaintenance;
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.continuous.ContinuousSettlementWorker;
+import com.example.demo.batch.job.SettlementRunParameters;
+import com.example.demo.batch.lock.SettlementRunLock;
+import com.example.demo.batch.trigger.SettlementBacklogTrigger;
+import com.example.demo.batch.workqueue.SettlementWorkQueueWorker;
+import com.example.demo.settlementhistory.repository.SettlementCheckpointRepository;
 import com.example.demo.settlementhistory.service.SettlementHistoryService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobParameters;
-import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -17,26 +32,85 @@ public class SettlementScheduler {
     
     private final JobLauncher jobLauncher;
     private final Job settlementJob;
+    private final Job partitionedSettlementJob;
     private final SettlementHistoryService settlementHistoryService;
+    private final SettlementProperties settlementProperties;
+    private final SettlementWorkQueueWorker settlementWorkQueueWorker;
+    private final ContinuousSettlementWorker continuousSettlementWorker;
+    private final SettlementBacklogTrigger settlementBacklogTrigger;
+    private final SettlementRunLock settlementRunLock;
+    private final TransactionPartitionMaintenance transactionPartitionMaintenance;
+    private final ColdTransactionArchiver coldTransactionArchiver;
+    private final SettlementRunParameters settlementRunParameters;
+    private final SettlementCheckpointRepository settlementCheckpointRepository;
+    
+    /**
+     * 다른 실행이 잠금을 보유 중일 때 남긴 요청을 보유자가 끝난 뒤 같은 작업으로 실행하도록 등록
+     */
+    @PostConstruct
+    public void registerFollowUps() {
+        settlementRunLock.registerFollowUp("scheduled-job", (lease, params) ->
+                log.info("Follow-up settlement job finished - Status: {}", launchSettlementJob(lease)));
+        settlementRunLock.registerFollowUp("scheduled-procedure", (lease, params) -> {
+            var result = settlementHistoryService.executeSettlement();
+            log.info("Follow-up settlement procedure completed - Processed: {}, Errors: {}",
+                    result.getProcessedCount(), result.getErrorCount());
+        });
+    }
     
     /**
      * 매일 새벽 4시에 정산 배치 작업을 실행
+     * (settlement.partition.enabled 이면 계좌 해시 파티션 병렬 실행)
+     *
+     * 같은 날 실패한 실행이 있으면 새 JobInstance 가 아니라 기존 실행이 마지막 커밋 지점부터 재시작되고,
+     * 이미 완료된 날이면 새 JobInstance 로 남은 거래를 정산 (SettlementRunParameters)
+     *
+     * settlement.work-queue.enabled 이면 모든 노드가 작업 큐 모드로 버킷을 나눠 정산
+     * settlement.continuous.enabled 이면 연속 정산과 sweep 이 대신하므로 실행하지 않음
      */
     @Scheduled(cron = "0 0 4 * * *")
     public void runSettlementJob() {
+        if (settlementProperties.getContinuous().isEnabled()) {
+            log.info("Continuous settlement is enabled - skipping scheduled settlement job");
+            return;
+        }
+        
         log.info("Starting scheduled settlement job at 4:00 AM");
         
+        if (settlementProperties.getWorkQueue().isEnabled()) {
+            runSettlementWorkQueue();
+            return;
+        }
+        
+        // 다른 노드나 수동 실행이 정산 중이면 끝난 뒤 후속 실행 1 회로 합쳐짐
+        settlementRunLock.runExclusive("scheduled-job", this::launchSettlementJob)
+                .ifPresent(status -> log.info("Scheduled settlement job finished - Status: {}", status));
+    }
+    
+    private BatchStatus launchSettlementJob(SettlementRunLock.Lease lease) {
         try {
-            JobParameters jobParameters = new JobParametersBuilder()
-                    .addLong("time", System.currentTimeMillis())
-                    .addString("trigger", "scheduled")
+            Job job = settlementProperties.getPartition().isEnabled() ? partitionedSettlementJob : settlementJob;
+            JobParameters jobParameters = settlementRunParameters.forSettlementDate(job, LocalDate.now())
+                    .addString("trigger", lease.followUp() ? "follow-up" : "scheduled", false)
+                    .addLong(SettlementRunLock.FENCING_TOKEN, lease.fencingToken(), false)
                     .toJobParameters();
             
-            jobLauncher.run(settlementJob, jobParameters);
-            log.info("Scheduled settlement job completed successfully");
+            return jobLauncher.run(job, jobParameters).getStatus();
             
         } catch (Exception e) {
             log.error("Error occurred during scheduled settlement job", e);
+            return BatchStatus.FAILED;
+        }
+    }
+    
+    private void runSettlementWorkQueue() {
+        try {
+            var result = settlementWorkQueueWorker.run(LocalDate.now());
+            log.info("Scheduled settlement work queue completed - Buckets: {}, Failed buckets: {}, Processed: {}, Errors: {}",
+                    result.getBucketCount(), result.getFailedBucketCount(), result.getProcessedCount(), result.getErrorCount());
+            
+        } catch (Exception e) {
+            log.error("Error occurred during scheduled settlement work queue", e);
         }
     }
     
@@ -45,15 +119,134 @@ public class SettlementScheduler {
      */
     @Scheduled(cron = "0 5 4 * * *")
     public void runSettlementProcedure() {
+        if (settlementProperties.getContinuous().isEnabled()) {
+            return;
+        }
+        
         log.info("Starting scheduled settlement procedure at 4:05 AM");
         
         try {
-            var result = settlementHistoryService.executeSettlement();
-            log.info("Scheduled settlement procedure completed - Processed: {}, Errors: {}", 
-                    result.getProcessedCount(), result.getErrorCount());
+            settlementRunLock.runExclusive("scheduled-procedure", lease -> settlementHistoryService.executeSettlement())
+                    .ifPresent(result -> log.info("Scheduled settlement procedure completed - Processed: {}, Errors: {}", 
+                            result.getProcessedCount(), result.getErrorCount()));
             
         } catch (Exception e) {
             log.error("Error occurred during scheduled settlement procedure", e);
         }
     }
+    
+    /**
+     * settlement.continuous.enabled 이면 이전 실행이 끝난 뒤 interval 마다 새로 들어온 거래를 정산
+     */
+    @Scheduled(fixedDelayString = "${settlement.continuous.interval:5s}")
+    public void runContinuousSettlement() {
+        if (!settlementProperties.getContinuous().isEnabled()) {
+            return;
+        }
+        
+        try {
+            continuousSettlementWorker.run();
+            
+        } catch (Exception e) {
+            log.error("Error occurred during continuous settlement", e);
+        }
+    }
+    
+    /**
+     * settlement.continuous.enabled 이면 sweep-cron 마다 high-water mark 뒤에 남은 거래를 정산
+     * (high-water mark 를 지난 뒤 커밋된 거래와 오류로 남은 거래)
+     */
+    @Scheduled(cron = "${settlement.continuous.sweep-cron:0 0 4 * * *}")
+    public void runContinuousSweep() {
+        if (!settlementProperties.getContinuous().isEnabled()) {
+            return;
+        }
+        
+        try {
+            continuousSettlementWorker.sweep();
+            
+        } catch (Exception e) {
+            log.error("Error occurred during continuous settlement sweep", e);
+        }
+    }
+    
+    /**
+     * settlement.trigger.enabled 이면 poll-interval 마다 backlog 를 확인해 크기/경과 시간 기준으로 정산 배치 실행
+     * (연속 정산 모드에서는 실행하지 않음)
+     */
+    @Scheduled(fixedDelayString = "${settlement.trigger.poll-interval:10s}")
+    public void runBacklogTrigger() {
+        if (!settlementProperties.getTrigger().isEnabled() || settlementProperties.getContinuous().isEnabled()) {
+            return;
+        }
+        
+        try {
+            settlementBacklogTrigger.poll().ifPresent(jobExecution ->
+                    log.info("Backlog-triggered settlement finished - JobExecution ID: {}, Status: {}",
+                            jobExecution.getId(), jobExecution.getStatus()));
+            
+        } catch (Exception e) {
+            log.error("Error occurred during backlog-triggered settlement", e);
+        }
+    }
+    
+    /**
+     * 시작 시 이번 달 + months-ahead 까지 transactions 월 파티션 생성 (이후에는 매일 maintainTransactionPartitions 가 이어서 생성)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareTransactionPartitions() {
+        maintainTransactionPartitions();
+    }
+    
+    /**
+     * transactions 월 파티션을 미리 만들고, settlement.transaction-partition.enabled 이면 오래된 파티션을 아카이브
+     * (DDL 이 정산 쓰기와 메타데이터 잠금을 다투지 않도록 정산 실행 잠금이 비어 있을 때만 실행)
+     */
+    @Scheduled(cron = "${settlement.transaction-partition.cron:0 30 3 * * *}")
+    public void maintainTransactionPartitions() {
+        try {
+            if (settlementRunLock.runIfAvailable("partition-maintenance", lease -> transactionPartitionMaintenance.run()).isEmpty()) {
+                log.info("Settlement is running - skipping transaction partition maintenance");
+            }
+            
+        } catch (Exception e) {
+            log.error("Error occurred during transaction partition maintenance", e);
+        }
+    }
+    
+    /**
+     * settlement.cold-archive.enabled 이면 보존 기간이 지난 정산 완료 거래를 일자별 컬럼 파일로 옮김
+     * (대량 삭제가 정산 쓰기와 경합하지 않도록 정산 실행 잠금이 비어 있을 때만 실행)
+     */
+    @Scheduled(cron = "${settlement.cold-archive.cron:0 0 5 * * *}")
+    public void archiveColdTransactions() {
+        if (!settlementProperties.getColdArchive().isEnabled()) {
+            return;
+        }
+        
+        try {
+            if (settlementRunLock.runIfAvailable("cold-archive", lease -> coldTransactionArchiver.run()).isEmpty()) {
+                log.info("Settlement is running - skipping cold transaction archive");
+            }
+            
+        } catch (Exception e) {
+            log.error("Error occurred during cold transaction archive", e);
+        }
+    }
+    
+    /**
+     * retention 동안 갱신되지 않은 정산 체크포인트 행 삭제
+     * (정산 일자마다 행이 생기고 끝난 실행의 행은 다시 읽히지 않으므로)
+     */
+    @Scheduled(cron = "${settlement.checkpoint.purge-cron:0 45 3 * * *}")
+    public void purgeSettlementCheckpoints() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minus(settlementProperties.getCheckpoint().getRetention());
+            int deleted = settlementCheckpointRepository.deleteUpdatedBefore(before);
+            log.info("Purged {} settlement checkpoints not updated since {}", deleted, before);
+            
+        } catch (Exception e) {
+            log.error("Error occurred during settlement checkpoint purge", e);
+        }
+    }
 }
@@ -0,0 +1,156 @@
+package com.example.demo.batch.step;
+
+import com.example.demo.batch.config.SettlementProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * chunk 소요 시간(읽기 ~ 커밋)과 초당 처리 건수를 측정해 목표 커밋 시간에 맞도록 chunk 크기를 조절하는 CompletionPolicy
+ *
+ * - 한 번에 최대 2배까지만 늘리거나 절반까지만 줄이고, 변화가 10% 미만이면 유지
+ * - chunk 가 롤백되면 절반으로 줄임 (락 경합/타임아웃 대응)
+ * - 조절할 때마다 Step ExecutionContext 에 기록하므로 재시작 시 마지막 크기에서 이어서 시작
+ */
+@Slf4j
+public class AdaptiveChunkSizePolicy extends SimpleCompletionPolicy implements ChunkListener, StepExecutionListener {
+
+    public static final String CHUNK_SIZE = "adaptiveChunk.size";
+    public static final String ADJUSTMENT_COUNT = "adaptiveChunk.adjustmentCount";
+    public static final String LAST_ADJUSTMENT = "adaptiveChunk.lastAdjustment";
+
+    private static final double MIN_CHANGE_RATIO = 0.1;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long targetCommitNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger currentSize = new AtomicInteger();
+    private final Timer chunkTimer;
+    private final Counter growCounter;
+    private final Counter shrinkCounter;
+
+    private long chunkStartNanos;
+    private long readCountAtChunkStart;
+
+    public AdaptiveChunkSizePolicy(String stepName, int initialSize, SettlementProperties.AdaptiveChunk properties,
+                                   MeterRegistry meterRegistry) {
+        this(stepName, initialSize, properties, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveChunkSizePolicy(String stepName, int initialSize, SettlementProperties.AdaptiveChunk properties,
+                            MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.minSize = properties.getMinSize();
+        this.maxSize = properties.getMaxSize();
+        this.targetCommitNanos = properties.getTargetCommitTime().toNanos();
+        this.nanoClock = nanoClock;
+        resize(clamp(initialSize));
+
+        Gauge.builder("settlement.chunk.size", currentSize, AtomicInteger::get)
+                .description("Current adaptive chunk size")
+                .tag("step", stepName)
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("settlement.chunk.duration")
+                .description("Chunk duration from first read to commit")
+                .tag("step", stepName)
+                .register(meterRegistry);
+        this.growCounter = Counter.builder("settlement.chunk.size.adjustments")
+                .tag("step", stepName)
+                .tag("direction", "grow")
+                .register(meterRegistry);
+        this.shrinkCounter = Counter.builder("settlement.chunk.size.adjustments")
+                .tag("step", stepName)
+                .tag("direction", "shrink")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 재시작이면 마지막으로 조절된 크기에서 시작
+     */
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        if (executionContext.containsKey(CHUNK_SIZE)) {
+            resize(clamp(executionContext.getInt(CHUNK_SIZE)));
+        }
+        executionContext.putInt(CHUNK_SIZE, currentSize.get());
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        chunkStartNanos = nanoClock.getAsLong();
+        readCountAtChunkStart = context.getStepContext().getStepExecution().getReadCount();
+    }
+
+    /**
+     * 커밋 이후 호출되므로 측정 시간에 커밋 지연이 포함됨
+     */
+    @Override
+    public void afterChunk(ChunkContext context) {
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        long rows = stepExecution.getReadCount() - readCountAtChunkStart;
+        long elapsedNanos = Math.max(nanoClock.getAsLong() - chunkStartNanos, 1);
+        chunkTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (rows == 0) {
+            return;
+        }
+
+        int current = currentSize.get();
+        double rowsPerSecond = rows * 1_000_000_000.0 / elapsedNanos;
+        long target = Math.round(rowsPerSecond * targetCommitNanos / 1_000_000_000.0);
+        int next = (int) Math.max(Math.max(minSize, current / 2), Math.min(Math.min(maxSize, (long) current * 2), target));
+
+        if (Math.abs(next - current) < current * MIN_CHANGE_RATIO) {
+            return;
+        }
+        adjust(stepExecution, current, next, String.format("%d ms, %.0f rows/s",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond));
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        int current = currentSize.get();
+        int next = Math.max(minSize, current / 2);
+        if (next != current) {
+            adjust(context.getStepContext().getStepExecution(), current, next, "rollback");
+        }
+    }
+
+    public int getCurrentSize() {
+        return currentSize.get();
+    }
+
+    private void adjust(StepExecution stepExecution, int current, int next, String reason) {
+        resize(next);
+        (next > current ? growCounter : shrinkCounter).increment();
+
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        executionContext.putInt(CHUNK_SIZE, next);
+        executionContext.putInt(ADJUSTMENT_COUNT, executionContext.getInt(ADJUSTMENT_COUNT, 0) + 1);
+        executionContext.putString(LAST_ADJUSTMENT, current + " -> " + next + " (" + reason + ")");
+
+        log.info("{} chunk size adjusted {} -> {} ({})", stepExecution.getStepName(), current, next, reason);
+    }
+
+    private void resize(int size) {
+        currentSize.set(size);
+        setChunkSize(size);
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+}
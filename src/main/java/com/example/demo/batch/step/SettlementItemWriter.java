@@ -1,34 +1,192 @@
 package com.example.demo.batch.step;
 
+import com.example.demo.batch.checkpoint.SettlementCheckpointKey;
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.engine.ChunkSettlement;
+import com.example.demo.batch.engine.SettlementAccount;
+import com.example.demo.batch.engine.SettlementEngine;
+import com.example.demo.batch.lock.SettlementRunLock;
+import com.example.demo.settlementhistory.repository.SettlementCheckpointRepository;
+import com.example.demo.settlementhistory.repository.SettlementJdbcRepository;
 import com.example.demo.settlementhistory.repository.SettlementProcedureRepository;
 import com.example.demo.transaction.entity.Transaction;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
 import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.stereotype.Component;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * chunk 로 전달받은 거래만 정산
+ *
+ * - ENGINE: 계좌 잠금 조회 → 메모리에서 규칙 적용 → JDBC 배치로 반영
+ * - PROCEDURE: chunk 의 거래 ID 목록으로 SP_SETTLE_ACCOUNTS_CHUNK 호출
+ * - 어느 방식이든 chunk 트랜잭션 안에서 실행되므로 chunk 단위로 커밋되고, 작업량은 chunk 크기에 비례
+ * - 처리/오류 건수는 chunk 가 커밋된 뒤(afterChunk) Step ExecutionContext 에 누적 (정산 이력 기록용) 하고
+ *   settlement.transactions 지표로도 집계 (롤백된 chunk 의 건수는 afterChunkError 에서 버림)
+ * - chunk 의 마지막 거래 (created_at, id) 를 같은 트랜잭션에서 settlement_checkpoint 에 기록
+ * - fencingToken Job 파라미터가 있으면 정산 전에 settlement_lock 토큰을 잠금 없이 확인하고,
+ *   체크포인트는 더 큰 토큰으로 기록된 적이 없을 때만 기록 (잠금을 잃었으면 chunk 실패)
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class SettlementItemWriter implements ItemWriter<Transaction> {
-    
+public class SettlementItemWriter implements ItemWriter<Transaction>, ChunkListener {
+
+    public static final String PROCESSED_COUNT = "settlement.processedCount";
+    public static final String ERROR_COUNT = "settlement.errorCount";
+
+    private final SettlementEngine settlementEngine;
+    private final SettlementJdbcRepository settlementJdbcRepository;
     private final SettlementProcedureRepository settlementProcedureRepository;
-    
+    private final SettlementCheckpointRepository settlementCheckpointRepository;
+    private final SettlementProperties settlementProperties;
+    private final MeterRegistry meterRegistry;
+    private final SettlementRunLock settlementRunLock;
+
+    /**
+     * 커밋 전 chunk 의 처리/오류 건수 (파티션 worker 가 writer 를 공유하므로 chunk 스레드별로 보관)
+     */
+    private final ThreadLocal<ChunkCounts> uncommittedCounts = new ThreadLocal<>();
+
     @Override
     public void write(Chunk<? extends Transaction> chunk) throws Exception {
         log.info("Starting settlement process for {} transactions", chunk.size());
-        
+
         try {
-            // Stored Procedure 호출하여 정산 처리
-            var result = settlementProcedureRepository.executeSettlementProcedure();
-            
-            log.info("Settlement completed - Processed: {}, Errors: {}", 
-                    result.getProcessedCount(), result.getErrorCount());
-            
+            verifyFencingToken();
+
+            List<? extends Transaction> transactions = chunk.getItems();
+            ChunkCounts counts = settle(transactions);
+
+            ChunkCounts uncommitted = uncommittedCounts.get();
+            uncommittedCounts.set(uncommitted == null ? counts : uncommitted.plus(counts));
+            checkpoint(transactions.get(transactions.size() - 1));
+
+            log.info("Settlement completed - Processed: {}, Errors: {}",
+                    counts.processedCount(), counts.errorCount());
+
         } catch (Exception e) {
             log.error("Error occurred during settlement process", e);
             throw e;
         }
     }
+
+    /**
+     * 호출한 트랜잭션 안에서 거래 목록을 정산 (Step 밖에서 정산하는 작업 큐 모드에서도 사용)
+     */
+    public ChunkCounts settle(List<? extends Transaction> transactions) {
+        ChunkCounts counts = settlementProperties.getWriter().getMode() == SettlementProperties.WriterMode.PROCEDURE
+                ? settleWithProcedure(transactions)
+                : settleWithEngine(transactions);
+
+        meterRegistry.counter("settlement.transactions", "outcome", "processed").increment(counts.processedCount());
+        meterRegistry.counter("settlement.transactions", "outcome", "error").increment(counts.errorCount());
+        return counts;
+    }
+
+    private ChunkCounts settleWithEngine(List<? extends Transaction> transactions) {
+        Set<String> accountIds = transactions.stream()
+                .map(Transaction::getAccountId)
+                .collect(Collectors.toSet());
+
+        Map<String, SettlementAccount> accounts = settlementJdbcRepository.lockActiveAccounts(accountIds);
+        ChunkSettlement result = settlementEngine.settle(transactions, accounts);
+
+        settlementJdbcRepository.applyBalanceUpdates(result.getBalanceUpdates());
+        Set<Long> processedIds = new HashSet<>(result.getProcessedTransactionIds());
+        settlementJdbcRepository.markProcessed(transactions.stream()
+                .filter(transaction -> processedIds.contains(transaction.getId()))
+                .toList());
+        settlementJdbcRepository.insertErrors(result.getErrors());
+
+        return new ChunkCounts(result.getProcessedCount(), result.getErrorCount());
+    }
+
+    private ChunkCounts settleWithProcedure(List<? extends Transaction> transactions) {
+        List<Long> transactionIds = transactions.stream()
+                .map(Transaction::getId)
+                .toList();
+
+        var result = settlementProcedureRepository.executeChunkSettlementProcedure(transactionIds);
+        return new ChunkCounts(result.getProcessedCount(), result.getErrorCount());
+    }
+
+    private void verifyFencingToken() {
+        var context = StepSynchronizationManager.getContext();
+        if (context == null) {
+            return;
+        }
+
+        Long fencingToken = context.getStepExecution().getJobParameters().getLong(SettlementRunLock.FENCING_TOKEN);
+        if (fencingToken != null) {
+            settlementRunLock.verify(fencingToken);
+        }
+    }
+
+    private void checkpoint(Transaction lastTransaction) {
+        var context = StepSynchronizationManager.getContext();
+        if (context == null) {
+            return;
+        }
+
+        StepExecution stepExecution = context.getStepExecution();
+        SettlementCheckpointKey key = SettlementCheckpointKey.of(stepExecution);
+        Long fencingToken = stepExecution.getJobParameters().getLong(SettlementRunLock.FENCING_TOKEN);
+        if (fencingToken == null || !settlementProperties.getLock().isEnabled()) {
+            settlementCheckpointRepository.save(key, lastTransaction.getCreatedAt(), lastTransaction.getId());
+            return;
+        }
+
+        if (!settlementCheckpointRepository.saveFenced(key, lastTransaction.getCreatedAt(), lastTransaction.getId(), fencingToken)) {
+            throw new IllegalStateException(
+                    "Settlement lock lost - checkpoint " + key + " was written with a newer fencing token than " + fencingToken);
+        }
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        uncommittedCounts.remove();
+    }
+
+    /**
+     * chunk 트랜잭션이 커밋된 뒤 호출되므로 롤백/재시도된 chunk 의 건수는 누적되지 않음
+     */
+    @Override
+    public void afterChunk(ChunkContext context) {
+        ChunkCounts counts = uncommittedCounts.get();
+        uncommittedCounts.remove();
+        if (counts == null) {
+            return;
+        }
+
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        executionContext.putLong(PROCESSED_COUNT, executionContext.getLong(PROCESSED_COUNT, 0L) + counts.processedCount());
+        executionContext.putLong(ERROR_COUNT, executionContext.getLong(ERROR_COUNT, 0L) + counts.errorCount());
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        uncommittedCounts.remove();
+    }
+
+    public record ChunkCounts(long processedCount, long errorCount) {
+
+        ChunkCounts plus(ChunkCounts other) {
+            return new ChunkCounts(processedCount + other.processedCount(), errorCount + other.errorCount());
+        }
+    }
 }
@@ -14,7 +14,7 @@ public class TransactionItemProcessor implements ItemProcessor<Transaction, Tran
         log.debug("Processing transaction: ID={}, Account={}, Amount={}, Type={}", 
                  transaction.getId(), transaction.getAccountId(), transaction.getAmount(), transaction.getType());
         
-        // 여기서는 단순히 로깅만 수행하고, 실제 정산 로직은 Stored Procedure에서 처리
+        // 여기서는 단순히 로깅만 수행하고, 실제 정산 로직은 SettlementItemWriter(SettlementEngine)에서 처리
         // 필요시 추가적인 검증 로직을 여기에 추가할 수 있음
         
         return transaction;
@@ -1,31 +1,240 @@
 package com.example.demo.batch.step;
 
+import com.example.demo.batch.checkpoint.SettlementCheckpointKey;
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.listener.SettlementHistoryJobListener;
+import com.example.demo.settlementhistory.repository.SettlementCheckpointRepository;
 import com.example.demo.transaction.entity.Transaction;
-import com.example.demo.transaction.repository.TransactionRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.batch.item.ItemReader;
-import org.springframework.batch.item.NonTransientResourceException;
-import org.springframework.batch.item.ParseException;
-import org.springframework.batch.item.UnexpectedInputException;
+import com.example.demo.transaction.repository.TransactionCursorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+/**
+ * 미처리 거래를 (created_at, id) keyset 으로 페이지 단위 스트리밍하는 Reader
+ *
+ * - 한 번에 settlement.reader.page-size 건만 메모리에 유지
+ * - 마지막으로 읽은 (created_at, id) 를 Step ExecutionContext 에 저장하여 재시작 시 이어서 읽음
+ * - ExecutionContext 가 비어 있으면 settlement_checkpoint 의 마지막 커밋 지점부터 읽음
+ * - 파티션 Step 에서는 Partitioner 가 넣어준 partitionIndex/partitionCount 에 해당하는 계좌만 읽음
+ * - settlement.pipeline.mode=ASYNC 이면 다음 페이지들을 백그라운드에서 미리 읽어, Writer 가 chunk 를 쓰는 동안
+ *   다음 chunk 의 DB 조회가 진행됨 (미리 읽는 양은 max-in-flight-chunks 로 제한)
+ * - Job 시작 시 고정한 cutoff 가 있으면 그 ID 이하의 거래만 읽음 (실행 중 들어온 거래는 다음 실행에서 정산)
+ * - maxItemCount Job 파라미터가 있으면 그 건수(파티션 Step 은 파티션 수로 나눈 건수)까지만 읽고 종료
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
-public class TransactionItemReader implements ItemReader<Transaction> {
-    
-    private final TransactionRepository transactionRepository;
-    private Iterator<Transaction> transactionIterator;
-    
+@StepScope
+public class TransactionItemReader extends ItemStreamSupport implements ItemStreamReader<Transaction> {
+
+    public static final String PARTITION_INDEX = "partitionIndex";
+    public static final String PARTITION_COUNT = "partitionCount";
+    public static final String MAX_ITEM_COUNT = "maxItemCount";
+
+    private static final String LAST_CREATED_AT = "last.created.at";
+    private static final String LAST_ID = "last.id";
+    private static final String READ_COUNT = "read.count";
+
+    private final TransactionCursorRepository transactionCursorRepository;
+    private final SettlementCheckpointRepository settlementCheckpointRepository;
+    private final int pageSize;
+    private final int prefetchPages;
+    private final TaskExecutor prefetchExecutor;
+    private final Deque<CompletableFuture<List<Transaction>>> prefetchedPages = new ArrayDeque<>();
+
+    private Iterator<Transaction> currentPage = Collections.emptyIterator();
+    private boolean exhausted;
+    private LocalDateTime lastCreatedAt;
+    private Long lastId;
+    private int partitionIndex = 0;
+    private int partitionCount = 1;
+    private long readCount;
+    private long maxItemCount = Long.MAX_VALUE;
+    private Long cutoffTransactionId;
+
+    public TransactionItemReader(TransactionCursorRepository transactionCursorRepository,
+                                 SettlementCheckpointRepository settlementCheckpointRepository,
+                                 SettlementProperties settlementProperties,
+                                 @Qualifier("settlementPrefetchTaskExecutor") TaskExecutor prefetchExecutor) {
+        this.transactionCursorRepository = transactionCursorRepository;
+        this.settlementCheckpointRepository = settlementCheckpointRepository;
+        this.pageSize = settlementProperties.getReader().getPageSize();
+        this.prefetchPages = prefetchPages(settlementProperties);
+        this.prefetchExecutor = prefetchExecutor;
+        setName("transactionItemReader");
+    }
+
+    /**
+     * 미리 읽을 페이지 수 = max-in-flight-chunks 만큼의 거래를 담는 페이지 수 (SYNC 모드는 0)
+     */
+    private int prefetchPages(SettlementProperties settlementProperties) {
+        if (settlementProperties.getPipeline().getMode() != SettlementProperties.PipelineMode.ASYNC) {
+            return 0;
+        }
+        long inFlightItems = (long) settlementProperties.getPipeline().getMaxInFlightChunks() * settlementProperties.getChunkSize();
+        return (int) Math.max(1, (inFlightItems + pageSize - 1) / pageSize);
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        if (executionContext.containsKey(PARTITION_COUNT)) {
+            partitionIndex = executionContext.getInt(PARTITION_INDEX);
+            partitionCount = executionContext.getInt(PARTITION_COUNT);
+        }
+
+        if (executionContext.containsKey(getExecutionContextKey(LAST_ID))) {
+            lastCreatedAt = LocalDateTime.parse(executionContext.getString(getExecutionContextKey(LAST_CREATED_AT)));
+            lastId = executionContext.getLong(getExecutionContextKey(LAST_ID));
+            log.info("Resuming transaction reader after createdAt={}, id={}", lastCreatedAt, lastId);
+        } else {
+            resumeFromCheckpoint();
+        }
+
+        readCount = executionContext.getLong(getExecutionContextKey(READ_COUNT), 0L);
+        maxItemCount = maxItemCount();
+        cutoffTransactionId = cutoffTransactionId();
+    }
+
+    @Override
+    public Transaction read() {
+        if (readCount >= maxItemCount) {
+            return null;
+        }
+
+        if (!currentPage.hasNext()) {
+            if (exhausted) {
+                return null;
+            }
+
+            List<Transaction> page = fetchNextPage();
+            // 페이지가 덜 찼으면 더 읽을 데이터가 없음
+            exhausted = page.size() < pageSize;
+            if (page.isEmpty()) {
+                return null;
+            }
+            currentPage = page.iterator();
+        }
+
+        Transaction transaction = currentPage.next();
+        lastCreatedAt = transaction.getCreatedAt();
+        lastId = transaction.getId();
+        readCount++;
+        return transaction;
+    }
+
     @Override
-    public Transaction read() throws Exception, UnexpectedInputException, ParseException, NonTransientResourceException {
-        if (transactionIterator == null) {
-            List<Transaction> unprocessedTransactions = transactionRepository.findUnprocessedTransactionsOrderByCreatedAt(false);
-            transactionIterator = unprocessedTransactions.iterator();
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (lastId != null) {
+            executionContext.putString(getExecutionContextKey(LAST_CREATED_AT), lastCreatedAt.toString());
+            executionContext.putLong(getExecutionContextKey(LAST_ID), lastId);
+            executionContext.putLong(getExecutionContextKey(READ_COUNT), readCount);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        prefetchedPages.forEach(page -> page.cancel(false));
+        prefetchedPages.clear();
+    }
+
+    private long maxItemCount() {
+        var context = StepSynchronizationManager.getContext();
+        Long maxItems = context == null ? null : context.getStepExecution().getJobParameters().getLong(MAX_ITEM_COUNT);
+        if (maxItems == null) {
+            return Long.MAX_VALUE;
+        }
+        return (maxItems + partitionCount - 1) / partitionCount;
+    }
+
+    private Long cutoffTransactionId() {
+        var context = StepSynchronizationManager.getContext();
+        if (context == null) {
+            return null;
+        }
+
+        ExecutionContext jobContext = context.getStepExecution().getJobExecution().getExecutionContext();
+        return jobContext.containsKey(SettlementHistoryJobListener.CUTOFF_TRANSACTION_ID)
+                ? jobContext.getLong(SettlementHistoryJobListener.CUTOFF_TRANSACTION_ID)
+                : null;
+    }
+
+    private void resumeFromCheckpoint() {
+        var context = StepSynchronizationManager.getContext();
+        if (context == null) {
+            return;
+        }
+
+        settlementCheckpointRepository.find(SettlementCheckpointKey.of(context.getStepExecution()))
+                .ifPresent(checkpoint -> {
+                    lastCreatedAt = checkpoint.getLastCreatedAt();
+                    lastId = checkpoint.getLastTransactionId();
+                    log.info("Resuming transaction reader from checkpoint after createdAt={}, id={}", lastCreatedAt, lastId);
+                });
+    }
+
+    private List<Transaction> fetchNextPage() {
+        if (prefetchPages == 0) {
+            return fetchPageAfter(lastCreatedAt, lastId);
+        }
+
+        if (prefetchedPages.isEmpty()) {
+            LocalDateTime afterCreatedAt = lastCreatedAt;
+            Long afterId = lastId;
+            prefetchedPages.add(CompletableFuture.supplyAsync(() -> fetchPageAfter(afterCreatedAt, afterId), prefetchExecutor));
+        }
+
+        // 마지막 페이지 다음 페이지를 이어서 예약하여 항상 prefetchPages 개를 유지
+        while (prefetchedPages.size() < prefetchPages + 1) {
+            prefetchedPages.add(prefetchedPages.getLast().thenApplyAsync(this::fetchPageFollowing, prefetchExecutor));
+        }
+
+        try {
+            return prefetchedPages.removeFirst().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private List<Transaction> fetchPageFollowing(List<Transaction> previousPage) {
+        // 이전 페이지가 덜 찼으면 더 읽을 데이터가 없음
+        if (previousPage.size() < pageSize) {
+            return List.of();
+        }
+        Transaction last = previousPage.get(previousPage.size() - 1);
+        return fetchPageAfter(last.getCreatedAt(), last.getId());
+    }
+
+    private List<Transaction> fetchPageAfter(LocalDateTime afterCreatedAt, Long afterId) {
+        if (cutoffTransactionId != null) {
+            return afterId == null
+                    ? transactionCursorRepository.findFirstUnprocessedPage(partitionIndex, partitionCount, pageSize,
+                            cutoffTransactionId)
+                    : transactionCursorRepository.findUnprocessedPageAfter(afterCreatedAt, afterId,
+                            partitionIndex, partitionCount, pageSize, cutoffTransactionId);
+        }
+        if (afterId == null) {
+            return transactionCursorRepository.findFirstUnprocessedPage(partitionIndex, partitionCount, pageSize);
         }
-        
-        return transactionIterator.hasNext() ? transactionIterator.next() : null;
+        return transactionCursorRepository.findUnprocessedPageAfter(afterCreatedAt, afterId,
+                partitionIndex, partitionCount, pageSize);
     }
 }
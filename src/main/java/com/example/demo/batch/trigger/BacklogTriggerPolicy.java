@@ -0,0 +1,75 @@
+package com.example.demo.batch.trigger;
+
+import com.example.demo.batch.config.SettlementProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 미정산 backlog 크기와 경과 시간으로 정산 실행 여부를 결정
+ *
+ * - backlog 가 startBacklog 이상이면 소진 모드로 들어가 stopBacklog 이하가 될 때까지 minGap 마다 실행 (히스테리시스)
+ * - 소진 모드가 아니어도 가장 오래된 미정산 거래가 maxAge 를 넘거나 마지막 실행 후 maxGap 이 지나면 실행
+ * - 어떤 경우에도 마지막 실행 후 minGap 이 지나기 전에는 실행하지 않음
+ */
+@Slf4j
+public class BacklogTriggerPolicy {
+
+    public enum Reason {
+        BACKLOG, AGE, MAX_GAP
+    }
+
+    public record Backlog(long size, LocalDateTime oldestCreatedAt) {
+    }
+
+    private final SettlementProperties.Trigger properties;
+
+    private boolean draining;
+    private LocalDateTime lastRunAt;
+
+    /**
+     * startedAt 을 마지막 실행 시각으로 보고 maxGap 을 계산
+     */
+    public BacklogTriggerPolicy(SettlementProperties.Trigger properties, LocalDateTime startedAt) {
+        this.properties = properties;
+        this.lastRunAt = startedAt;
+    }
+
+    public synchronized Optional<Reason> decide(Backlog backlog, LocalDateTime now) {
+        if (draining && backlog.size() <= properties.getStopBacklog()) {
+            draining = false;
+            log.info("Settlement backlog drained to {} - leaving drain mode", backlog.size());
+        } else if (!draining && backlog.size() >= properties.getStartBacklog()) {
+            draining = true;
+            log.info("Settlement backlog reached {} - entering drain mode", backlog.size());
+        }
+
+        if (backlog.size() == 0 || elapsed(lastRunAt, now).compareTo(properties.getMinGap()) < 0) {
+            return Optional.empty();
+        }
+        if (draining) {
+            return Optional.of(Reason.BACKLOG);
+        }
+        if (backlog.oldestCreatedAt() != null && elapsed(backlog.oldestCreatedAt(), now).compareTo(properties.getMaxAge()) >= 0) {
+            return Optional.of(Reason.AGE);
+        }
+        if (elapsed(lastRunAt, now).compareTo(properties.getMaxGap()) >= 0) {
+            return Optional.of(Reason.MAX_GAP);
+        }
+        return Optional.empty();
+    }
+
+    public synchronized void runStarted(LocalDateTime now) {
+        this.lastRunAt = now;
+    }
+
+    public synchronized boolean isDraining() {
+        return draining;
+    }
+
+    private static Duration elapsed(LocalDateTime from, LocalDateTime to) {
+        return Duration.between(from, to);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demo.batch.trigger;
+
+import com.example.demo.batch.checkpoint.SettlementCheckpointKey;
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.lock.SettlementRunLock;
+import com.example.demo.batch.step.TransactionItemReader;
+import com.example.demo.transaction.repository.TransactionCursorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 미정산 backlog 를 주기적으로 확인해 BacklogTriggerPolicy 가 실행을 결정하면 정산 배치를 실행
+ *
+ * - backlog 는 startBacklog 건까지만 세는 인덱스 조회와 가장 오래된 미정산 거래 1건 조회로 측정 (전체 COUNT 없음)
+ * - 실행마다 maxItemCount 로 정산 건수를 maxRunSize 로 제한하고, 남은 backlog 는 소진 모드에서 이어서 정산
+ * - 실행마다 time 으로 체크포인트 키가 달라지므로 매번 대기 큐 처음부터 읽음 (이전 실행이 cutoff 로 건너뛴 거래도 정산)
+ * - 다른 정산 Job 이 실행 중이거나 settlement_lock 을 다른 실행이 보유 중이면 건너뜀 (다음 확인 때 다시 판단)
+ * - settlement_lock 을 실행이 끝날 때까지 보유해야 하므로 호출 스레드에서 동기 실행
+ *   (스케줄러 풀은 spring.task.scheduling.pool.size 로 늘려 다른 cron 작업이 밀리지 않게 함)
+ */
+@Slf4j
+@Component
+public class SettlementBacklogTrigger {
+
+    private final JobLauncher jobLauncher;
+    private final JobExplorer jobExplorer;
+    private final Job settlementJob;
+    private final Job partitionedSettlementJob;
+    private final TransactionCursorRepository transactionCursorRepository;
+    private final SettlementProperties settlementProperties;
+    private final SettlementRunLock settlementRunLock;
+    private final BacklogTriggerPolicy policy;
+
+    public SettlementBacklogTrigger(JobLauncher jobLauncher, JobExplorer jobExplorer,
+                                    Job settlementJob, Job partitionedSettlementJob,
+                                    TransactionCursorRepository transactionCursorRepository,
+                                    SettlementProperties settlementProperties, SettlementRunLock settlementRunLock) {
+        this.jobLauncher = jobLauncher;
+        this.jobExplorer = jobExplorer;
+        this.settlementJob = settlementJob;
+        this.partitionedSettlementJob = partitionedSettlementJob;
+        this.transactionCursorRepository = transactionCursorRepository;
+        this.settlementProperties = settlementProperties;
+        this.settlementRunLock = settlementRunLock;
+        this.policy = new BacklogTriggerPolicy(settlementProperties.getTrigger(), LocalDateTime.now());
+    }
+
+    /**
+     * backlog 를 측정하고 실행 조건을 만족하면 정산 배치를 동기 실행 (실행했으면 JobExecution 반환)
+     */
+    public Optional<JobExecution> poll() {
+        SettlementProperties.Trigger trigger = settlementProperties.getTrigger();
+        BacklogTriggerPolicy.Backlog backlog = new BacklogTriggerPolicy.Backlog(
+                transactionCursorRepository.countUnsettled(trigger.getStartBacklog()),
+                transactionCursorRepository.findOldestUnsettledCreatedAt());
+
+        LocalDateTime now = LocalDateTime.now();
+        Optional<BacklogTriggerPolicy.Reason> reason = policy.decide(backlog, now);
+        if (reason.isEmpty()) {
+            return Optional.empty();
+        }
+        if (isRunning(settlementJob) || isRunning(partitionedSettlementJob)) {
+            log.info("Settlement job already running - skipping backlog trigger ({})", reason.get());
+            return Optional.empty();
+        }
+
+        Job job = settlementProperties.getPartition().isEnabled() ? partitionedSettlementJob : settlementJob;
+        return settlementRunLock.runIfAvailable("backlog-trigger", lease -> {
+            log.info("Backlog trigger starting {} - reason: {}, backlog: {}{}, oldest: {}",
+                    job.getName(), reason.get(), backlog.size(),
+                    backlog.size() >= trigger.getStartBacklog() ? "+" : "", backlog.oldestCreatedAt());
+            policy.runStarted(now);
+            return launch(job, reason.get(), lease);
+        });
+    }
+
+    private JobExecution launch(Job job, BacklogTriggerPolicy.Reason reason, SettlementRunLock.Lease lease) {
+        // 정산일이 같은 실행끼리도 별도 JobInstance 가 되도록 실행 시각을 식별 파라미터로 추가
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate(SettlementCheckpointKey.SETTLEMENT_DATE, LocalDate.now())
+                .addLong("time", System.currentTimeMillis())
+                .addString("trigger", lease.followUp() ? "follow-up" : reason.name(), false)
+                .addLong(TransactionItemReader.MAX_ITEM_COUNT, settlementProperties.getTrigger().getMaxRunSize(), false)
+                .addLong(SettlementRunLock.FENCING_TOKEN, lease.fencingToken(), false)
+                .toJobParameters();
+
+        try {
+            return jobLauncher.run(job, jobParameters);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to launch " + job.getName(), e);
+        }
+    }
+
+    private boolean isRunning(Job job) {
+        return !jobExplorer.findRunningJobExecutions(job.getName()).isEmpty();
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.demo.batch.workqueue;
+
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.step.SettlementItemWriter;
+import com.example.demo.settlementhistory.entity.SettlementHistory;
+import com.example.demo.settlementhistory.entity.SettlementWorkBucket;
+import com.example.demo.settlementhistory.repository.SettlementHistoryRepository;
+import com.example.demo.settlementhistory.repository.SettlementWorkBucketRepository;
+import com.example.demo.transaction.entity.Transaction;
+import com.example.demo.transaction.repository.TransactionCursorRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 여러 노드가 함께 정산하는 작업 큐 모드
+ *
+ * - run(정산일) 마다 account_id 해시 버킷을 만들고, 각 노드는 FOR UPDATE SKIP LOCKED 로 버킷을 하나씩 점유
+ * - 점유한 버킷의 거래를 keyset 페이지 단위로 읽어 페이지마다 별도 트랜잭션으로 정산 (SettlementItemWriter 재사용)
+ * - 같은 계좌는 항상 같은 버킷이므로 계좌 내 거래 순서가 유지되고, 노드 간 계좌 잠금 경합이 없음
+ * - 노드가 죽으면 점유 기간이 만료된 버킷을 다른 노드가 이어서 정산 (이미 처리된 거래는 정산 대기 큐에서 빠졌으므로 건너뜀)
+ * - 처리/오류 건수는 페이지 정산과 같은 트랜잭션에서 버킷 행에 누적하므로 점유가 넘어가도 유지됨
+ * - 정산 중 예외가 나면 버킷을 FAILED 로 끝내고, 마지막으로 버킷을 끝낸 노드가 버킷 행을 합산해 run 전체의 정산 이력 1건을 기록
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SettlementWorkQueueWorker {
+
+    private final SettlementWorkBucketRepository settlementWorkBucketRepository;
+    private final TransactionCursorRepository transactionCursorRepository;
+    private final SettlementItemWriter settlementItemWriter;
+    private final SettlementHistoryRepository settlementHistoryRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final SettlementProperties settlementProperties;
+
+    /**
+     * 더 이상 점유할 버킷이 없을 때까지 버킷을 점유하여 정산
+     */
+    public WorkResult run(LocalDate settlementDate) {
+        SettlementProperties.WorkQueue workQueue = settlementProperties.getWorkQueue();
+        String runKey = settlementDate.toString();
+        String nodeId = nodeId();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        settlementWorkBucketRepository.createBuckets(runKey, workQueue.getBucketCount());
+        log.info("Settlement work queue started - runKey: {}, nodeId: {}", runKey, nodeId);
+
+        WorkResult result = new WorkResult(nodeId);
+        while (true) {
+            Optional<SettlementWorkBucket> claimed = transactionTemplate.execute(status ->
+                    settlementWorkBucketRepository.claimNext(runKey, nodeId, workQueue.getLeaseDuration()));
+            if (claimed == null || claimed.isEmpty()) {
+                break;
+            }
+
+            SettlementWorkBucket bucket = claimed.get();
+            try {
+                settleBucket(bucket, nodeId, workQueue.getLeaseDuration(), transactionTemplate, result);
+            } catch (RuntimeException e) {
+                log.error("Failed to settle bucket {}/{}", bucket.getBucketIndex(), bucket.getBucketCount(), e);
+                if (settlementWorkBucketRepository.fail(bucket.getId(), nodeId)) {
+                    result.failBucket();
+                }
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> recordHistoryIfFinished(runKey, settlementDate));
+
+        log.info("Settlement work queue finished - nodeId: {}, Buckets: {}, Processed: {}, Errors: {}",
+                nodeId, result.getBucketCount(), result.getProcessedCount(), result.getErrorCount());
+        return result;
+    }
+
+    private void settleBucket(SettlementWorkBucket bucket, String nodeId, Duration leaseDuration,
+                              TransactionTemplate transactionTemplate, WorkResult result) {
+        int chunkSize = settlementProperties.getChunkSize();
+        long processedCount = 0;
+        long errorCount = 0;
+        Transaction last = null;
+
+        while (true) {
+            List<Transaction> page = last == null
+                    ? transactionCursorRepository.findFirstUnprocessedPage(bucket.getBucketIndex(), bucket.getBucketCount(), chunkSize)
+                    : transactionCursorRepository.findUnprocessedPageAfter(last.getCreatedAt(), last.getId(),
+                            bucket.getBucketIndex(), bucket.getBucketCount(), chunkSize);
+            if (page.isEmpty()) {
+                break;
+            }
+
+            // 정산, 점유 연장, 건수 누적을 같은 트랜잭션에서 실행하여, 점유를 잃은 뒤에는 정산 결과가 커밋되지 않도록 함
+            SettlementItemWriter.ChunkCounts counts = transactionTemplate.execute(status -> {
+                if (!settlementWorkBucketRepository.renewLease(bucket.getId(), nodeId, leaseDuration)) {
+                    return null;
+                }
+                SettlementItemWriter.ChunkCounts settled = settlementItemWriter.settle(page);
+                settlementWorkBucketRepository.addProgress(bucket.getId(), settled.processedCount(), settled.errorCount());
+                return settled;
+            });
+            if (counts == null) {
+                log.warn("Lost lease on settlement bucket {} - stopping", bucket.getBucketIndex());
+                return;
+            }
+
+            processedCount += counts.processedCount();
+            errorCount += counts.errorCount();
+            result.addChunk(counts.processedCount(), counts.errorCount());
+            last = page.get(page.size() - 1);
+
+            if (page.size() < chunkSize) {
+                break;
+            }
+        }
+
+        if (settlementWorkBucketRepository.complete(bucket.getId(), nodeId)) {
+            result.completeBucket();
+            log.info("Settled bucket {}/{} - Processed: {}, Errors: {}",
+                    bucket.getBucketIndex(), bucket.getBucketCount(), processedCount, errorCount);
+        }
+    }
+
+    private void recordHistoryIfFinished(String runKey, LocalDate settlementDate) {
+        List<SettlementWorkBucket> buckets = settlementWorkBucketRepository.lockRun(runKey);
+        boolean finished = !buckets.isEmpty() && buckets.stream()
+                .allMatch(bucket -> bucket.getStatus() == SettlementWorkBucket.BucketStatus.DONE
+                        || bucket.getStatus() == SettlementWorkBucket.BucketStatus.FAILED);
+        if (!finished) {
+            return;
+        }
+
+        long processedCount = buckets.stream().mapToLong(SettlementWorkBucket::getProcessedCount).sum();
+        long errorCount = buckets.stream().mapToLong(SettlementWorkBucket::getErrorCount).sum();
+        long failedBuckets = buckets.stream()
+                .filter(bucket -> bucket.getStatus() == SettlementWorkBucket.BucketStatus.FAILED)
+                .count();
+
+        settlementHistoryRepository.save(SettlementHistory.builder()
+                .settlementDate(settlementDate)
+                .processedCount((int) processedCount)
+                .errorCount((int) errorCount)
+                .status(errorCount == 0 && failedBuckets == 0
+                        ? SettlementHistory.SettlementStatus.SUCCESS
+                        : SettlementHistory.SettlementStatus.FAIL)
+                .build());
+        settlementWorkBucketRepository.markRecorded(runKey);
+
+        log.info("Settlement work queue run {} recorded - Processed: {}, Errors: {}, Failed buckets: {}",
+                runKey, processedCount, errorCount, failedBuckets);
+    }
+
+    private String nodeId() {
+        String configured = settlementProperties.getWorkQueue().getNodeId();
+        return StringUtils.hasText(configured) ? configured : ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class WorkResult {
+
+        private final String nodeId;
+        private int bucketCount;
+        private int failedBucketCount;
+        private long processedCount;
+        private long errorCount;
+
+        private void addChunk(long processedCount, long errorCount) {
+            this.processedCount += processedCount;
+            this.errorCount += errorCount;
+        }
+
+        private void completeBucket() {
+            this.bucketCount++;
+        }
+
+        private void failBucket() {
+            this.failedBucketCount++;
+        }
+    }
+}
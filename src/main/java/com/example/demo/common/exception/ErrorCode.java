@@ -35,6 +35,7 @@ public enum ErrorCode {
     SETTLEMENT_ALREADY_RUNNING(HttpStatus.CONFLICT, "SETTLEMENT_001", "정산이 이미 진행 중입니다."),
     SETTLEMENT_PROCEDURE_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "SETTLEMENT_002", "정산 프로시저 실행 중 오류가 발생했습니다."),
     SETTLEMENT_HISTORY_NOT_FOUND(HttpStatus.NOT_FOUND, "SETTLEMENT_003", "정산 이력을 찾을 수 없습니다."),
+    SETTLEMENT_ALREADY_COMPLETED(HttpStatus.CONFLICT, "SETTLEMENT_004", "해당 일자의 정산은 이미 완료되었습니다."),
     
     // Batch Errors (4400~4499)
     BATCH_JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "BATCH_001", "배치 작업을 찾을 수 없습니다."),
@@ -0,0 +1,29 @@
+package com.example.demo.config;
+
+import com.example.demo.transaction.repository.TransactionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 정산 backlog 지표
+ *
+ * Step 단계별 지표는 SettlementMetricsListener, 프로시저 호출 시간은 SettlementProcedureRepository 에서 기록
+ * 모든 지표는 /actuator/prometheus 로 노출
+ */
+@Configuration
+public class SettlementMetricsConfig {
+
+    /**
+     * 미처리 거래 수 (scrape 할 때마다 정산 대기 큐 크기 조회)
+     */
+    @Bean
+    public MeterBinder settlementBacklogMetrics(TransactionRepository transactionRepository) {
+        return registry -> Gauge.builder("settlement.backlog", transactionRepository,
+                        repository -> repository.countPending())
+                .description("Unprocessed transactions waiting for settlement")
+                .baseUnit("transactions")
+                .register(registry);
+    }
+}
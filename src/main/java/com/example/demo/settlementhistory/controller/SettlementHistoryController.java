@@ -1,25 +1,28 @@
 package com.example.demo.settlementhistory.controller;
 
+import com.example.demo.batch.lock.SettlementRunLock;
 import com.example.demo.common.dto.ApiResponse;
 import com.example.demo.common.exception.BusinessException;
 import com.example.demo.common.exception.ErrorCode;
+import com.example.demo.settlementhistory.dto.SettlementJobStatus;
 import com.example.demo.settlementhistory.entity.SettlementHistory;
 import com.example.demo.settlementhistory.service.SettlementHistoryService;
+import com.example.demo.settlementhistory.service.SettlementJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.batch.core.Job;
-import org.springframework.batch.core.JobParameters;
-import org.springframework.batch.core.JobParametersBuilder;
-import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Tag(name = "정산 관리", description = "정산 관리 API")
 @RestController
@@ -28,8 +31,16 @@ import java.util.List;
 public class SettlementHistoryController {
     
     private final SettlementHistoryService settlementHistoryService;
-    private final JobLauncher jobLauncher;
-    private final Job settlementJob;
+    private final SettlementJobService settlementJobService;
+    private final SettlementRunLock settlementRunLock;
+    
+    /**
+     * /run 요청이 다른 정산 실행 중에 들어와 후속 실행으로 남으면 보유자가 끝난 뒤 같은 프로시저 정산을 실행
+     */
+    @PostConstruct
+    public void registerFollowUp() {
+        settlementRunLock.registerFollowUp("api-procedure", (lease, params) -> settlementHistoryService.executeSettlement());
+    }
     
     @Operation(summary = "정산 이력 조회")
     @GetMapping
@@ -64,30 +75,43 @@ public class SettlementHistoryController {
         return ResponseEntity.ok(ApiResponse.success(history, "상태별 정산 이력을 성공적으로 조회했습니다."));
     }
     
-    @Operation(summary = "정산 수동 실행")
+    @Operation(summary = "정산 수동 실행", description = "다른 정산이 실행 중이면 그 정산이 끝난 뒤 한 번 더 실행하도록 요청하고 409 를 반환합니다.")
     @PostMapping("/run")
     public ResponseEntity<ApiResponse<SettlementHistory>> runSettlement() {
+        Optional<SettlementHistory> result;
         try {
-            SettlementHistory result = settlementHistoryService.executeSettlement();
-            return ResponseEntity.ok(ApiResponse.success(result, "정산이 성공적으로 실행되었습니다."));
+            result = settlementRunLock.runExclusive("api-procedure", lease -> settlementHistoryService.executeSettlement());
         } catch (Exception e) {
             throw new BusinessException(ErrorCode.SETTLEMENT_PROCEDURE_ERROR, e.getMessage());
         }
+        
+        SettlementHistory history = result.orElseThrow(() -> new BusinessException(ErrorCode.SETTLEMENT_ALREADY_RUNNING,
+                "진행 중인 정산이 끝나면 한 번 더 실행됩니다."));
+        return ResponseEntity.ok(ApiResponse.success(history, "정산이 성공적으로 실행되었습니다."));
     }
     
-    @Operation(summary = "정산 배치 실행")
+    @Operation(summary = "정산 배치 실행", description = "배치를 별도 스레드에서 시작하고 JobExecution ID 를 바로 반환합니다. "
+            + "partitioned=true 이면 계좌 해시 파티션 단위로 병렬 실행합니다. "
+            + "settlementDate 를 지정하면 해당 일자의 실패한 실행을 마지막 커밋 지점부터 재시작합니다.")
     @PostMapping("/run-batch")
-    public ResponseEntity<ApiResponse<String>> runSettlementBatch() {
-        try {
-            JobParameters jobParameters = new JobParametersBuilder()
-                    .addLong("time", System.currentTimeMillis())
-                    .toJobParameters();
-            
-            jobLauncher.run(settlementJob, jobParameters);
-            return ResponseEntity.ok(ApiResponse.success("배치 작업 ID: " + System.currentTimeMillis(), 
-                    "정산 배치 작업이 성공적으로 시작되었습니다."));
-        } catch (Exception e) {
-            throw new BusinessException(ErrorCode.BATCH_JOB_EXECUTION_ERROR, e.getMessage());
-        }
+    public ResponseEntity<ApiResponse<SettlementJobStatus>> runSettlementBatch(
+            @RequestParam(defaultValue = "false") boolean partitioned,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate settlementDate) {
+        SettlementJobStatus status = settlementJobService.launch(partitioned, settlementDate);
+        return ResponseEntity.ok(ApiResponse.success(status, "정산 배치 작업이 성공적으로 시작되었습니다."));
+    }
+    
+    @Operation(summary = "정산 배치 실행 상태 조회", description = "배치 상태, Step 별 읽기/쓰기 건수, 초당 처리 건수를 조회합니다.")
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ApiResponse<SettlementJobStatus>> getSettlementJobStatus(@PathVariable Long id) {
+        SettlementJobStatus status = settlementJobService.getStatus(id);
+        return ResponseEntity.ok(ApiResponse.success(status, "정산 배치 실행 상태를 성공적으로 조회했습니다."));
+    }
+    
+    @Operation(summary = "정산 배치 진행 상황 스트림 (SSE)", description = "settlementJob 의 chunk 커밋마다 progress 이벤트(정산/오류 건수, "
+            + "초당 처리 건수, 예상 남은 시간, chunk 크기)를 보내고, 끝나면 completed 이벤트를 보낸 뒤 종료합니다.")
+    @GetMapping(value = "/jobs/{id}/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSettlementJobProgress(@PathVariable Long id) {
+        return settlementJobService.streamProgress(id);
     }
 }
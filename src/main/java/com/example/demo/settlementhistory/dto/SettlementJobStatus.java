@@ -0,0 +1,130 @@
+package com.example.demo.settlementhistory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 정산 배치 실행 상태 (JobExecution 스냅샷)
+ */
+@Getter
+@Builder
+@Schema(description = "정산 배치 실행 상태")
+public class SettlementJobStatus {
+
+    @Schema(description = "JobExecution ID", example = "42")
+    private Long jobExecutionId;
+
+    @Schema(description = "Job 이름", example = "settlementJob")
+    private String jobName;
+
+    @Schema(description = "배치 상태", example = "STARTED")
+    private String status;
+
+    @Schema(description = "종료 코드", example = "EXECUTING")
+    private String exitCode;
+
+    @Schema(description = "시작 시간")
+    private LocalDateTime startTime;
+
+    @Schema(description = "종료 시간")
+    private LocalDateTime endTime;
+
+    @Schema(description = "읽은 거래 수")
+    private long readCount;
+
+    @Schema(description = "쓴 거래 수")
+    private long writeCount;
+
+    @Schema(description = "시작 이후 초당 처리 건수")
+    private double itemsPerSecond;
+
+    @Schema(description = "Step 별 상태")
+    private List<StepStatus> steps;
+
+    /**
+     * 파티션 실행이면 manager Step 이 종료 시 worker 건수를 합산하므로 worker Step(이름에 ':' 포함) 만 합산
+     * (아직 저장되지 않아 ID 가 없는 Step 은 마지막에 표시)
+     */
+    public static SettlementJobStatus from(JobExecution jobExecution) {
+        List<StepStatus> steps = jobExecution.getStepExecutions().stream()
+                .sorted(Comparator.comparing(StepExecution::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(StepStatus::from)
+                .toList();
+        boolean partitioned = steps.stream().anyMatch(step -> step.getStepName().contains(":"));
+        List<StepStatus> countedSteps = steps.stream()
+                .filter(step -> !partitioned || step.getStepName().contains(":"))
+                .toList();
+        long writeCount = countedSteps.stream().mapToLong(StepStatus::getWriteCount).sum();
+
+        return SettlementJobStatus.builder()
+                .jobExecutionId(jobExecution.getId())
+                .jobName(jobExecution.getJobInstance().getJobName())
+                .status(jobExecution.getStatus().name())
+                .exitCode(jobExecution.getExitStatus().getExitCode())
+                .startTime(jobExecution.getStartTime())
+                .endTime(jobExecution.getEndTime())
+                .readCount(countedSteps.stream().mapToLong(StepStatus::getReadCount).sum())
+                .writeCount(writeCount)
+                .itemsPerSecond(itemsPerSecond(writeCount, jobExecution.getStartTime(), jobExecution.getEndTime()))
+                .steps(steps)
+                .build();
+    }
+
+    private static double itemsPerSecond(long writeCount, LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime == null) {
+            return 0;
+        }
+        long elapsedMillis = Duration.between(startTime, endTime != null ? endTime : LocalDateTime.now()).toMillis();
+        return elapsedMillis == 0 ? writeCount : writeCount * 1000.0 / elapsedMillis;
+    }
+
+    @Getter
+    @Builder
+    @Schema(description = "Step 실행 상태")
+    public static class StepStatus {
+
+        @Schema(description = "Step 이름", example = "settlementStep")
+        private String stepName;
+
+        @Schema(description = "Step 상태", example = "STARTED")
+        private String status;
+
+        private long readCount;
+
+        private long writeCount;
+
+        private long commitCount;
+
+        private long filterCount;
+
+        private long skipCount;
+
+        private long rollbackCount;
+
+        @Schema(description = "시작 이후 초당 처리 건수")
+        private double itemsPerSecond;
+
+        static StepStatus from(StepExecution stepExecution) {
+            return StepStatus.builder()
+                    .stepName(stepExecution.getStepName())
+                    .status(stepExecution.getStatus().name())
+                    .readCount(stepExecution.getReadCount())
+                    .writeCount(stepExecution.getWriteCount())
+                    .commitCount(stepExecution.getCommitCount())
+                    .filterCount(stepExecution.getFilterCount())
+                    .skipCount(stepExecution.getSkipCount())
+                    .rollbackCount(stepExecution.getRollbackCount())
+                    .itemsPerSecond(itemsPerSecond(stepExecution.getWriteCount(),
+                            stepExecution.getStartTime(), stepExecution.getEndTime()))
+                    .build();
+        }
+    }
+}
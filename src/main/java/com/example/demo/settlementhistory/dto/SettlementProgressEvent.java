@@ -0,0 +1,46 @@
+package com.example.demo.settlementhistory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * chunk 커밋마다 전송하는 정산 진행 이벤트 (SSE)
+ */
+@Getter
+@Builder
+@Schema(description = "정산 진행 이벤트")
+public class SettlementProgressEvent {
+
+    @Schema(description = "JobExecution ID", example = "42")
+    private Long jobExecutionId;
+
+    @Schema(description = "Step 이름", example = "settlementStep")
+    private String stepName;
+
+    @Schema(description = "Step 상태", example = "STARTED")
+    private String status;
+
+    @Schema(description = "정산 완료 거래 수")
+    private long processedCount;
+
+    @Schema(description = "오류 거래 수")
+    private long errorCount;
+
+    @Schema(description = "시작 이후 초당 처리 건수")
+    private double itemsPerSecond;
+
+    @Schema(description = "Step 시작 시점 미처리 거래 수")
+    private long backlog;
+
+    @Schema(description = "예상 남은 시간 (초, 계산할 수 없으면 null)")
+    private Long etaSeconds;
+
+    @Schema(description = "현재 chunk 크기")
+    private int chunkSize;
+
+    @Schema(description = "이벤트 시각")
+    private LocalDateTime timestamp;
+}
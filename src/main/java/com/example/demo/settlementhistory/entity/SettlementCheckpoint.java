@@ -0,0 +1,47 @@
+package com.example.demo.settlementhistory.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 정산 실행(run) 별로 마지막으로 커밋된 거래의 (created_at, id)
+ */
+@Entity
+@Table(name = "settlement_checkpoint",
+        uniqueConstraints = @UniqueConstraint(name = "uk_settlement_checkpoint_run",
+                columnNames = {"job_name", "run_key", "partition_index"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", length = 100, nullable = false)
+    private String jobName;
+
+    @Column(name = "run_key", length = 100, nullable = false)
+    private String runKey;
+
+    @Column(name = "partition_index", nullable = false)
+    private Integer partitionIndex;
+
+    @Column(name = "last_created_at", nullable = false)
+    private LocalDateTime lastCreatedAt;
+
+    @Column(name = "last_transaction_id", nullable = false)
+    private Long lastTransactionId;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
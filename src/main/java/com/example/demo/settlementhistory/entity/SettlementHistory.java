@@ -35,6 +35,20 @@ public class SettlementHistory {
     @Column(name = "status", length = 20, nullable = false)
     private SettlementStatus status;
     
+    /**
+     * 정산 대상 상한 거래 ID (실행 시작 시점의 MAX(id), 이후 들어온 거래는 다음 실행에서 정산)
+     */
+    @Column(name = "cutoff_transaction_id")
+    private Long cutoffTransactionId;
+    
+    /**
+     * 이력을 기록한 실행 종류 (RUN 은 실행마다 한 건, CONTINUOUS 는 연속 정산이 하루 한 건에 누적)
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", length = 20, nullable = false)
+    @Builder.Default
+    private SettlementSource source = SettlementSource.RUN;
+    
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -42,4 +56,8 @@ public class SettlementHistory {
     public enum SettlementStatus {
         SUCCESS, FAIL
     }
+    
+    public enum SettlementSource {
+        RUN, CONTINUOUS
+    }
 }
@@ -0,0 +1,45 @@
+package com.example.demo.settlementhistory.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 클러스터 전체에서 정산 실행을 하나로 제한하는 lease 잠금
+ *
+ * - fencing_token: 잠금을 획득할 때마다 1 씩 증가 (이전 보유자의 늦은 쓰기를 거부하는 데 사용)
+ * - pending_run: 실행 중에 들어온 정산 요청 (여러 번 들어와도 후속 실행 1 회로 합침)
+ */
+@Entity
+@Table(name = "settlement_lock")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementLock {
+
+    @Id
+    @Column(name = "lock_name", length = 100)
+    private String lockName;
+
+    @Column(name = "owner", length = 100)
+    private String owner;
+
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "pending_run", nullable = false)
+    private Boolean pendingRun;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,64 @@
+package com.example.demo.settlementhistory.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 작업 큐 모드의 정산 단위 (run 별 account_id 해시 버킷)
+ *
+ * PENDING → CLAIMED (노드가 SKIP LOCKED 로 점유) → DONE/FAILED → RECORDED (정산 이력 기록 완료)
+ * processed_count/error_count 는 페이지가 커밋될 때마다 누적
+ */
+@Entity
+@Table(name = "settlement_work_bucket",
+        uniqueConstraints = @UniqueConstraint(name = "uk_settlement_work_bucket_run",
+                columnNames = {"run_key", "bucket_index"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementWorkBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_key", length = 100, nullable = false)
+    private String runKey;
+
+    @Column(name = "bucket_index", nullable = false)
+    private Integer bucketIndex;
+
+    @Column(name = "bucket_count", nullable = false)
+    private Integer bucketCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private BucketStatus status;
+
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "processed_count", nullable = false)
+    private Long processedCount;
+
+    @Column(name = "error_count", nullable = false)
+    private Long errorCount;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum BucketStatus {
+        PENDING, CLAIMED, DONE, FAILED, RECORDED
+    }
+}
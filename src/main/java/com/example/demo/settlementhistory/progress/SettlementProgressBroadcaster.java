@@ -0,0 +1,146 @@
+package com.example.demo.settlementhistory.progress;
+
+import com.example.demo.settlementhistory.dto.SettlementProgressEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * JobExecution 별 SSE 구독자에게 정산 진행 이벤트를 메모리에서 전달
+ *
+ * - 전송은 별도 스레드에서 하므로 느린 클라이언트가 chunk 처리를 막지 않음 (밀리면 오래된 이벤트부터 버림)
+ * - 마지막 이벤트를 보관해 새 구독자에게 바로 전송
+ * - Job 이 끝나면 구독을 완료하고 보관한 이벤트 삭제, 완료 이벤트는 늦게 온 구독자를 위해 최근 것만 보관
+ * - 구독이 완료/타임아웃/오류로 끝나 구독자가 없으면 JobExecution 항목도 삭제
+ */
+@Slf4j
+@Component
+public class SettlementProgressBroadcaster {
+
+    public static final String PROGRESS_EVENT = "progress";
+    public static final String COMPLETED_EVENT = "completed";
+
+    private static final Duration EMITTER_TIMEOUT = Duration.ofHours(6);
+    private static final int COMPLETED_EVENTS_RETAINED = 100;
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final Map<Long, SettlementProgressEvent> lastEvents = new ConcurrentHashMap<>();
+    private final Map<Long, SettlementProgressEvent> completedEvents = Collections.synchronizedMap(
+            new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, SettlementProgressEvent> eldest) {
+                    return size() > COMPLETED_EVENTS_RETAINED;
+                }
+            });
+    private final ThreadPoolTaskExecutor sendExecutor = new ThreadPoolTaskExecutor();
+
+    public SettlementProgressBroadcaster() {
+        sendExecutor.setThreadNamePrefix("settlement-progress-");
+        sendExecutor.setCorePoolSize(1);
+        sendExecutor.setMaxPoolSize(1);
+        sendExecutor.setQueueCapacity(1_000);
+        sendExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardOldestPolicy());
+        sendExecutor.initialize();
+    }
+
+    public SseEmitter subscribe(Long jobExecutionId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT.toMillis());
+        emitters.compute(jobExecutionId, (id, subscribers) -> {
+            List<SseEmitter> list = subscribers != null ? subscribers : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+        emitter.onCompletion(() -> unsubscribe(jobExecutionId, emitter));
+        emitter.onTimeout(() -> unsubscribe(jobExecutionId, emitter));
+        emitter.onError(e -> unsubscribe(jobExecutionId, emitter));
+
+        // 이미 끝난 Job 이면 완료 이벤트를 보내고 종료 (complete 가 구독 목록을 먼저 가져갔으면 그쪽에서 전송)
+        SettlementProgressEvent completedEvent = completedEvents.get(jobExecutionId);
+        if (completedEvent != null) {
+            if (unsubscribe(jobExecutionId, emitter)) {
+                sendExecutor.execute(() -> {
+                    send(jobExecutionId, emitter, COMPLETED_EVENT, completedEvent);
+                    emitter.complete();
+                });
+            }
+            return emitter;
+        }
+
+        SettlementProgressEvent lastEvent = lastEvents.get(jobExecutionId);
+        if (lastEvent != null) {
+            sendExecutor.execute(() -> send(jobExecutionId, emitter, PROGRESS_EVENT, lastEvent));
+        }
+        return emitter;
+    }
+
+    public void publish(SettlementProgressEvent event) {
+        lastEvents.put(event.getJobExecutionId(), event);
+        List<SseEmitter> subscribers = emitters.get(event.getJobExecutionId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        sendExecutor.execute(() -> subscribers.forEach(emitter ->
+                send(event.getJobExecutionId(), emitter, PROGRESS_EVENT, event)));
+    }
+
+    /**
+     * 마지막 이벤트를 completed 로 보내고 구독 종료 (Job 종료 시 한 번 호출)
+     */
+    public void complete(SettlementProgressEvent event) {
+        completedEvents.put(event.getJobExecutionId(), event);
+        lastEvents.remove(event.getJobExecutionId());
+        List<SseEmitter> subscribers = emitters.remove(event.getJobExecutionId());
+        if (subscribers == null) {
+            return;
+        }
+        sendExecutor.execute(() -> subscribers.forEach(emitter -> {
+            send(event.getJobExecutionId(), emitter, COMPLETED_EVENT, event);
+            emitter.complete();
+        }));
+    }
+
+    public int getSubscriberCount(Long jobExecutionId) {
+        List<SseEmitter> subscribers = emitters.get(jobExecutionId);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        emitters.values().forEach(subscribers -> subscribers.forEach(SseEmitter::complete));
+        emitters.clear();
+        sendExecutor.shutdown();
+    }
+
+    private void send(Long jobExecutionId, SseEmitter emitter, String eventName, SettlementProgressEvent event) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(event));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping progress subscriber for JobExecution {}: {}", jobExecutionId, e.getMessage());
+            unsubscribe(jobExecutionId, emitter);
+        }
+    }
+
+    /**
+     * 구독 목록에서 제거하고 마지막 구독자였으면 항목도 삭제 (목록에 있었으면 true)
+     */
+    private boolean unsubscribe(Long jobExecutionId, SseEmitter emitter) {
+        boolean[] removed = new boolean[1];
+        emitters.computeIfPresent(jobExecutionId, (id, subscribers) -> {
+            removed[0] = subscribers.remove(emitter);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        return removed[0];
+    }
+}
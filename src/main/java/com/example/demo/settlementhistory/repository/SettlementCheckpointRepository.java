@@ -0,0 +1,113 @@
+package com.example.demo.settlementhistory.repository;
+
+import com.example.demo.batch.checkpoint.SettlementCheckpointKey;
+import com.example.demo.settlementhistory.entity.SettlementCheckpoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * settlement_checkpoint 조회/갱신
+ *
+ * 갱신은 Writer 의 chunk 트랜잭션 안에서 수행되므로 체크포인트는 항상 커밋된 정산 결과와 일치함
+ */
+@Repository
+@RequiredArgsConstructor
+public class SettlementCheckpointRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<SettlementCheckpoint> find(SettlementCheckpointKey key) {
+        return query(key, "");
+    }
+
+    /**
+     * 체크포인트 행을 잠그고 조회 (같은 키로 정산하는 노드들을 트랜잭션 단위로 직렬화)
+     */
+    public Optional<SettlementCheckpoint> findForUpdate(SettlementCheckpointKey key) {
+        return query(key, "FOR UPDATE");
+    }
+
+    /**
+     * 마지막 커밋 지점 upsert (run 당 한 행)
+     */
+    public void save(SettlementCheckpointKey key, LocalDateTime lastCreatedAt, long lastTransactionId) {
+        String sql = """
+                INSERT INTO settlement_checkpoint (job_name, run_key, partition_index, last_created_at, last_transaction_id, updated_at)
+                VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+                ON DUPLICATE KEY UPDATE
+                    last_created_at = VALUES(last_created_at),
+                    last_transaction_id = VALUES(last_transaction_id),
+                    updated_at = CURRENT_TIMESTAMP
+                """;
+
+        jdbcTemplate.update(sql, key.jobName(), key.runKey(), key.partitionIndex(),
+                Timestamp.valueOf(lastCreatedAt), lastTransactionId);
+    }
+
+    /**
+     * 더 큰 fencing token 으로 기록된 적이 없을 때만 마지막 커밋 지점 기록 (잠금을 잃은 이전 보유자면 false)
+     *
+     * 토큰 비교와 쓰기가 한 UPDATE 안에서 이뤄지므로, 토큰 확인 이후에 다른 노드가 잠금을 가져가 같은 run 을 이어서
+     * 정산한 경우에도 이전 보유자의 chunk 가 커밋되지 않도록 실패시킬 수 있음
+     */
+    public boolean saveFenced(SettlementCheckpointKey key, LocalDateTime lastCreatedAt, long lastTransactionId,
+                              long fencingToken) {
+        createIfAbsent(key, lastCreatedAt, lastTransactionId);
+
+        String sql = """
+                UPDATE settlement_checkpoint
+                SET last_created_at = ?, last_transaction_id = ?, fencing_token = ?, updated_at = CURRENT_TIMESTAMP
+                WHERE job_name = ? AND run_key = ? AND partition_index = ? AND fencing_token <= ?
+                """;
+
+        return jdbcTemplate.update(sql, Timestamp.valueOf(lastCreatedAt), lastTransactionId, fencingToken,
+                key.jobName(), key.runKey(), key.partitionIndex(), fencingToken) == 1;
+    }
+
+    /**
+     * 체크포인트 행이 없을 때만 생성 (잠글 행을 미리 만들어 두어 최초 실행에서도 노드 간 직렬화가 되도록 함)
+     */
+    public void createIfAbsent(SettlementCheckpointKey key, LocalDateTime lastCreatedAt, long lastTransactionId) {
+        String sql = """
+                INSERT IGNORE INTO settlement_checkpoint (job_name, run_key, partition_index, last_created_at, last_transaction_id, updated_at)
+                VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+                """;
+
+        jdbcTemplate.update(sql, key.jobName(), key.runKey(), key.partitionIndex(),
+                Timestamp.valueOf(lastCreatedAt), lastTransactionId);
+    }
+
+    /**
+     * before 이후 갱신되지 않은 체크포인트 삭제
+     *
+     * 연속 정산의 high-water mark 행이 삭제되어도 다음 실행에서 처음부터 다시 만들어지고,
+     * 대기 큐에 남은 미정산 거래만 읽으므로 중복 정산되지 않음
+     */
+    public int deleteUpdatedBefore(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM settlement_checkpoint WHERE updated_at < ?", Timestamp.valueOf(before));
+    }
+
+    private Optional<SettlementCheckpoint> query(SettlementCheckpointKey key, String lockClause) {
+        String sql = """
+                SELECT id, last_created_at, last_transaction_id, updated_at
+                FROM settlement_checkpoint
+                WHERE job_name = ? AND run_key = ? AND partition_index = ?
+                """ + lockClause;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> SettlementCheckpoint.builder()
+                        .id(rs.getLong("id"))
+                        .jobName(key.jobName())
+                        .runKey(key.runKey())
+                        .partitionIndex(key.partitionIndex())
+                        .lastCreatedAt(rs.getTimestamp("last_created_at").toLocalDateTime())
+                        .lastTransactionId(rs.getLong("last_transaction_id"))
+                        .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+                        .build(),
+                key.jobName(), key.runKey(), key.partitionIndex()).stream().findFirst();
+    }
+}
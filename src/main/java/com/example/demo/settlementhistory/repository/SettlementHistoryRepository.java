@@ -17,6 +17,8 @@ public interface SettlementHistoryRepository extends JpaRepository<SettlementHis
     
     List<SettlementHistory> findBySettlementDate(LocalDate settlementDate);
     
+    Optional<SettlementHistory> findBySettlementDateAndSource(LocalDate settlementDate, SettlementHistory.SettlementSource source);
+    
     List<SettlementHistory> findByStatus(SettlementHistory.SettlementStatus status);
     
     @Query("SELECT s FROM SettlementHistory s WHERE s.settlementDate BETWEEN :startDate AND :endDate ORDER BY s.settlementDate DESC")
@@ -0,0 +1,106 @@
+package com.example.demo.settlementhistory.repository;
+
+import com.example.demo.account.entity.Account;
+import com.example.demo.batch.engine.ChunkSettlement;
+import com.example.demo.batch.engine.SettlementAccount;
+import com.example.demo.transaction.entity.Transaction;
+import com.example.demo.transaction.entity.TransactionError;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Java 정산 엔진의 chunk 단위 JDBC 반영
+ *
+ * 한 chunk 당 계좌 조회 1회, 잔고 UPDATE 배치 1회(계좌당 1건), 처리 완료 UPDATE/대기 큐 DELETE 배치 각 1회, 오류 INSERT 배치 1회로 끝냄
+ * (rewriteBatchedStatements=true 이면 배치가 한 번의 round trip 으로 전송됨)
+ */
+@Repository
+@RequiredArgsConstructor
+public class SettlementJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * 활성 계좌를 행 잠금(FOR UPDATE)과 함께 조회
+     *
+     * 잠금 순서를 고정(id 오름차순)하여 병렬 정산 간 교착 상태를 방지
+     */
+    public Map<String, SettlementAccount> lockActiveAccounts(Collection<String> accountIds) {
+        Map<String, SettlementAccount> accounts = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return accounts;
+        }
+
+        String sql = """
+                SELECT id, balance, account_type
+                FROM accounts
+                WHERE id IN (:accountIds) AND status = 'ACTIVE'
+                ORDER BY id
+                FOR UPDATE
+                """;
+
+        namedParameterJdbcTemplate.query(sql, new MapSqlParameterSource("accountIds", accountIds), rs -> {
+            String id = rs.getString("id");
+            accounts.put(id, new SettlementAccount(id, rs.getBigDecimal("balance"),
+                    Account.AccountType.valueOf(rs.getString("account_type"))));
+        });
+
+        return accounts;
+    }
+
+    public void applyBalanceUpdates(List<ChunkSettlement.BalanceUpdate> balanceUpdates) {
+        if (balanceUpdates.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(
+                "UPDATE accounts SET balance = balance + ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?",
+                balanceUpdates.stream()
+                        .map(update -> new Object[]{update.getDelta(), update.getAccountId()})
+                        .toList());
+    }
+
+    /**
+     * 처리 완료 표시와 함께 정산 대기 큐에서 제거
+     *
+     * PK (id, created_at) 전체로 갱신하므로 transactions 가 월 파티션이어도 해당 파티션 하나만 읽음
+     */
+    public void markProcessed(List<? extends Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(
+                "UPDATE transactions SET is_processed = TRUE WHERE id = ? AND created_at = ?",
+                transactions.stream()
+                        .map(transaction -> new Object[]{transaction.getId(), Timestamp.valueOf(transaction.getCreatedAt())})
+                        .toList());
+        jdbcTemplate.batchUpdate(
+                "DELETE FROM pending_transactions WHERE transaction_id = ?",
+                transactions.stream()
+                        .map(transaction -> new Object[]{transaction.getId()})
+                        .toList());
+    }
+
+    public void insertErrors(List<TransactionError> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transaction_errors (transaction_id, error_code, error_message) VALUES (?, ?, ?)",
+                errors.stream()
+                        .map(error -> new Object[]{error.getTransactionId(), error.getErrorCode(), error.getErrorMessage()})
+                        .toList());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.settlementhistory.repository;
+
+import com.example.demo.batch.lock.SettlementRunLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * settlement_lock 획득/연장/해제
+ *
+ * 획득과 해제는 호출한 트랜잭션 안에서 실행되어야 함
+ * 점유 기간(lease_until)은 노드 간 시계 차이를 피하기 위해 DB 시각 기준으로 계산
+ */
+@Repository
+@RequiredArgsConstructor
+public class SettlementLockRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 잠금 행이 없을 때만 생성 (모든 노드가 호출해도 됨)
+     */
+    public void createIfAbsent(String lockName) {
+        jdbcTemplate.update("INSERT IGNORE INTO settlement_lock (lock_name, fencing_token, pending_run) VALUES (?, 0, FALSE)",
+                lockName);
+    }
+
+    /**
+     * 비어 있거나 점유 기간이 만료된 잠금을 획득하고 새 fencing token 반환 (이미 보유 중이면 empty)
+     *
+     * 획득 전에 쌓인 후속 실행 요청은 요청한 실행의 작업이므로 지우지 않음 (이번 보유자가 해제할 때 넘겨받아 실행)
+     */
+    public Optional<Long> tryAcquire(String lockName, String owner, Duration leaseDuration) {
+        int updated = jdbcTemplate.update("""
+                        UPDATE settlement_lock
+                        SET owner = ?, fencing_token = fencing_token + 1,
+                            lease_until = NOW() + INTERVAL ? SECOND
+                        WHERE lock_name = ? AND (owner IS NULL OR lease_until < NOW())
+                        """,
+                owner, leaseDuration.toSeconds(), lockName);
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(jdbcTemplate.queryForObject(
+                "SELECT fencing_token FROM settlement_lock WHERE lock_name = ?", Long.class, lockName));
+    }
+
+    /**
+     * 점유 기간 연장 (다른 보유자가 만료된 잠금을 가져갔으면 false)
+     */
+    public boolean renew(String lockName, long fencingToken, Duration leaseDuration) {
+        return jdbcTemplate.update("""
+                        UPDATE settlement_lock
+                        SET lease_until = NOW() + INTERVAL ? SECOND
+                        WHERE lock_name = ? AND fencing_token = ? AND owner IS NOT NULL
+                        """,
+                leaseDuration.toSeconds(), lockName, fencingToken) == 1;
+    }
+
+    /**
+     * 잠금 해제 후 실행 중에 남은 후속 실행 요청 반환 (없거나 이미 다른 보유자에게 넘어갔으면 empty)
+     */
+    public Optional<SettlementRunLock.FollowUp> release(String lockName, long fencingToken) {
+        Optional<Optional<SettlementRunLock.FollowUp>> pending = jdbcTemplate.query("""
+                        SELECT pending_run, pending_trigger, pending_params
+                        FROM settlement_lock
+                        WHERE lock_name = ? AND fencing_token = ? AND owner IS NOT NULL
+                        FOR UPDATE
+                        """,
+                (rs, rowNum) -> rs.getBoolean("pending_run")
+                        ? Optional.of(new SettlementRunLock.FollowUp(rs.getString("pending_trigger"), rs.getString("pending_params")))
+                        : Optional.<SettlementRunLock.FollowUp>empty(),
+                lockName, fencingToken).stream().findFirst();
+        if (pending.isEmpty()) {
+            return Optional.empty();
+        }
+
+        jdbcTemplate.update("""
+                        UPDATE settlement_lock
+                        SET owner = NULL, lease_until = NULL, pending_run = FALSE, pending_trigger = NULL, pending_params = NULL
+                        WHERE lock_name = ? AND fencing_token = ?
+                        """,
+                lockName, fencingToken);
+        return pending.get();
+    }
+
+    /**
+     * 잠금이 보유 중이면 요청한 실행의 trigger 와 파라미터로 후속 실행 요청을 남김 (비어 있으면 false)
+     *
+     * 보유 중에 요청이 여러 번 들어오면 마지막 요청 하나로 합쳐짐
+     */
+    public boolean requestFollowUp(String lockName, String trigger, String params) {
+        return jdbcTemplate.update("""
+                        UPDATE settlement_lock
+                        SET pending_run = TRUE, pending_trigger = ?, pending_params = ?
+                        WHERE lock_name = ? AND owner IS NOT NULL AND lease_until >= NOW()
+                        """,
+                trigger, params, lockName) == 1;
+    }
+
+    /**
+     * 현재 fencing token 을 잠금 없이 조회
+     *
+     * 하트비트의 연장 UPDATE 와 서로 기다리지 않도록 공유 잠금을 걸지 않으므로, 조회 이후에 다른 노드가 획득할 수 있음
+     * (그 경우는 체크포인트의 조건부 쓰기 SettlementCheckpointRepository.saveFenced 가 거부)
+     */
+    public long currentFencingToken(String lockName) {
+        Long token = jdbcTemplate.queryForObject(
+                "SELECT fencing_token FROM settlement_lock WHERE lock_name = ?", Long.class, lockName);
+        return token == null ? 0 : token;
+    }
+}
@@ -1,26 +1,82 @@
 package com.example.demo.settlementhistory.repository;
 
+import com.example.demo.batch.config.SettlementProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlOutParameter;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.simple.SimpleJdbcCall;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+@Slf4j
 @Repository
 public class SettlementProcedureRepository {
     
     @PersistenceContext
     private EntityManager entityManager;
     
+    private final SettlementProperties settlementProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TaskExecutor shardExecutor;
+    
+    public SettlementProcedureRepository(SettlementProperties settlementProperties, JdbcTemplate jdbcTemplate,
+                                         MeterRegistry meterRegistry,
+                                         @Qualifier("settlementShardTaskExecutor") TaskExecutor shardExecutor) {
+        this.settlementProperties = settlementProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.shardExecutor = shardExecutor;
+    }
+    
     @Data
     public static class SettlementResult {
         private Long processedCount;
         private Long errorCount;
     }
     
+    /**
+     * 미처리 거래 전체 정산 (cutoff 없음)
+     */
     public SettlementResult executeSettlementProcedure() {
-        StoredProcedureQuery query = entityManager.createStoredProcedureQuery("SP_SETTLE_ACCOUNTS");
+        return executeSettlementProcedure(Long.MAX_VALUE);
+    }
+    
+    /**
+     * maxTransactionId 이하 미처리 거래 정산 (settlement.procedure.variant 에 따라 커서/집합 연산 프로시저 선택)
+     *
+     * Step 안에서 호출하면 chunk/파티션과 무관하게 backlog 전체를 정산하므로 허용하지 않음 (chunk 는 executeChunkSettlementProcedure)
+     */
+    public SettlementResult executeSettlementProcedure(long maxTransactionId) {
+        requireOutsideStep();
+        
+        String procedureName = settlementProperties.getProcedure().getVariant() == SettlementProperties.ProcedureVariant.SET
+                ? "SP_SETTLE_ACCOUNTS_SET"
+                : "SP_SETTLE_ACCOUNTS";
+        
+        StoredProcedureQuery query = entityManager.createStoredProcedureQuery(procedureName);
+        query.registerStoredProcedureParameter("p_max_transaction_id", Long.class, ParameterMode.IN);
         query.registerStoredProcedureParameter("processed_count", Integer.class, ParameterMode.OUT);
         query.registerStoredProcedureParameter("error_count", Integer.class, ParameterMode.OUT);
-        query.execute();
+        query.setParameter("p_max_transaction_id", maxTransactionId);
+        procedureTimer(procedureName).record(() -> {
+            query.execute();
+        });
         
         SettlementResult result = new SettlementResult();
         result.setProcessedCount(((Integer) query.getOutputParameterValue("processed_count")).longValue());
@@ -28,4 +84,101 @@ public class SettlementProcedureRepository {
         
         return result;
     }
+    
+    /**
+     * chunk 에 포함된 거래만 정산 (SP_SETTLE_ACCOUNTS_CHUNK)
+     *
+     * 호출한 트랜잭션 안에서 실행되므로 chunk 단위로 커밋/롤백되며, 이미 처리된 거래는 건너뜀
+     */
+    public SettlementResult executeChunkSettlementProcedure(List<Long> transactionIds) {
+        StoredProcedureQuery query = entityManager.createStoredProcedureQuery("SP_SETTLE_ACCOUNTS_CHUNK");
+        query.registerStoredProcedureParameter("p_transaction_ids", String.class, ParameterMode.IN);
+        query.registerStoredProcedureParameter("processed_count", Integer.class, ParameterMode.OUT);
+        query.registerStoredProcedureParameter("error_count", Integer.class, ParameterMode.OUT);
+        query.setParameter("p_transaction_ids", transactionIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(",", "[", "]")));
+        procedureTimer("SP_SETTLE_ACCOUNTS_CHUNK").record(() -> {
+            query.execute();
+        });
+        
+        SettlementResult result = new SettlementResult();
+        result.setProcessedCount(((Integer) query.getOutputParameterValue("processed_count")).longValue());
+        result.setErrorCount(((Integer) query.getOutputParameterValue("error_count")).longValue());
+        
+        return result;
+    }
+    
+    /**
+     * account_id 해시 shard 별로 SP_SETTLE_ACCOUNTS_SHARD 를 동시에 호출하고 결과를 합산
+     *
+     * shard 마다 커넥션 풀에서 별도 커넥션을 받아 각자 커밋하므로, 일부 shard 가 실패해도 나머지 shard 의 정산은 유지됨
+     * (실패한 shard 의 거래는 미처리로 남아 다음 실행에서 다시 정산)
+     * 동시에 실행되는 shard 수는 settlementShardTaskExecutor 가 커넥션 풀에 맞춰 제한하며,
+     * 호출한 스레드가 트랜잭션(커넥션)을 가진 채 기다리지 않도록 트랜잭션 밖에서 호출해야 함
+     * 모든 shard 가 같은 maxTransactionId 이하 거래만 정산
+     */
+    public SettlementResult executeShardedSettlementProcedure(int shardCount, long maxTransactionId) {
+        requireOutsideStep();
+        
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<CompletableFuture<Map<String, Object>>> shards = new ArrayList<>(shardCount);
+        for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+            int index = shardIndex;
+            shards.add(CompletableFuture.supplyAsync(() -> executeShard(index, shardCount, maxTransactionId), shardExecutor));
+        }
+        
+        // 실패한 shard 가 있어도 나머지 shard 가 끝날 때까지 기다린 뒤 예외를 전달
+        SettlementResult result = new SettlementResult();
+        result.setProcessedCount(0L);
+        result.setErrorCount(0L);
+        RuntimeException failure = null;
+        for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+            try {
+                Map<String, Object> counts = shards.get(shardIndex).join();
+                result.setProcessedCount(result.getProcessedCount() + ((Integer) counts.get("processed_count")).longValue());
+                result.setErrorCount(result.getErrorCount() + ((Integer) counts.get("error_count")).longValue());
+            } catch (CompletionException e) {
+                log.error("Settlement shard {}/{} failed", shardIndex, shardCount, e.getCause());
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+        }
+        // shard 전체 소요 시간 (가장 느린 shard 기준)
+        sample.stop(meterRegistry.timer("settlement.procedure.sharded.duration"));
+        if (failure != null) {
+            throw failure;
+        }
+        
+        return result;
+    }
+    
+    private Map<String, Object> executeShard(int shardIndex, int shardCount, long maxTransactionId) {
+        return procedureTimer("SP_SETTLE_ACCOUNTS_SHARD").record(() -> new SimpleJdbcCall(jdbcTemplate)
+                .withProcedureName("SP_SETTLE_ACCOUNTS_SHARD")
+                .withoutProcedureColumnMetaDataAccess()
+                .declareParameters(
+                        new SqlParameter("p_shard_index", Types.INTEGER),
+                        new SqlParameter("p_shard_count", Types.INTEGER),
+                        new SqlParameter("p_max_transaction_id", Types.BIGINT),
+                        new SqlOutParameter("processed_count", Types.INTEGER),
+                        new SqlOutParameter("error_count", Types.INTEGER))
+                .execute(shardIndex, shardCount, maxTransactionId));
+    }
+    
+    private void requireOutsideStep() {
+        if (StepSynchronizationManager.getContext() != null) {
+            throw new IllegalStateException("Whole-backlog settlement procedure must not run inside a batch step");
+        }
+    }
+    
+    /**
+     * 프로시저 호출 시간 (settlement.procedure.duration, procedure 태그)
+     */
+    private Timer procedureTimer(String procedureName) {
+        return Timer.builder("settlement.procedure.duration")
+                .tag("procedure", procedureName)
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,159 @@
+package com.example.demo.settlementhistory.repository;
+
+import com.example.demo.settlementhistory.entity.SettlementWorkBucket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * 작업 큐 모드 버킷 조회/점유
+ *
+ * 점유(claimNext)와 전체 잠금(lockRun)은 호출한 트랜잭션 안에서 실행되어야 함
+ * 점유 기간(lease_until)은 노드 간 시계 차이를 피하기 위해 DB 시각 기준으로 계산
+ */
+@Repository
+@RequiredArgsConstructor
+public class SettlementWorkBucketRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * run 의 버킷을 생성 (이미 있으면 무시하므로 모든 노드가 호출해도 됨)
+     */
+    public void createBuckets(String runKey, int bucketCount) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT IGNORE INTO settlement_work_bucket
+                            (run_key, bucket_index, bucket_count, status, processed_count, error_count)
+                        VALUES (?, ?, ?, 'PENDING', 0, 0)
+                        """,
+                IntStream.range(0, bucketCount)
+                        .mapToObj(bucketIndex -> new Object[]{runKey, bucketIndex, bucketCount})
+                        .toList());
+    }
+
+    /**
+     * 대기 중이거나 점유 기간이 만료된 버킷 하나를 점유
+     *
+     * 다른 노드가 잠근 행은 SKIP LOCKED 로 건너뛰므로 노드끼리 서로 기다리지 않음
+     */
+    public Optional<SettlementWorkBucket> claimNext(String runKey, String nodeId, Duration leaseDuration) {
+        String sql = """
+                SELECT id, run_key, bucket_index, bucket_count, status, claimed_by, lease_until,
+                       processed_count, error_count, updated_at
+                FROM settlement_work_bucket
+                WHERE run_key = ?
+                  AND (status = 'PENDING' OR (status = 'CLAIMED' AND lease_until < NOW()))
+                ORDER BY bucket_index
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED
+                """;
+
+        Optional<SettlementWorkBucket> bucket = jdbcTemplate.query(sql, bucketRowMapper(), runKey).stream().findFirst();
+        bucket.ifPresent(claimed -> {
+            jdbcTemplate.update("""
+                            UPDATE settlement_work_bucket
+                            SET status = 'CLAIMED', claimed_by = ?, lease_until = NOW() + INTERVAL ? SECOND
+                            WHERE id = ?
+                            """,
+                    nodeId, leaseDuration.toSeconds(), claimed.getId());
+            claimed.setStatus(SettlementWorkBucket.BucketStatus.CLAIMED);
+            claimed.setClaimedBy(nodeId);
+        });
+        return bucket;
+    }
+
+    /**
+     * 점유 기간 연장 (다른 노드가 만료된 버킷을 가져갔으면 false)
+     */
+    public boolean renewLease(long bucketId, String nodeId, Duration leaseDuration) {
+        return jdbcTemplate.update("""
+                        UPDATE settlement_work_bucket
+                        SET lease_until = NOW() + INTERVAL ? SECOND
+                        WHERE id = ? AND status = 'CLAIMED' AND claimed_by = ?
+                        """,
+                leaseDuration.toSeconds(), bucketId, nodeId) == 1;
+    }
+
+    /**
+     * 커밋된 페이지의 처리/오류 건수 누적 (페이지 정산과 같은 트랜잭션에서 호출)
+     *
+     * 점유가 다른 노드로 넘어가도 앞선 노드가 정산한 건수가 버킷에 남음
+     */
+    public void addProgress(long bucketId, long processedCount, long errorCount) {
+        jdbcTemplate.update("""
+                        UPDATE settlement_work_bucket
+                        SET processed_count = processed_count + ?, error_count = error_count + ?
+                        WHERE id = ?
+                        """,
+                processedCount, errorCount, bucketId);
+    }
+
+    /**
+     * 버킷 정산 완료 및 점유 해제
+     */
+    public boolean complete(long bucketId, String nodeId) {
+        return finish(bucketId, nodeId, SettlementWorkBucket.BucketStatus.DONE);
+    }
+
+    /**
+     * 정산 중 예외로 중단된 버킷 (남은 거래는 정산 대기 큐에 남아 다음 run 에서 정산)
+     */
+    public boolean fail(long bucketId, String nodeId) {
+        return finish(bucketId, nodeId, SettlementWorkBucket.BucketStatus.FAILED);
+    }
+
+    private boolean finish(long bucketId, String nodeId, SettlementWorkBucket.BucketStatus status) {
+        return jdbcTemplate.update("""
+                        UPDATE settlement_work_bucket
+                        SET status = ?, lease_until = NULL
+                        WHERE id = ? AND status = 'CLAIMED' AND claimed_by = ?
+                        """,
+                status.name(), bucketId, nodeId) == 1;
+    }
+
+    /**
+     * run 의 모든 버킷을 잠금 (정산 이력을 한 노드만 기록하도록 직렬화)
+     */
+    public List<SettlementWorkBucket> lockRun(String runKey) {
+        return jdbcTemplate.query("""
+                        SELECT id, run_key, bucket_index, bucket_count, status, claimed_by, lease_until,
+                               processed_count, error_count, updated_at
+                        FROM settlement_work_bucket
+                        WHERE run_key = ?
+                        ORDER BY bucket_index
+                        FOR UPDATE
+                        """,
+                bucketRowMapper(), runKey);
+    }
+
+    public void markRecorded(String runKey) {
+        jdbcTemplate.update("UPDATE settlement_work_bucket SET status = 'RECORDED' WHERE run_key = ? AND status IN ('DONE', 'FAILED')", runKey);
+    }
+
+    private RowMapper<SettlementWorkBucket> bucketRowMapper() {
+        return (rs, rowNum) -> SettlementWorkBucket.builder()
+                .id(rs.getLong("id"))
+                .runKey(rs.getString("run_key"))
+                .bucketIndex(rs.getInt("bucket_index"))
+                .bucketCount(rs.getInt("bucket_count"))
+                .status(SettlementWorkBucket.BucketStatus.valueOf(rs.getString("status")))
+                .claimedBy(rs.getString("claimed_by"))
+                .leaseUntil(toLocalDateTime(rs.getTimestamp("lease_until")))
+                .processedCount(rs.getLong("processed_count"))
+                .errorCount(rs.getLong("error_count"))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -1,13 +1,16 @@
 package com.example.demo.settlementhistory.service;
 
+import com.example.demo.batch.config.SettlementProperties;
 import com.example.demo.settlementhistory.entity.SettlementHistory;
 import com.example.demo.settlementhistory.repository.SettlementHistoryRepository;
 import com.example.demo.settlementhistory.repository.SettlementProcedureRepository;
+import com.example.demo.transaction.repository.TransactionCursorRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -22,6 +25,8 @@ public class SettlementHistoryService {
     
     private final SettlementHistoryRepository settlementHistoryRepository;
     private final SettlementProcedureRepository settlementProcedureRepository;
+    private final SettlementProperties settlementProperties;
+    private final TransactionCursorRepository transactionCursorRepository;
     
     public List<SettlementHistory> getAllSettlementHistory() {
         return settlementHistoryRepository.findAll();
@@ -43,18 +48,29 @@ public class SettlementHistoryService {
         return settlementHistoryRepository.findByStatus(status);
     }
     
-    @Transactional
+    /**
+     * 프로시저가 스스로 커밋하므로 트랜잭션 없이 호출
+     * (shard 병렬 실행 중에 바깥 트랜잭션이 커넥션을 잡고 기다리지 않도록 함, 이력 저장은 Repository 트랜잭션)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public SettlementHistory executeSettlement() {
-        log.info("Starting settlement process");
+        int shardCount = settlementProperties.getProcedure().getShardCount();
+        // 배치 Job 과 같이 시작 시점의 MAX(id) 를 cutoff 로 고정 (실행 중에 들어온 거래는 다음 실행에서 정산)
+        long cutoff = transactionCursorRepository.findMaxTransactionId();
+        log.info("Starting settlement process (shards: {}, cutoff transaction id: {})", shardCount, cutoff);
         
         try {
-            var result = settlementProcedureRepository.executeSettlementProcedure();
+            // shard 가 2개 이상이면 shard 별 프로시저를 병렬 호출하고, 이력은 합산 결과로 한 건만 저장
+            var result = shardCount > 1
+                    ? settlementProcedureRepository.executeShardedSettlementProcedure(shardCount, cutoff)
+                    : settlementProcedureRepository.executeSettlementProcedure(cutoff);
             
             SettlementHistory settlementHistory = SettlementHistory.builder()
                     .settlementDate(LocalDate.now())
                     .processedCount(result.getProcessedCount().intValue())
                     .errorCount(result.getErrorCount().intValue())
                     .status(result.getErrorCount() == 0 ? SettlementHistory.SettlementStatus.SUCCESS : SettlementHistory.SettlementStatus.FAIL)
+                    .cutoffTransactionId(cutoff)
                     .build();
             
             return settlementHistoryRepository.save(settlementHistory);
@@ -67,6 +83,7 @@ public class SettlementHistoryService {
                     .processedCount(0)
                     .errorCount(1)
                     .status(SettlementHistory.SettlementStatus.FAIL)
+                    .cutoffTransactionId(cutoff)
                     .build();
             
             return settlementHistoryRepository.save(errorHistory);
@@ -0,0 +1,207 @@
+package com.example.demo.settlementhistory.service;
+
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.job.SettlementRunParameters;
+import com.example.demo.batch.lock.SettlementRunLock;
+import com.example.demo.common.exception.BusinessException;
+import com.example.demo.common.exception.ErrorCode;
+import com.example.demo.settlementhistory.dto.SettlementJobStatus;
+import com.example.demo.settlementhistory.progress.SettlementProgressBroadcaster;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP 요청으로 실행하는 정산 배치
+ *
+ * 별도 스레드에서 Job 을 실행하는 launcher 를 사용하므로 JobExecution 생성 직후 바로 반환하고,
+ * 진행 상황은 JobExecution ID 로 조회 (스케줄러는 기존 동기 jobLauncher 사용)
+ * Job 스레드는 settlement.execution.thread-mode 가 VIRTUAL 이면 가상 스레드
+ *
+ * 실행 전에 settlement_lock 을 획득하고 Job 스레드가 끝날 때 해제하며,
+ * 다른 정산이 실행 중이면 partitioned/settlementDate 를 후속 실행 요청으로 남겨 보유자가 끝난 뒤 그 파라미터로 실행
+ */
+@Slf4j
+@Service
+public class SettlementJobService {
+
+    private final JobExplorer jobExplorer;
+    private final Job settlementJob;
+    private final Job partitionedSettlementJob;
+    private final SettlementProgressBroadcaster settlementProgressBroadcaster;
+    private final SettlementRunLock settlementRunLock;
+    private final JobRepository jobRepository;
+    private final SettlementRunParameters settlementRunParameters;
+    private static final String RUN_BATCH_TRIGGER = "run-batch";
+    private static final String FOLLOW_UP_PARAM_SEPARATOR = "|";
+
+    private final SimpleAsyncTaskExecutor jobTaskExecutor = new SimpleAsyncTaskExecutor("settlement-job-");
+
+    public SettlementJobService(JobRepository jobRepository, JobExplorer jobExplorer,
+                                Job settlementJob, Job partitionedSettlementJob,
+                                SettlementProgressBroadcaster settlementProgressBroadcaster,
+                                SettlementRunLock settlementRunLock,
+                                SettlementRunParameters settlementRunParameters,
+                                SettlementProperties settlementProperties) {
+        this.jobTaskExecutor.setVirtualThreads(
+                settlementProperties.getExecution().getThreadMode() == SettlementProperties.ThreadMode.VIRTUAL);
+        this.jobRepository = jobRepository;
+        this.settlementRunParameters = settlementRunParameters;
+        this.jobExplorer = jobExplorer;
+        this.settlementProgressBroadcaster = settlementProgressBroadcaster;
+        this.settlementRunLock = settlementRunLock;
+        this.settlementJob = settlementJob;
+        this.partitionedSettlementJob = partitionedSettlementJob;
+        settlementRunLock.registerFollowUp(RUN_BATCH_TRIGGER, this::runFollowUp);
+    }
+
+    /**
+     * 정산 배치를 비동기로 시작하고 생성된 JobExecution 상태 반환
+     *
+     * settlementDate 를 지정하면 해당 일자의 실패한 실행을 마지막 커밋 지점부터 재시작
+     * (이미 완료된 일자이면 SETTLEMENT_ALREADY_COMPLETED)
+     *
+     * 중복 실행은 settlement_lock 과 JobRepository 의 실행 중 JobExecution 검사(JobExecutionAlreadyRunningException)로 막음
+     */
+    public SettlementJobStatus launch(boolean partitioned, LocalDate settlementDate) {
+        Job job = partitioned ? partitionedSettlementJob : settlementJob;
+        if (settlementDate != null && settlementRunParameters.isCompleted(job, settlementDate)) {
+            throw new BusinessException(ErrorCode.SETTLEMENT_ALREADY_COMPLETED);
+        }
+
+        SettlementRunLock.Lease lease = settlementRunLock
+                .acquireOrRequestFollowUp(RUN_BATCH_TRIGGER, followUpParams(partitioned, settlementDate))
+                .orElseThrow(() -> new BusinessException(ErrorCode.SETTLEMENT_ALREADY_RUNNING,
+                        "진행 중인 정산이 끝나면 한 번 더 실행됩니다."));
+
+        try {
+            JobExecution jobExecution = launchHoldingLock(job, jobParameters(job, settlementDate), lease);
+            log.info("Launched {} asynchronously - JobExecution ID: {}", job.getName(), jobExecution.getId());
+            return SettlementJobStatus.from(jobExecution);
+        } catch (JobExecutionAlreadyRunningException e) {
+            throw new BusinessException(ErrorCode.SETTLEMENT_ALREADY_RUNNING, e.getMessage());
+        } catch (JobInstanceAlreadyCompleteException e) {
+            throw new BusinessException(ErrorCode.SETTLEMENT_ALREADY_COMPLETED);
+        } catch (Exception e) {
+            throw new BusinessException(ErrorCode.BATCH_JOB_EXECUTION_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * lease 를 보유한 채로 Job 을 비동기 실행하고, Job 스레드가 끝나면 lease 를 해제 (남은 후속 실행 요청도 그 스레드에서 실행)
+     *
+     * Job 스레드에 lease 를 넘기기 위해 실행마다 launcher 를 만듦
+     * (JobLauncher 빈을 추가하면 기존 주입 지점이 모호해지므로 서비스 내부에서만 사용)
+     */
+    private JobExecution launchHoldingLock(Job job, JobParametersBuilder jobParametersBuilder,
+                                           SettlementRunLock.Lease lease) throws Exception {
+        JobParameters jobParameters = jobParametersBuilder
+                .addLong(SettlementRunLock.FENCING_TOKEN, lease.fencingToken(), false)
+                .toJobParameters();
+
+        TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.setTaskExecutor(task -> jobTaskExecutor.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                settlementRunLock.releaseAndRunFollowUp(lease);
+            }
+        }));
+        jobLauncher.afterPropertiesSet();
+
+        try {
+            return jobLauncher.run(job, jobParameters);
+        } catch (Exception e) {
+            // Job 스레드를 시작하지 못했으면 여기서 해제 (남은 후속 실행 요청은 요청 스레드를 막지 않도록 Job 스레드에서 실행)
+            jobTaskExecutor.execute(() -> settlementRunLock.releaseAndRunFollowUp(lease));
+            throw e;
+        }
+    }
+
+    /**
+     * 잠금 보유 중에 남은 /run-batch 요청을 요청 당시의 파라미터로 실행 (잠금을 보유한 스레드에서 동기 실행)
+     */
+    private void runFollowUp(SettlementRunLock.Lease lease, String params) {
+        String[] values = params.split(Pattern.quote(FOLLOW_UP_PARAM_SEPARATOR), -1);
+        Job job = Boolean.parseBoolean(values[0]) ? partitionedSettlementJob : settlementJob;
+        LocalDate settlementDate = values[1].isEmpty() ? null : LocalDate.parse(values[1]);
+        if (settlementDate != null && settlementRunParameters.isCompleted(job, settlementDate)) {
+            log.info("Skipping follow-up {} - settlement for {} already completed", job.getName(), settlementDate);
+            return;
+        }
+
+        JobParameters jobParameters = jobParameters(job, settlementDate)
+                .addString("trigger", "follow-up", false)
+                .addLong(SettlementRunLock.FENCING_TOKEN, lease.fencingToken(), false)
+                .toJobParameters();
+        try {
+            TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+            jobLauncher.setJobRepository(jobRepository);
+            jobLauncher.afterPropertiesSet();
+            JobExecution jobExecution = jobLauncher.run(job, jobParameters);
+            log.info("Follow-up {} finished - JobExecution ID: {}, Status: {}",
+                    job.getName(), jobExecution.getId(), jobExecution.getStatus());
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to launch follow-up " + job.getName(), e);
+        }
+    }
+
+    private JobParametersBuilder jobParameters(Job job, LocalDate settlementDate) {
+        return settlementDate != null
+                ? settlementRunParameters.forSettlementDate(job, settlementDate)
+                : new JobParametersBuilder().addLong(SettlementRunParameters.RUN_TIME, System.currentTimeMillis());
+    }
+
+    private static String followUpParams(boolean partitioned, LocalDate settlementDate) {
+        return partitioned + FOLLOW_UP_PARAM_SEPARATOR + (settlementDate == null ? "" : settlementDate.toString());
+    }
+
+    public SettlementJobStatus getStatus(Long jobExecutionId) {
+        JobExecution jobExecution = jobExplorer.getJobExecution(jobExecutionId);
+        if (jobExecution == null) {
+            throw new BusinessException(ErrorCode.BATCH_JOB_NOT_FOUND);
+        }
+        return SettlementJobStatus.from(jobExecution);
+    }
+
+    /**
+     * 실행 중인 settlementJob 의 진행 이벤트 구독
+     *
+     * 구독 전에 JobExecution 을 한 번만 조회하고, 이후 이벤트는 settlementJob 리스너가 메모리로 전달
+     * 이미 끝났거나 진행 이벤트를 보내지 않는 Job(파티션 실행) 이면 현재 상태를 한 번 보내고 종료
+     */
+    public SseEmitter streamProgress(Long jobExecutionId) {
+        // 없는 실행이면 구독을 만들기 전에 BATCH_JOB_NOT_FOUND
+        SettlementJobStatus status = getStatus(jobExecutionId);
+        boolean running = BatchStatus.valueOf(status.getStatus()).isRunning();
+        if (running && settlementJob.getName().equals(status.getJobName())) {
+            // 조회 이후에 끝난 실행은 Broadcaster 가 보관한 완료 이벤트로 바로 종료
+            return settlementProgressBroadcaster.subscribe(jobExecutionId);
+        }
+
+        SseEmitter emitter = new SseEmitter();
+        try {
+            emitter.send(SseEmitter.event().name(SettlementProgressBroadcaster.COMPLETED_EVENT).data(status));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.demo.transaction.archive;
+
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.transaction.entity.Transaction;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 아카이브된 거래 파일 저장소 (settlement.cold-archive.directory/dt=yyyy-MM-dd/part-<minId>-<maxId>.tcol)
+ *
+ * - 파일은 .tmp 로 쓴 뒤 삭제 트랜잭션이 커밋되기 직전에 이름을 바꿔 공개 (공개되지 않은 .tmp 는 다음 실행에서 정리)
+ * - 조회는 기간이면 해당 날짜 디렉터리만, 계좌면 전체 디렉터리를 보되 파일 헤더의 min/max, 계좌 블룸 필터로 건너뛸 파일을 고름
+ * - 여러 노드로 배포하면 아카이브한 노드의 파일을 다른 노드도 읽어야 하므로 require-shared-directory 로 공유 경로를 강제
+ * - 같은 거래가 두 파일에 들어간 경우(공개 후 커밋 전에 프로세스가 죽은 경우)를 대비해 id 로 중복 제거
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ColdTransactionStore {
+
+    private static final String DAY_DIRECTORY_PREFIX = "dt=";
+    private static final String FILE_SUFFIX = ".tcol";
+    private static final String STAGED_SUFFIX = ".tmp";
+
+    private final SettlementProperties settlementProperties;
+
+    /**
+     * 공유 경로를 요구하는데 공유 경로로 표시되지 않았으면 시작하지 않음 (노드 로컬 디렉터리면 다른 노드가 아카이브한 거래가 조회되지 않음)
+     */
+    @PostConstruct
+    public void validate() {
+        SettlementProperties.ColdArchive coldArchive = settlementProperties.getColdArchive();
+        if (coldArchive.isEnabled() && coldArchive.isRequireSharedDirectory() && !coldArchive.isSharedDirectory()) {
+            throw new IllegalStateException("settlement.cold-archive.directory " + coldArchive.getDirectory()
+                    + " must be a path shared by every node (settlement.cold-archive.require-shared-directory=true)"
+                    + " - mount it on all nodes and set settlement.cold-archive.shared-directory=true");
+        }
+    }
+
+    public boolean isEnabled() {
+        return settlementProperties.getColdArchive().isEnabled();
+    }
+
+    /**
+     * transactions 에 남아 있는 구간의 시작 (이보다 오래된 거래는 아카이브 파일에 있을 수 있음)
+     */
+    public LocalDateTime hotWindowStart() {
+        return LocalDate.now().minusDays(settlementProperties.getColdArchive().getRetention().toDays()).atStartOfDay();
+    }
+
+    /**
+     * 거래를 생성일별 .tmp 파일로 기록
+     */
+    public List<Path> stage(List<? extends Transaction> transactions) {
+        Map<LocalDate, List<Transaction>> byDay = transactions.stream()
+                .collect(Collectors.groupingBy(transaction -> transaction.getCreatedAt().toLocalDate(),
+                        TreeMap::new, Collectors.toList()));
+
+        List<Path> staged = new ArrayList<>();
+        try {
+            for (Map.Entry<LocalDate, List<Transaction>> day : byDay.entrySet()) {
+                Path directory = Files.createDirectories(dayDirectory(day.getKey()));
+                long minId = day.getValue().stream().mapToLong(Transaction::getId).min().orElseThrow();
+                long maxId = day.getValue().stream().mapToLong(Transaction::getId).max().orElseThrow();
+                Path path = directory.resolve("part-" + minId + "-" + maxId + FILE_SUFFIX + STAGED_SUFFIX);
+                TransactionColumnarFile.write(path, day.getValue());
+                staged.add(path);
+            }
+            return staged;
+        } catch (IOException e) {
+            discard(staged);
+            throw new UncheckedIOException("Failed to stage archive files", e);
+        }
+    }
+
+    /**
+     * .tmp 파일을 조회 대상 파일로 공개
+     */
+    public List<Path> publish(List<Path> staged) {
+        List<Path> published = new ArrayList<>();
+        try {
+            for (Path path : staged) {
+                String name = path.getFileName().toString();
+                Path target = path.resolveSibling(name.substring(0, name.length() - STAGED_SUFFIX.length()));
+                published.add(Files.move(path, target, StandardCopyOption.ATOMIC_MOVE));
+            }
+            return published;
+        } catch (IOException e) {
+            discard(published);
+            throw new UncheckedIOException("Failed to publish archive files", e);
+        }
+    }
+
+    public void discard(List<Path> paths) {
+        for (Path path : paths) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Failed to delete archive file {}", path, e);
+            }
+        }
+    }
+
+    /**
+     * 이전 실행에서 공개되지 않고 남은 .tmp 파일 삭제 (해당 거래는 삭제가 롤백되어 transactions 에 남아 있음)
+     */
+    public void cleanUpStaged() {
+        discard(files(dayDirectories(), STAGED_SUFFIX));
+    }
+
+    public List<Transaction> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end) {
+        List<Path> directories = dayDirectories().stream()
+                .filter(directory -> {
+                    LocalDate day = day(directory);
+                    return !day.isBefore(start.toLocalDate()) && !day.isAfter(end.toLocalDate());
+                })
+                .toList();
+
+        return find(directories, header -> header.overlaps(start, end),
+                transaction -> !transaction.getCreatedAt().isBefore(start) && !transaction.getCreatedAt().isAfter(end));
+    }
+
+    public List<Transaction> findByAccountId(String accountId) {
+        return find(dayDirectories(), header -> header.mayContainAccount(accountId),
+                transaction -> transaction.getAccountId().equals(accountId));
+    }
+
+    private List<Transaction> find(List<Path> directories, Predicate<TransactionColumnarFile.Header> fileFilter,
+                                   Predicate<Transaction> rowFilter) {
+        Map<Long, Transaction> rows = new LinkedHashMap<>();
+        try {
+            for (Path path : files(directories, FILE_SUFFIX)) {
+                if (!fileFilter.test(TransactionColumnarFile.readHeader(path))) {
+                    continue;
+                }
+                for (Transaction transaction : TransactionColumnarFile.read(path)) {
+                    if (rowFilter.test(transaction)) {
+                        rows.putIfAbsent(transaction.getId(), transaction);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive files", e);
+        }
+
+        return rows.values().stream()
+                .sorted(Comparator.comparing(Transaction::getCreatedAt).thenComparing(Transaction::getId))
+                .toList();
+    }
+
+    private List<Path> dayDirectories() {
+        Path root = root();
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> directories = Files.list(root)) {
+            return directories
+                    .filter(Files::isDirectory)
+                    .filter(directory -> directory.getFileName().toString().startsWith(DAY_DIRECTORY_PREFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list archive directory " + root, e);
+        }
+    }
+
+    private List<Path> files(List<Path> directories, String suffix) {
+        List<Path> files = new ArrayList<>();
+        for (Path directory : directories) {
+            try (Stream<Path> paths = Files.list(directory)) {
+                paths.filter(path -> path.getFileName().toString().endsWith(suffix))
+                        .sorted()
+                        .forEach(files::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to list archive directory " + directory, e);
+            }
+        }
+        return files;
+    }
+
+    private Path dayDirectory(LocalDate day) {
+        return root().resolve(DAY_DIRECTORY_PREFIX + day);
+    }
+
+    private LocalDate day(Path directory) {
+        return LocalDate.parse(directory.getFileName().toString().substring(DAY_DIRECTORY_PREFIX.length()));
+    }
+
+    private Path root() {
+        return Paths.get(settlementProperties.getColdArchive().getDirectory());
+    }
+}
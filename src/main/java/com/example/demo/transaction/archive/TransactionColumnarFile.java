@@ -0,0 +1,363 @@
+package com.example.demo.transaction.archive;
+
+import com.example.demo.transaction.entity.Transaction;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 아카이브 거래 파일 (컬럼 단위 저장 + GZIP 압축)
+ *
+ * - 헤더(비압축): 행 수, id/created_at/account_id 의 min/max, account_id 블룸 필터 (본문을 풀지 않고 파일을 건너뛸 때 사용)
+ * - 본문(GZIP): id, account_id, amount, type, created_at, is_processed 순서의 컬럼 블록
+ *   (id, created_at 은 직전 값과의 차이, account_id/type 은 이름 사전 인덱스, amount 는 소수 2자리 정수로 저장)
+ * - 행은 (created_at, id) 순서로 저장
+ * - 버전 1 파일(블룸 필터 없음, type 을 enum 순서로 저장)도 읽을 수 있음
+ */
+public final class TransactionColumnarFile {
+
+    private static final int MAGIC = 0x54434F4C; // "TCOL"
+    private static final int VERSION = 2;
+    private static final int VERSION_ORDINAL_TYPE = 1;
+    private static final int AMOUNT_SCALE = 2;
+
+    private TransactionColumnarFile() {
+    }
+
+    /**
+     * 파일 단위 min/max 인덱스
+     */
+    public record Header(int version, int rowCount, long minId, long maxId,
+                         LocalDateTime minCreatedAt, LocalDateTime maxCreatedAt,
+                         String minAccountId, String maxAccountId, AccountFilter accountFilter) {
+
+        public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            return !maxCreatedAt.isBefore(start) && !minCreatedAt.isAfter(end);
+        }
+
+        public boolean mayContainAccount(String accountId) {
+            return minAccountId.compareTo(accountId) <= 0 && maxAccountId.compareTo(accountId) >= 0
+                    && (accountFilter == null || accountFilter.mightContain(accountId));
+        }
+    }
+
+    /**
+     * 파일에 들어 있는 account_id 블룸 필터 (계좌당 10비트, 해시 7개 - 오탐률 약 1%)
+     *
+     * min/max 범위는 계좌가 여러 개인 파일에서 거의 모든 계좌를 포함하므로, 계좌 조회가 본문을 풀 파일을 이 필터로 고름
+     */
+    public static final class AccountFilter {
+
+        private static final int BITS_PER_ACCOUNT = 10;
+        private static final int HASH_COUNT = 7;
+
+        private final long[] bits;
+
+        private AccountFilter(long[] bits) {
+            this.bits = bits;
+        }
+
+        static AccountFilter of(Collection<String> accountIds) {
+            AccountFilter filter = new AccountFilter(new long[Math.max(1, (accountIds.size() * BITS_PER_ACCOUNT + 63) / 64)]);
+            accountIds.forEach(filter::add);
+            return filter;
+        }
+
+        public boolean mightContain(String accountId) {
+            long hash = hash(accountId);
+            for (int i = 0; i < HASH_COUNT; i++) {
+                int index = index(hash, i);
+                if ((bits[index >>> 6] & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void add(String accountId) {
+            long hash = hash(accountId);
+            for (int i = 0; i < HASH_COUNT; i++) {
+                int index = index(hash, i);
+                bits[index >>> 6] |= 1L << index;
+            }
+        }
+
+        /**
+         * 64비트 해시의 상/하위 32비트로 double hashing
+         */
+        private int index(long hash, int i) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            return Math.floorMod(h1 + i * h2, bits.length * 64);
+        }
+
+        /**
+         * UTF-8 바이트의 FNV-1a 64비트 해시 + 비트 섞기 (파일에 저장되므로 JVM 구현과 무관한 해시 사용)
+         */
+        private static long hash(String accountId) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : accountId.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+
+    /**
+     * 거래를 파일로 쓰고 디스크에 동기화 (삭제 전에 파일이 남아 있도록)
+     */
+    public static Header write(Path path, List<? extends Transaction> transactions) throws IOException {
+        if (transactions.isEmpty()) {
+            throw new IllegalArgumentException("Cannot archive an empty transaction list");
+        }
+
+        List<Transaction> rows = new ArrayList<>(transactions);
+        rows.sort(Comparator.comparing(Transaction::getCreatedAt).thenComparing(Transaction::getId));
+        Header header = header(rows);
+
+        try (FileOutputStream file = new FileOutputStream(path.toFile())) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file));
+            writeHeader(out, header);
+            out.flush();
+
+            GZIPOutputStream gzip = new GZIPOutputStream(new BufferedOutputStream(file));
+            DataOutputStream body = new DataOutputStream(gzip);
+            writeColumns(body, rows);
+            body.flush();
+            gzip.finish();
+            gzip.flush();
+            file.getFD().sync();
+        }
+        return header;
+    }
+
+    public static Header readHeader(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            return readHeader(in);
+        }
+    }
+
+    public static List<Transaction> read(Path path) throws IOException {
+        try (InputStream file = Files.newInputStream(path)) {
+            // 헤더는 BufferedInputStream 없이 읽어 GZIP 본문 시작 위치를 지킴
+            Header header = readHeader(new DataInputStream(file));
+            DataInputStream body = new DataInputStream(new BufferedInputStream(new GZIPInputStream(file)));
+            return readColumns(body, header);
+        }
+    }
+
+    private static Header header(List<Transaction> rows) {
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        String minAccountId = null;
+        String maxAccountId = null;
+        Set<String> accountIds = new HashSet<>();
+        for (Transaction row : rows) {
+            accountIds.add(row.getAccountId());
+            minId = Math.min(minId, row.getId());
+            maxId = Math.max(maxId, row.getId());
+            if (minAccountId == null || row.getAccountId().compareTo(minAccountId) < 0) {
+                minAccountId = row.getAccountId();
+            }
+            if (maxAccountId == null || row.getAccountId().compareTo(maxAccountId) > 0) {
+                maxAccountId = row.getAccountId();
+            }
+        }
+        return new Header(VERSION, rows.size(), minId, maxId,
+                rows.get(0).getCreatedAt(), rows.get(rows.size() - 1).getCreatedAt(), minAccountId, maxAccountId,
+                AccountFilter.of(accountIds));
+    }
+
+    private static void writeHeader(DataOutputStream out, Header header) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(header.rowCount());
+        out.writeLong(header.minId());
+        out.writeLong(header.maxId());
+        out.writeLong(epochSecond(header.minCreatedAt()));
+        out.writeLong(epochSecond(header.maxCreatedAt()));
+        out.writeUTF(header.minAccountId());
+        out.writeUTF(header.maxAccountId());
+        long[] bits = header.accountFilter().bits;
+        out.writeInt(bits.length);
+        for (long word : bits) {
+            out.writeLong(word);
+        }
+    }
+
+    private static Header readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a transaction archive file");
+        }
+        int version = in.readInt();
+        if (version != VERSION && version != VERSION_ORDINAL_TYPE) {
+            throw new IOException("Unsupported transaction archive version: " + version);
+        }
+        int rowCount = in.readInt();
+        long minId = in.readLong();
+        long maxId = in.readLong();
+        LocalDateTime minCreatedAt = localDateTime(in.readLong());
+        LocalDateTime maxCreatedAt = localDateTime(in.readLong());
+        String minAccountId = in.readUTF();
+        String maxAccountId = in.readUTF();
+
+        AccountFilter accountFilter = null;
+        if (version != VERSION_ORDINAL_TYPE) {
+            long[] bits = new long[in.readInt()];
+            for (int i = 0; i < bits.length; i++) {
+                bits[i] = in.readLong();
+            }
+            accountFilter = new AccountFilter(bits);
+        }
+        return new Header(version, rowCount, minId, maxId, minCreatedAt, maxCreatedAt, minAccountId, maxAccountId, accountFilter);
+    }
+
+    private static void writeColumns(DataOutputStream out, List<Transaction> rows) throws IOException {
+        long previousId = 0;
+        for (Transaction row : rows) {
+            out.writeLong(row.getId() - previousId);
+            previousId = row.getId();
+        }
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> accountIds = new ArrayList<>();
+        for (Transaction row : rows) {
+            if (dictionary.putIfAbsent(row.getAccountId(), accountIds.size()) == null) {
+                accountIds.add(row.getAccountId());
+            }
+        }
+        out.writeInt(accountIds.size());
+        for (String accountId : accountIds) {
+            out.writeUTF(accountId);
+        }
+        for (Transaction row : rows) {
+            out.writeInt(dictionary.get(row.getAccountId()));
+        }
+
+        for (Transaction row : rows) {
+            out.writeLong(row.getAmount().setScale(AMOUNT_SCALE).unscaledValue().longValueExact());
+        }
+        // enum 순서가 바뀌어도 읽을 수 있도록 type 은 이름 사전으로 저장
+        Map<Transaction.TransactionType, Integer> typeDictionary = new LinkedHashMap<>();
+        for (Transaction row : rows) {
+            typeDictionary.putIfAbsent(row.getType(), typeDictionary.size());
+        }
+        out.writeByte(typeDictionary.size());
+        for (Transaction.TransactionType type : typeDictionary.keySet()) {
+            out.writeUTF(type.name());
+        }
+        for (Transaction row : rows) {
+            out.writeByte(typeDictionary.get(row.getType()));
+        }
+
+        long previousCreatedAt = 0;
+        for (Transaction row : rows) {
+            long createdAt = epochSecond(row.getCreatedAt());
+            out.writeLong(createdAt - previousCreatedAt);
+            previousCreatedAt = createdAt;
+        }
+        for (Transaction row : rows) {
+            out.writeBoolean(Boolean.TRUE.equals(row.getIsProcessed()));
+        }
+    }
+
+    private static List<Transaction> readColumns(DataInputStream in, Header header) throws IOException {
+        int rowCount = header.rowCount();
+        long[] ids = new long[rowCount];
+        long id = 0;
+        for (int i = 0; i < rowCount; i++) {
+            id += in.readLong();
+            ids[i] = id;
+        }
+
+        String[] dictionary = new String[in.readInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = in.readUTF();
+        }
+        String[] accountIds = new String[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            accountIds[i] = dictionary[in.readInt()];
+        }
+
+        BigDecimal[] amounts = new BigDecimal[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            amounts[i] = BigDecimal.valueOf(in.readLong(), AMOUNT_SCALE);
+        }
+        Transaction.TransactionType[] types = new Transaction.TransactionType[rowCount];
+        Transaction.TransactionType[] typeValues = header.version() == VERSION_ORDINAL_TYPE
+                ? Transaction.TransactionType.values()
+                : readTypeDictionary(in);
+        for (int i = 0; i < rowCount; i++) {
+            types[i] = typeValues[in.readByte()];
+        }
+
+        LocalDateTime[] createdAts = new LocalDateTime[rowCount];
+        long createdAt = 0;
+        for (int i = 0; i < rowCount; i++) {
+            createdAt += in.readLong();
+            createdAts[i] = localDateTime(createdAt);
+        }
+        boolean[] processed = new boolean[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            processed[i] = in.readBoolean();
+        }
+
+        List<Transaction> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(Transaction.builder()
+                    .id(ids[i])
+                    .accountId(accountIds[i])
+                    .amount(amounts[i])
+                    .type(types[i])
+                    .createdAt(createdAts[i])
+                    .isProcessed(processed[i])
+                    .build());
+        }
+        return rows;
+    }
+
+    private static Transaction.TransactionType[] readTypeDictionary(DataInputStream in) throws IOException {
+        Transaction.TransactionType[] types = new Transaction.TransactionType[in.readUnsignedByte()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = Transaction.TransactionType.valueOf(in.readUTF());
+        }
+        return types;
+    }
+
+    /**
+     * created_at 은 초 단위 TIMESTAMP 이므로 UTC 기준 epoch 초로 저장 (LocalDateTime 값을 그대로 보존)
+     */
+    private static long epochSecond(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime localDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
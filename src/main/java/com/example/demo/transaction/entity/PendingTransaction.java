@@ -0,0 +1,35 @@
+package com.example.demo.transaction.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 정산 대기 큐
+ *
+ * - 거래가 저장될 때 PendingTransactionListener 가 함께 등록하고, 정산되면 같은 트랜잭션에서 삭제
+ * - 정산 Reader 와 backlog 조회는 transactions 전체 대신 이 테이블만 읽으므로 비용이 누적 거래 수와 무관
+ * - account_id, created_at 은 파티션 필터와 keyset 정렬에 쓰려고 transactions 에서 복사한 값
+ */
+@Entity
+@Table(name = "pending_transactions")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingTransaction {
+
+    @Id
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "account_id", length = 50, nullable = false)
+    private String accountId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
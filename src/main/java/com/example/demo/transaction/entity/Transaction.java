@@ -1,6 +1,7 @@
 package com.example.demo.transaction.entity;
 
 import com.example.demo.account.entity.Account;
+import com.example.demo.transaction.listener.PendingTransactionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,6 +14,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "transactions")
+@EntityListeners(PendingTransactionListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -34,7 +36,7 @@ public class Transaction {
     private TransactionType type;
     
     @CreationTimestamp
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
     @Column(name = "is_processed", nullable = false)
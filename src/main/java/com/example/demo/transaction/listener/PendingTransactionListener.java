@@ -0,0 +1,33 @@
+package com.example.demo.transaction.listener;
+
+import com.example.demo.transaction.entity.Transaction;
+import com.example.demo.transaction.repository.PendingTransactionRepository;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 미처리 거래가 저장되면 같은 트랜잭션에서 정산 대기 큐에 등록하고, 거래가 삭제되면 큐에서도 제거
+ *
+ * JPA 콜백 안에서는 EntityManager 를 쓸 수 없으므로 JDBC 로 INSERT
+ * (JPA 를 거치지 않고 transactions 에 직접 INSERT 하는 경우 pending_transactions 에도 직접 등록해야 함)
+ */
+@Component
+@RequiredArgsConstructor
+public class PendingTransactionListener {
+
+    private final PendingTransactionRepository pendingTransactionRepository;
+
+    @PostPersist
+    public void enqueue(Transaction transaction) {
+        if (!Boolean.TRUE.equals(transaction.getIsProcessed())) {
+            pendingTransactionRepository.enqueue(transaction);
+        }
+    }
+
+    @PostRemove
+    public void remove(Transaction transaction) {
+        pendingTransactionRepository.remove(transaction.getId());
+    }
+}
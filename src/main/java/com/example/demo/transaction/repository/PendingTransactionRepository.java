@@ -0,0 +1,30 @@
+package com.example.demo.transaction.repository;
+
+import com.example.demo.transaction.entity.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+
+/**
+ * 정산 대기 큐(pending_transactions) 등록/삭제
+ *
+ * 정산으로 인한 삭제는 정산 결과와 같은 트랜잭션에서 SettlementJdbcRepository.markProcessed 가 배치로 수행
+ */
+@Repository
+@RequiredArgsConstructor
+public class PendingTransactionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void enqueue(Transaction transaction) {
+        jdbcTemplate.update(
+                "INSERT INTO pending_transactions (transaction_id, account_id, created_at) VALUES (?, ?, ?)",
+                transaction.getId(), transaction.getAccountId(), Timestamp.valueOf(transaction.getCreatedAt()));
+    }
+
+    public void remove(Long transactionId) {
+        jdbcTemplate.update("DELETE FROM pending_transactions WHERE transaction_id = ?", transactionId);
+    }
+}
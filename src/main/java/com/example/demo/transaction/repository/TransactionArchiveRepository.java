@@ -0,0 +1,41 @@
+package com.example.demo.transaction.repository;
+
+import com.example.demo.transaction.entity.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 보존 기간이 지난 정산 완료 거래의 조회/삭제 (콜드 아카이브용)
+ *
+ * - idx_processed_created_at (is_processed, created_at) 범위로 가장 오래된 거래부터 limit 건만 읽음
+ * - 삭제는 PK (id, created_at) 전체로 하므로 transactions 가 월 파티션이어도 해당 파티션만 잠금
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionArchiveRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Transaction> findSettledBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.query("""
+                SELECT id, account_id, amount, type, created_at, is_processed
+                FROM transactions
+                WHERE is_processed = TRUE
+                  AND created_at < ?
+                ORDER BY created_at ASC, id ASC
+                LIMIT ?
+                """, TransactionCursorRepository.TRANSACTION_ROW_MAPPER, cutoff, limit);
+    }
+
+    public void delete(List<? extends Transaction> transactions) {
+        jdbcTemplate.batchUpdate("DELETE FROM transactions WHERE id = ? AND created_at = ?", transactions, transactions.size(),
+                (ps, transaction) -> {
+                    ps.setLong(1, transaction.getId());
+                    ps.setObject(2, transaction.getCreatedAt());
+                });
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.demo.transaction.repository;
+
+import com.example.demo.transaction.entity.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 미처리 거래를 (created_at, id) keyset 으로 페이지 단위 조회
+ *
+ * - transactions 전체가 아니라 정산 대기 큐(pending_transactions)를 keyset 순서로 읽고 PK 로 거래를 가져옴
+ *   (비용이 누적 거래 수가 아니라 미처리 거래 수에 비례)
+ * - 거래는 PK (id, created_at) 전체로 조회하므로 transactions 가 월 파티션이어도 해당 파티션 하나만 읽음
+ * - OFFSET 없이 마지막으로 읽은 위치 이후만 조회하므로 백로그 크기와 무관하게 페이지 비용이 일정
+ * - JPA 영속성 컨텍스트를 거치지 않고 Account 프록시도 만들지 않는 읽기 전용 조회
+ * - partitionCount 가 2 이상이면 CRC32(account_id) % partitionCount = partitionIndex 인 계좌만 조회
+ *   (같은 계좌의 거래는 항상 같은 파티션에 배정되어 계좌 내 순서가 유지됨)
+ * - maxTransactionId 를 주면 그 ID 이하만 조회 (실행 시작 시점의 cutoff, 실행 중 들어온 거래는 다음 실행에서 정산)
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionCursorRepository {
+
+    private static final String SELECT_UNPROCESSED = """
+            SELECT t.id, t.account_id, t.amount, t.type, t.created_at, t.is_processed
+            FROM pending_transactions p
+            JOIN transactions t ON t.id = p.transaction_id AND t.created_at = p.created_at
+            WHERE t.is_processed = FALSE
+            """;
+
+    private static final String PARTITION_FILTER = """
+              AND MOD(CRC32(p.account_id), :partitionCount) = :partitionIndex
+            """;
+
+    private static final String CUTOFF_FILTER = """
+              AND p.transaction_id <= :maxTransactionId
+            """;
+
+    private static final String ORDER_AND_LIMIT = """
+            ORDER BY p.created_at ASC, p.transaction_id ASC
+            LIMIT :limit
+            """;
+
+    static final RowMapper<Transaction> TRANSACTION_ROW_MAPPER = (rs, rowNum) -> Transaction.builder()
+            .id(rs.getLong("id"))
+            .accountId(rs.getString("account_id"))
+            .amount(rs.getBigDecimal("amount"))
+            .type(Transaction.TransactionType.valueOf(rs.getString("type")))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .isProcessed(rs.getBoolean("is_processed"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 첫 페이지 조회
+     */
+    public List<Transaction> findFirstUnprocessedPage(int partitionIndex, int partitionCount, int limit) {
+        return findFirstUnprocessedPage(partitionIndex, partitionCount, limit, null);
+    }
+
+    public List<Transaction> findFirstUnprocessedPage(int partitionIndex, int partitionCount, int limit,
+                                                      Long maxTransactionId) {
+        String sql = SELECT_UNPROCESSED + partitionFilter(partitionCount) + cutoffFilter(maxTransactionId) + ORDER_AND_LIMIT;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("partitionIndex", partitionIndex)
+                .addValue("partitionCount", partitionCount)
+                .addValue("maxTransactionId", maxTransactionId)
+                .addValue("limit", limit);
+
+        return jdbcTemplate.query(sql, params, TRANSACTION_ROW_MAPPER);
+    }
+
+    /**
+     * (lastCreatedAt, lastId) 이후의 다음 페이지 조회
+     */
+    public List<Transaction> findUnprocessedPageAfter(LocalDateTime lastCreatedAt, long lastId,
+                                                      int partitionIndex, int partitionCount, int limit) {
+        return findUnprocessedPageAfter(lastCreatedAt, lastId, partitionIndex, partitionCount, limit, null);
+    }
+
+    public List<Transaction> findUnprocessedPageAfter(LocalDateTime lastCreatedAt, long lastId,
+                                                      int partitionIndex, int partitionCount, int limit,
+                                                      Long maxTransactionId) {
+        String sql = SELECT_UNPROCESSED + """
+                  AND p.created_at >= :lastCreatedAt
+                  AND (p.created_at > :lastCreatedAt OR p.transaction_id > :lastId)
+                """ + partitionFilter(partitionCount) + cutoffFilter(maxTransactionId) + ORDER_AND_LIMIT;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("lastCreatedAt", lastCreatedAt)
+                .addValue("lastId", lastId)
+                .addValue("partitionIndex", partitionIndex)
+                .addValue("partitionCount", partitionCount)
+                .addValue("maxTransactionId", maxTransactionId)
+                .addValue("limit", limit);
+
+        return jdbcTemplate.query(sql, params, TRANSACTION_ROW_MAPPER);
+    }
+
+    /**
+     * 연속 정산 모드: high-water mark (lastCreatedAt, lastId) 이후 cutoff 이전에 생성된 거래만 조회
+     *
+     * created_at 범위로 인덱스를 타므로 대기 큐 전체를 훑지 않음 (is_processed 는 다른 모드와 겹칠 때를 위한 보호 조건)
+     */
+    public List<Transaction> findUnprocessedPageBetween(LocalDateTime lastCreatedAt, long lastId,
+                                                        LocalDateTime cutoff, int limit) {
+        String sql = SELECT_UNPROCESSED + """
+                  AND p.created_at >= :lastCreatedAt
+                  AND (p.created_at > :lastCreatedAt OR p.transaction_id > :lastId)
+                  AND p.created_at < :cutoff
+                """ + ORDER_AND_LIMIT;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("lastCreatedAt", lastCreatedAt)
+                .addValue("lastId", lastId)
+                .addValue("cutoff", cutoff)
+                .addValue("limit", limit);
+
+        return jdbcTemplate.query(sql, params, TRANSACTION_ROW_MAPPER);
+    }
+
+    /**
+     * 연속 정산 sweep: (afterCreatedAt, afterId) 이후 high-water mark (markCreatedAt, markId) 까지의 미처리 거래 조회
+     *
+     * high-water mark 가 지나간 뒤 늦게 커밋된 거래나 오류로 대기 큐에 남은 거래를 다시 읽기 위한 조회
+     */
+    public List<Transaction> findUnprocessedPageBehind(LocalDateTime afterCreatedAt, long afterId,
+                                                       LocalDateTime markCreatedAt, long markId, int limit) {
+        String sql = SELECT_UNPROCESSED + """
+                  AND p.created_at >= :afterCreatedAt
+                  AND (p.created_at > :afterCreatedAt OR p.transaction_id > :afterId)
+                  AND p.created_at <= :markCreatedAt
+                  AND (p.created_at < :markCreatedAt OR p.transaction_id <= :markId)
+                """ + ORDER_AND_LIMIT;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterCreatedAt", afterCreatedAt)
+                .addValue("afterId", afterId)
+                .addValue("markCreatedAt", markCreatedAt)
+                .addValue("markId", markId)
+                .addValue("limit", limit);
+
+        return jdbcTemplate.query(sql, params, TRANSACTION_ROW_MAPPER);
+    }
+
+    /**
+     * 오류로 남은 거래를 제외한 미정산 거래 수 (limit 건까지만 세므로 backlog 가 커져도 비용이 일정)
+     */
+    public long countUnsettled(long limit) {
+        String sql = """
+                SELECT COUNT(*)
+                FROM (SELECT 1
+                      FROM pending_transactions p
+                      WHERE NOT EXISTS (SELECT 1 FROM transaction_errors e WHERE e.transaction_id = p.transaction_id)
+                      LIMIT :limit) backlog
+                """;
+
+        Long count = jdbcTemplate.queryForObject(sql, new MapSqlParameterSource("limit", limit), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * 오류로 남은 거래를 제외한 가장 오래된 미정산 거래의 생성 시각 (없으면 null)
+     */
+    public LocalDateTime findOldestUnsettledCreatedAt() {
+        String sql = """
+                SELECT p.created_at
+                FROM pending_transactions p
+                WHERE NOT EXISTS (SELECT 1 FROM transaction_errors e WHERE e.transaction_id = p.transaction_id)
+                ORDER BY p.created_at ASC
+                LIMIT 1
+                """;
+
+        return jdbcTemplate.query(sql, new MapSqlParameterSource(),
+                (rs, rowNum) -> rs.getTimestamp("created_at").toLocalDateTime()).stream().findFirst().orElse(null);
+    }
+
+    /**
+     * 실행 시작 시점의 cutoff 로 쓸 가장 큰 거래 ID (PK 인덱스 끝만 읽음, 거래가 없으면 0)
+     */
+    public long findMaxTransactionId() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions", new MapSqlParameterSource(), Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    private String partitionFilter(int partitionCount) {
+        return partitionCount > 1 ? PARTITION_FILTER : "";
+    }
+
+    private String cutoffFilter(Long maxTransactionId) {
+        return maxTransactionId != null ? CUTOFF_FILTER : "";
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.transaction.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * transactions 월 단위 RANGE 파티션 조회/DDL
+ *
+ * - 파티션 식은 UNIX_TIMESTAMP(created_at) 이므로 경계값은 세션 타임존 기준 월 시작 시각
+ * - 파티션/테이블 이름은 DDL 에 그대로 들어가므로 영문자, 숫자, _ 만 허용
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionPartitionRepository {
+
+    public static final String MAXVALUE_PARTITION = "p_future";
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z0-9_]+");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 파티션 정보 (upperBound 가 null 이면 MAXVALUE 파티션)
+     */
+    public record TransactionPartition(String name, LocalDateTime upperBound) {
+    }
+
+    /**
+     * 파티션 순서대로 조회 (파티션되지 않은 테이블이면 빈 목록)
+     */
+    public List<TransactionPartition> findPartitions() {
+        return jdbcTemplate.query("""
+                SELECT PARTITION_NAME,
+                       IF(PARTITION_DESCRIPTION = 'MAXVALUE', NULL, FROM_UNIXTIME(PARTITION_DESCRIPTION)) AS upper_bound
+                FROM information_schema.PARTITIONS
+                WHERE TABLE_SCHEMA = DATABASE()
+                  AND TABLE_NAME = 'transactions'
+                  AND PARTITION_NAME IS NOT NULL
+                ORDER BY PARTITION_ORDINAL_POSITION
+                """, (rs, rowNum) -> new TransactionPartition(
+                rs.getString("PARTITION_NAME"), rs.getObject("upper_bound", LocalDateTime.class)));
+    }
+
+    /**
+     * 미리 만들어 둘 파티션 추가 (MAXVALUE 파티션이 있으면 비어 있는 그 파티션을 나눔)
+     */
+    public void addPartitions(List<TransactionPartition> partitions, boolean hasMaxValuePartition) {
+        String definitions = partitions.stream()
+                .map(partition -> "PARTITION %s VALUES LESS THAN (UNIX_TIMESTAMP('%s'))"
+                        .formatted(identifier(partition.name()), partition.upperBound().format(BOUND_FORMAT)))
+                .collect(Collectors.joining(", "));
+
+        if (hasMaxValuePartition) {
+            jdbcTemplate.execute("ALTER TABLE transactions REORGANIZE PARTITION " + MAXVALUE_PARTITION + " INTO ("
+                    + definitions + ", PARTITION " + MAXVALUE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+        } else {
+            jdbcTemplate.execute("ALTER TABLE transactions ADD PARTITION (" + definitions + ")");
+        }
+    }
+
+    /**
+     * 파티션에 행이 하나라도 있는지 (해당 파티션만 읽음)
+     */
+    public boolean hasRows(String partitionName) {
+        return !jdbcTemplate.queryForList(
+                "SELECT 1 FROM transactions PARTITION (" + identifier(partitionName) + ") LIMIT 1",
+                Integer.class).isEmpty();
+    }
+
+    /**
+     * 파티션에 미처리 거래가 남아 있는지 (해당 파티션만 읽음)
+     */
+    public boolean hasUnprocessed(String partitionName) {
+        return !jdbcTemplate.queryForList(
+                "SELECT 1 FROM transactions PARTITION (" + identifier(partitionName) + ") WHERE is_processed = FALSE LIMIT 1",
+                Integer.class).isEmpty();
+    }
+
+    public boolean tableExists(String tableName) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+                Integer.class, tableName);
+        return count != null && count > 0;
+    }
+
+    /**
+     * 파티션을 같은 구조의 일반 테이블로 교환한 뒤 빈 파티션 삭제
+     *
+     * EXCHANGE PARTITION 은 데이터 파일을 바꿔치기하므로 행 복사 없이 메타데이터 잠금 동안만 끝남
+     */
+    public void exchangeOut(String partitionName, String archiveTable) {
+        String partition = identifier(partitionName);
+        String archive = identifier(archiveTable);
+
+        jdbcTemplate.execute("CREATE TABLE " + archive + " LIKE transactions");
+        jdbcTemplate.execute("ALTER TABLE " + archive + " REMOVE PARTITIONING");
+        jdbcTemplate.execute("ALTER TABLE transactions EXCHANGE PARTITION " + partition + " WITH TABLE " + archive);
+        jdbcTemplate.execute("ALTER TABLE transactions DROP PARTITION " + partition);
+    }
+
+    private String identifier(String name) {
+        if (!IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid identifier: " + name);
+        }
+        return name;
+    }
+}
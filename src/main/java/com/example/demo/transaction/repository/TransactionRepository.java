@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,6 +17,10 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     
     List<Transaction> findByIsProcessed(Boolean isProcessed);
     
+    Page<Transaction> findByIsProcessed(Boolean isProcessed, Pageable pageable);
+    
+    Page<Transaction> findByAccountId(String accountId, Pageable pageable);
+    
     List<Transaction> findByAccountIdAndIsProcessed(String accountId, Boolean isProcessed);
     
     List<Transaction> findByTypeAndIsProcessed(Transaction.TransactionType type, Boolean isProcessed);
@@ -26,6 +31,21 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     @Query("SELECT COUNT(t) FROM Transaction t WHERE t.isProcessed = :isProcessed")
     Long countByIsProcessed(@Param("isProcessed") Boolean isProcessed);
     
+    /**
+     * 정산 대기 큐 크기 (transactions 를 훑지 않으므로 누적 거래 수와 무관)
+     */
+    @Query("SELECT COUNT(p) FROM PendingTransaction p")
+    Long countPending();
+    
+    /**
+     * 주어진 id 중 transactions 에 남아 있는 id (아카이브 파일과 중복된 거래를 걸러낼 때 사용)
+     */
+    @Query("SELECT t.id FROM Transaction t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * created_at 을 함수로 감싸지 않은 범위 조건이므로 월 파티션 pruning 이 적용됨 (페이지 count 쿼리 포함)
+     */
     @Query("SELECT t FROM Transaction t WHERE t.createdAt BETWEEN :startDate AND :endDate")
     Page<Transaction> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, 
                                            @Param("endDate") LocalDateTime endDate, 
@@ -1,28 +1,47 @@
 package com.example.demo.transaction.service;
 
+import com.example.demo.transaction.archive.ColdTransactionStore;
 import com.example.demo.transaction.entity.Transaction;
 import com.example.demo.transaction.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class TransactionService {
     
+    private static final Sort HISTORY_ORDER = Sort.by("createdAt", "id");
+    private static final Comparator<Transaction> HISTORY_COMPARATOR =
+            Comparator.comparing(Transaction::getCreatedAt).thenComparing(Transaction::getId);
+    private static final int DUPLICATE_CHECK_BATCH_SIZE = 1000;
+    
     private final TransactionRepository transactionRepository;
+    private final ColdTransactionStore coldTransactionStore;
     
     public List<Transaction> getAllTransactions() {
         return transactionRepository.findAll();
     }
     
+    public Page<Transaction> getAllTransactions(Pageable pageable) {
+        return transactionRepository.findAll(pageable);
+    }
+    
     public Optional<Transaction> getTransactionById(Long id) {
         return transactionRepository.findById(id);
     }
@@ -31,16 +50,41 @@ public class TransactionService {
         return transactionRepository.findByIsProcessed(false);
     }
     
+    /**
+     * 미처리 거래는 아카이브되지 않으므로 transactions 만 조회
+     */
+    public Page<Transaction> findUnprocessedTransactions(Pageable pageable) {
+        return transactionRepository.findByIsProcessed(false, pageable);
+    }
+    
     public List<Transaction> getTransactionsByAccount(String accountId) {
         return transactionRepository.findByAccountIdAndIsProcessed(accountId, false);
     }
     
+    /**
+     * 콜드 아카이브가 켜져 있으면 아카이브 파일의 거래와 병합해 조회
+     */
+    public Page<Transaction> findTransactionsByAccountId(String accountId, Pageable pageable) {
+        if (!coldTransactionStore.isEnabled()) {
+            return transactionRepository.findByAccountId(accountId, pageable);
+        }
+        return withColdRows(coldTransactionStore.findByAccountId(accountId), pageable,
+                page -> transactionRepository.findByAccountId(accountId, page));
+    }
+    
     public Long countUnprocessedTransactions() {
-        return transactionRepository.countByIsProcessed(false);
+        return transactionRepository.countPending();
     }
     
-    public Page<Transaction> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
-        return transactionRepository.findByCreatedAtBetween(startDate, endDate, pageable);
+    /**
+     * 조회 시작이 hot 구간(보존 기간) 이전이면 아카이브 파일의 거래와 병합해 조회
+     */
+    public Page<Transaction> findTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        if (!coldTransactionStore.isEnabled() || !startDate.isBefore(coldTransactionStore.hotWindowStart())) {
+            return transactionRepository.findByCreatedAtBetween(startDate, endDate, pageable);
+        }
+        return withColdRows(coldTransactionStore.findByCreatedAtBetween(startDate, endDate), pageable,
+                page -> transactionRepository.findByCreatedAtBetween(startDate, endDate, page));
     }
     
     @Transactional
@@ -52,4 +96,86 @@ public class TransactionService {
     public List<Transaction> createTransactions(List<Transaction> transactions) {
         return transactionRepository.saveAll(transactions);
     }
+    
+    /**
+     * 아카이브 거래와 transactions 거래를 (created_at, id) 순으로 병합한 목록의 한 페이지 (요청의 정렬 조건은 사용하지 않음)
+     *
+     * - 아카이브가 밀려 보존 기간보다 오래된 거래가 transactions 에 남아 있을 수 있으므로 앞뒤로 이어 붙이지 않고 병합
+     * - 파일 공개 후 삭제 커밋 전에 중단되면 같은 거래가 양쪽에 있으므로 transactions 에 남은 id 는 아카이브 쪽에서 제외
+     * - 병합 목록에서 transactions 의 i 번째 거래 위치는 i + (그보다 앞선 아카이브 거래 수) 이므로,
+     *   페이지에 들어갈 수 있는 transactions 거래는 [offset - 아카이브 거래 수, offset + size) 구간뿐
+     */
+    private Page<Transaction> withColdRows(List<Transaction> archivedRows, Pageable pageable,
+                                           Function<Pageable, Page<Transaction>> hotQuery) {
+        List<Transaction> coldRows = withoutHotDuplicates(archivedRows);
+        if (pageable.isUnpaged()) {
+            List<Transaction> hotRows = hotQuery.apply(Pageable.unpaged(HISTORY_ORDER)).getContent();
+            List<Transaction> rows = merge(coldRows, 0, hotRows, 0, 0, Integer.MAX_VALUE);
+            return new PageImpl<>(rows, pageable, rows.size());
+        }
+        
+        long offset = pageable.getOffset();
+        int size = pageable.getPageSize();
+        long hotFrom = Math.max(0, offset - coldRows.size());
+        // transactions 는 페이지 단위로만 읽을 수 있으므로 필요한 구간 길이를 페이지 크기로 잡아 두 페이지를 이어 붙임
+        int window = (int) (offset + size - hotFrom);
+        int hotPageNumber = (int) (hotFrom / window);
+        
+        Page<Transaction> hotPage = hotQuery.apply(PageRequest.of(hotPageNumber, window, HISTORY_ORDER));
+        List<Transaction> hotRows = new ArrayList<>(hotPage.getContent());
+        if (hotPage.hasNext()) {
+            hotRows.addAll(hotQuery.apply(PageRequest.of(hotPageNumber + 1, window, HISTORY_ORDER)).getContent());
+        }
+        
+        // 읽어 온 첫 transactions 거래의 병합 위치부터 시작 (첫 페이지부터 읽었으면 목록 처음부터)
+        long hotStart = (long) hotPageNumber * window;
+        int coldIndex = hotStart == 0 || hotRows.isEmpty() ? 0 : coldRowsBefore(coldRows, hotRows.get(0));
+        List<Transaction> content = merge(coldRows, coldIndex, hotRows, hotStart == 0 ? 0 : hotStart + coldIndex, offset, size);
+        
+        return new PageImpl<>(content, pageable, coldRows.size() + hotPage.getTotalElements());
+    }
+    
+    private List<Transaction> withoutHotDuplicates(List<Transaction> coldRows) {
+        Set<Long> hotIds = new HashSet<>();
+        List<Long> ids = coldRows.stream().map(Transaction::getId).toList();
+        for (int from = 0; from < ids.size(); from += DUPLICATE_CHECK_BATCH_SIZE) {
+            hotIds.addAll(transactionRepository.findExistingIds(ids.subList(from, Math.min(ids.size(), from + DUPLICATE_CHECK_BATCH_SIZE))));
+        }
+        if (hotIds.isEmpty()) {
+            return coldRows;
+        }
+        return coldRows.stream().filter(transaction -> !hotIds.contains(transaction.getId())).toList();
+    }
+    
+    private int coldRowsBefore(List<Transaction> coldRows, Transaction hotRow) {
+        int low = 0;
+        int high = coldRows.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (HISTORY_COMPARATOR.compare(coldRows.get(middle), hotRow) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * 두 정렬된 목록을 병합하며 병합 위치 offset 부터 size 건을 반환 (position 은 coldIndex/hotRows 첫 거래 중 앞선 것의 병합 위치)
+     */
+    private List<Transaction> merge(List<Transaction> coldRows, int coldIndex, List<Transaction> hotRows,
+                                    long position, long offset, int size) {
+        List<Transaction> content = new ArrayList<>();
+        int hotIndex = 0;
+        while (content.size() < size && (coldIndex < coldRows.size() || hotIndex < hotRows.size())) {
+            boolean takeHot = coldIndex >= coldRows.size() || (hotIndex < hotRows.size()
+                    && HISTORY_COMPARATOR.compare(hotRows.get(hotIndex), coldRows.get(coldIndex)) < 0);
+            Transaction next = takeHot ? hotRows.get(hotIndex++) : coldRows.get(coldIndex++);
+            if (position++ >= offset) {
+                content.add(next);
+            }
+        }
+        return content;
+    }
 }
@@ -43,3 +43,9 @@ INSERT INTO transactions (account_id, amount, type, created_at, is_processed) VA
 ('ACC000018', 2800.00, 'WITHDRAWAL', '2024-01-16 15:45:00', FALSE),
 ('ACC000019', 1600.00, 'DEPOSIT', '2024-01-16 16:30:00', FALSE),
 ('ACC000020', 3200.00, 'WITHDRAWAL', '2024-01-16 17:00:00', FALSE);
+
+-- 미처리 거래를 정산 대기 큐에 등록 (기존 데이터 이관 포함, 이미 등록된 거래는 건너뜀)
+INSERT IGNORE INTO pending_transactions (transaction_id, account_id, created_at)
+SELECT id, account_id, created_at
+FROM transactions
+WHERE is_processed = FALSE;
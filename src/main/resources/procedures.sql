@@ -1,9 +1,11 @@
 -- Stored Procedure: SP_SETTLE_ACCOUNTS
+-- p_max_transaction_id 이하 거래만 정산 (호출 시점에 고정한 cutoff, 실행 중에 들어온 거래는 다음 실행에서 정산)
+-- 정산 이력은 cutoff 와 함께 SettlementHistoryService 가 기록 (SET/SHARD 변형과 동일)
 DELIMITER $$
 
 DROP PROCEDURE IF EXISTS SP_SETTLE_ACCOUNTS$$
 
-CREATE PROCEDURE SP_SETTLE_ACCOUNTS(OUT processed_count INT, OUT error_count INT)
+CREATE PROCEDURE SP_SETTLE_ACCOUNTS(IN p_max_transaction_id BIGINT, OUT processed_count INT, OUT error_count INT)
 BEGIN
     DECLARE done INT DEFAULT FALSE;
     DECLARE v_transaction_id BIGINT;
@@ -12,16 +14,17 @@ BEGIN
     DECLARE v_type VARCHAR(20);
     DECLARE v_current_balance DECIMAL(15,2);
     DECLARE v_account_type VARCHAR(20);
+    DECLARE v_fee DECIMAL(15,2);
     DECLARE v_processed_count INT DEFAULT 0;
     DECLARE v_error_count INT DEFAULT 0;
-    DECLARE v_settlement_date DATE DEFAULT CURDATE();
     
     -- 커서 선언
     DECLARE transaction_cursor CURSOR FOR
         SELECT id, account_id, amount, type
         FROM transactions
         WHERE is_processed = FALSE
-        ORDER BY created_at ASC;
+          AND id <= p_max_transaction_id
+        ORDER BY created_at ASC, id ASC;
     
     -- 예외 처리 핸들러
     DECLARE CONTINUE HANDLER FOR NOT FOUND SET done = TRUE;
@@ -45,11 +48,17 @@ BEGIN
             LEAVE read_loop;
         END IF;
         
-        -- 계좌 정보 조회
+        -- 계좌 정보 조회 (이전 거래의 값이 남지 않도록 초기화)
+        SET v_current_balance = NULL;
+        SET v_account_type = NULL;
+        
         SELECT balance, account_type INTO v_current_balance, v_account_type
         FROM accounts
         WHERE id = v_account_id AND status = 'ACTIVE';
         
+        -- SELECT INTO 결과가 없을 때 NOT FOUND 핸들러가 done 을 설정하므로 되돌림
+        SET done = FALSE;
+        
         -- 계좌가 존재하지 않거나 비활성화된 경우
         IF v_current_balance IS NULL THEN
             INSERT INTO transaction_errors (transaction_id, error_code, error_message)
@@ -72,8 +81,124 @@ BEGIN
             
         ELSEIF v_type = 'WITHDRAWAL' THEN
             -- 출금 처리
-            DECLARE v_fee DECIMAL(15,2) DEFAULT 0;
+            -- PREMIUM 계좌는 1% 수수료
+            IF v_account_type = 'PREMIUM' THEN
+                SET v_fee = v_amount * 0.01;
+                SET v_amount = v_amount + v_fee;
+            END IF;
+            
+            -- 잔고 확인
+            IF v_current_balance < v_amount THEN
+                INSERT INTO transaction_errors (transaction_id, error_code, error_message)
+                VALUES (v_transaction_id, 'INSUFFICIENT_FUNDS', 
+                        CONCAT('Insufficient funds. Required: ', v_amount, ', Available: ', v_current_balance));
+                SET v_error_count = v_error_count + 1;
+                ITERATE read_loop;
+            END IF;
+            
+            UPDATE accounts 
+            SET balance = balance - v_amount, updated_at = CURRENT_TIMESTAMP
+            WHERE id = v_account_id;
+        END IF;
+        
+        -- 거래 처리 완료 표시
+        UPDATE transactions 
+        SET is_processed = TRUE 
+        WHERE id = v_transaction_id;
+        DELETE FROM pending_transactions WHERE transaction_id = v_transaction_id;
+        
+        SET v_processed_count = v_processed_count + 1;
+        
+    END LOOP;
+    
+    -- 커서 닫기
+    CLOSE transaction_cursor;
+    
+    -- 트랜잭션 커밋
+    COMMIT;
+    
+    -- 결과 반환
+    SET processed_count = v_processed_count;
+    SET error_count = v_error_count;
+    
+END$$
+
+DELIMITER ;
+
+-- Stored Procedure: SP_SETTLE_ACCOUNTS_CHUNK
+-- Spring Batch chunk 로 전달된 거래 ID 목록(JSON 배열)만 정산
+-- 트랜잭션 경계는 호출한 chunk 트랜잭션을 따르며, 정산 이력은 Job 종료 시 한 번만 기록함
+DELIMITER $$
+
+DROP PROCEDURE IF EXISTS SP_SETTLE_ACCOUNTS_CHUNK$$
+
+CREATE PROCEDURE SP_SETTLE_ACCOUNTS_CHUNK(IN p_transaction_ids JSON, OUT processed_count INT, OUT error_count INT)
+BEGIN
+    DECLARE done INT DEFAULT FALSE;
+    DECLARE v_transaction_id BIGINT;
+    DECLARE v_account_id VARCHAR(50);
+    DECLARE v_amount DECIMAL(15,2);
+    DECLARE v_type VARCHAR(20);
+    DECLARE v_current_balance DECIMAL(15,2);
+    DECLARE v_account_type VARCHAR(20);
+    DECLARE v_fee DECIMAL(15,2);
+    DECLARE v_processed_count INT DEFAULT 0;
+    DECLARE v_error_count INT DEFAULT 0;
+    
+    -- 커서 선언: 전달받은 ID 중 아직 처리되지 않은 거래만 (재실행 시에도 중복 정산되지 않음)
+    DECLARE transaction_cursor CURSOR FOR
+        SELECT t.id, t.account_id, t.amount, t.type
+        FROM JSON_TABLE(p_transaction_ids, '$[*]' COLUMNS (id BIGINT PATH '$')) AS ids
+        JOIN transactions t ON t.id = ids.id
+        WHERE t.is_processed = FALSE
+        ORDER BY t.created_at ASC, t.id ASC;
+    
+    -- 예외 처리 핸들러 (SQLEXCEPTION 은 호출자에게 전파되어 chunk 트랜잭션이 롤백됨)
+    DECLARE CONTINUE HANDLER FOR NOT FOUND SET done = TRUE;
+    
+    -- 커서 열기
+    OPEN transaction_cursor;
+    
+    -- 커서 루프
+    read_loop: LOOP
+        FETCH transaction_cursor INTO v_transaction_id, v_account_id, v_amount, v_type;
+        
+        IF done THEN
+            LEAVE read_loop;
+        END IF;
+        
+        -- 계좌 정보 조회 (이전 거래의 값이 남지 않도록 초기화)
+        SET v_current_balance = NULL;
+        SET v_account_type = NULL;
+        
+        SELECT balance, account_type INTO v_current_balance, v_account_type
+        FROM accounts
+        WHERE id = v_account_id AND status = 'ACTIVE'
+        FOR UPDATE;
+        
+        -- SELECT INTO 결과가 없을 때 NOT FOUND 핸들러가 done 을 설정하므로 되돌림
+        SET done = FALSE;
+        
+        -- 계좌가 존재하지 않거나 비활성화된 경우
+        IF v_current_balance IS NULL THEN
+            INSERT INTO transaction_errors (transaction_id, error_code, error_message)
+            VALUES (v_transaction_id, 'ACCOUNT_NOT_FOUND', 'Account not found or inactive');
+            SET v_error_count = v_error_count + 1;
+            ITERATE read_loop;
+        END IF;
+        
+        -- 거래 처리
+        IF v_type = 'DEPOSIT' THEN
+            -- BASIC 계좌는 0.5% 보너스 추가
+            IF v_account_type = 'BASIC' THEN
+                SET v_amount = v_amount * 1.005;
+            END IF;
+            
+            UPDATE accounts 
+            SET balance = balance + v_amount, updated_at = CURRENT_TIMESTAMP
+            WHERE id = v_account_id;
             
+        ELSEIF v_type = 'WITHDRAWAL' THEN
             -- PREMIUM 계좌는 1% 수수료
             IF v_account_type = 'PREMIUM' THEN
                 SET v_fee = v_amount * 0.01;
@@ -98,6 +223,7 @@ BEGIN
         UPDATE transactions 
         SET is_processed = TRUE 
         WHERE id = v_transaction_id;
+        DELETE FROM pending_transactions WHERE transaction_id = v_transaction_id;
         
         SET v_processed_count = v_processed_count + 1;
         
@@ -106,10 +232,364 @@ BEGIN
     -- 커서 닫기
     CLOSE transaction_cursor;
     
-    -- 정산 이력 기록
-    INSERT INTO settlement_history (settlement_date, processed_count, error_count, status)
-    VALUES (v_settlement_date, v_processed_count, v_error_count, 
-            CASE WHEN v_error_count = 0 THEN 'SUCCESS' ELSE 'FAIL' END);
+    -- 결과 반환
+    SET processed_count = v_processed_count;
+    SET error_count = v_error_count;
+    
+END$$
+
+DELIMITER ;
+
+-- Stored Procedure: SP_SETTLE_ACCOUNTS_SET
+-- SP_SETTLE_ACCOUNTS 와 같은 규칙을 커서 없이 집합 연산으로 처리
+-- 1) 미처리 거래를 계좌별 (created_at, id) 순번(ROW_NUMBER)과 증감액(보너스/수수료 반올림 포함)으로 임시 테이블에 적재
+-- 2) 계좌별 누적 잔고를 윈도 함수 SUM() OVER 로 한 번에 계산해 잔고가 음수가 되는 첫 출금을 실패로 확정
+--    실패한 출금은 잔고에 반영하지 않으므로 그 뒤 잔고가 달라짐 -> 실패가 나온 계좌만 실패 거래를 빼고 다시 계산
+--    (보너스/수수료는 거래마다 미리 반올림되므로 누적합과 같지만, 잔고 부족 판정은 앞선 실패에 따라 달라져 누적합 한 번으로 끝나지 않음)
+--    문장 수는 계좌별 거래 수가 아니라 계좌별 잔고 부족 출금 수 + 1 에 비례 (한 계좌에 거래가 10만 건이어도 실패가 없으면 한 번)
+--    한 번 계산할 때마다 해당 계좌의 거래 전체를 다시 읽으므로 실패가 많은 계좌는 (실패 수 x 거래 수) 만큼 읽음
+--    반복 횟수는 @sp_settle_accounts_set_rounds 세션 변수로 확인할 수 있음
+-- 3) 계좌별 순증감을 UPDATE ... JOIN 한 번, 오류를 INSERT ... SELECT 한 번, 처리 완료를 UPDATE 한 번으로 반영
+-- p_max_transaction_id 이하 거래만 정산하고, 정산 이력은 호출한 쪽(SettlementHistoryService)에서 기록함
+DELIMITER $$
+
+DROP PROCEDURE IF EXISTS SP_SETTLE_ACCOUNTS_SET$$
+
+CREATE PROCEDURE SP_SETTLE_ACCOUNTS_SET(IN p_max_transaction_id BIGINT, OUT processed_count INT, OUT error_count INT)
+BEGIN
+    DECLARE v_processed_count INT DEFAULT 0;
+    DECLARE v_error_count INT DEFAULT 0;
+    DECLARE v_failures INT DEFAULT 0;
+    DECLARE v_rounds INT DEFAULT 0;
+    DECLARE v_locked_accounts INT DEFAULT 0;
+    
+    -- 예외 처리 핸들러
+    DECLARE CONTINUE HANDLER FOR SQLEXCEPTION
+    BEGIN
+        ROLLBACK;
+        RESIGNAL;
+    END;
+    
+    -- 계좌별 순번을 매긴 정산 대상 거래 (delta: 입금 +, 출금 -, failed: 잔고 부족으로 확정된 출금, available: 그때의 잔고)
+    DROP TEMPORARY TABLE IF EXISTS tmp_settlement_queue;
+    CREATE TEMPORARY TABLE tmp_settlement_queue (
+        transaction_id BIGINT PRIMARY KEY,
+        account_id VARCHAR(50) NOT NULL,
+        rn INT NOT NULL,
+        delta DECIMAL(16,2) NOT NULL,
+        failed BOOLEAN NOT NULL DEFAULT FALSE,
+        available DECIMAL(17,2) NULL,
+        KEY idx_tmp_settlement_queue_account (account_id, rn)
+    );
+    
+    -- 계좌별 시작 잔고 (dirty: 누적 잔고를 다시 계산할 계좌)
+    DROP TEMPORARY TABLE IF EXISTS tmp_account_balance;
+    CREATE TEMPORARY TABLE tmp_account_balance (
+        account_id VARCHAR(50) PRIMARY KEY,
+        balance DECIMAL(16,2) NOT NULL,
+        dirty BOOLEAN NOT NULL DEFAULT TRUE
+    );
+    
+    -- 다시 계산할 계좌의 거래별 누적 잔고
+    DROP TEMPORARY TABLE IF EXISTS tmp_running_balance;
+    CREATE TEMPORARY TABLE tmp_running_balance (
+        transaction_id BIGINT PRIMARY KEY,
+        account_id VARCHAR(50) NOT NULL,
+        rn INT NOT NULL,
+        delta DECIMAL(16,2) NOT NULL,
+        balance_after DECIMAL(17,2) NOT NULL
+    );
+    
+    -- 이번 계산에서 확정된 계좌별 첫 잔고 부족 출금
+    DROP TEMPORARY TABLE IF EXISTS tmp_first_failure;
+    CREATE TEMPORARY TABLE tmp_first_failure (
+        account_id VARCHAR(50) PRIMARY KEY,
+        rn INT NOT NULL
+    );
+    
+    -- 거래별 정산 결과 (delta 가 NULL 이면 오류)
+    DROP TEMPORARY TABLE IF EXISTS tmp_settlement_result;
+    CREATE TEMPORARY TABLE tmp_settlement_result (
+        transaction_id BIGINT PRIMARY KEY,
+        account_id VARCHAR(50) NOT NULL,
+        delta DECIMAL(16,2) NULL,
+        error_code VARCHAR(50) NULL,
+        error_message VARCHAR(500) NULL
+    );
+    
+    -- 트랜잭션 시작
+    START TRANSACTION;
+    
+    -- 정산 대상 계좌 행 잠금 (커밋까지 다른 트랜잭션의 잔고 변경 차단)
+    SELECT COUNT(*) INTO v_locked_accounts
+    FROM accounts a
+    JOIN (
+        SELECT DISTINCT account_id
+        FROM transactions
+        WHERE is_processed = FALSE
+          AND id <= p_max_transaction_id
+    ) t ON t.account_id = a.id
+    WHERE a.status = 'ACTIVE'
+    FOR UPDATE OF a;
+    
+    -- 잠근 계좌의 잔고 적재
+    INSERT INTO tmp_account_balance (account_id, balance)
+    SELECT a.id, a.balance
+    FROM accounts a
+    JOIN (
+        SELECT DISTINCT account_id
+        FROM transactions
+        WHERE is_processed = FALSE
+          AND id <= p_max_transaction_id
+    ) t ON t.account_id = a.id
+    WHERE a.status = 'ACTIVE';
+    
+    -- 계좌가 존재하지 않거나 비활성화된 거래
+    INSERT INTO tmp_settlement_result (transaction_id, account_id, delta, error_code, error_message)
+    SELECT t.id, t.account_id, NULL, 'ACCOUNT_NOT_FOUND', 'Account not found or inactive'
+    FROM transactions t
+    LEFT JOIN accounts a ON a.id = t.account_id AND a.status = 'ACTIVE'
+    WHERE t.is_processed = FALSE
+      AND t.id <= p_max_transaction_id
+      AND a.id IS NULL;
+    
+    -- 계좌별 순번 적재
+    INSERT INTO tmp_settlement_queue (transaction_id, account_id, rn, delta)
+    SELECT t.id,
+           t.account_id,
+           ROW_NUMBER() OVER (PARTITION BY t.account_id ORDER BY t.created_at, t.id),
+           -- BASIC 입금 보너스, PREMIUM 출금 수수료는 DECIMAL(15,2) 로 반올림
+           CASE
+               WHEN t.type = 'DEPOSIT' AND a.account_type = 'BASIC'
+                   THEN CAST(t.amount * 1.005 AS DECIMAL(15,2))
+               WHEN t.type = 'DEPOSIT'
+                   THEN t.amount
+               WHEN a.account_type = 'PREMIUM'
+                   THEN -(t.amount + CAST(t.amount * 0.01 AS DECIMAL(15,2)))
+               ELSE -t.amount
+           END
+    FROM transactions t
+    JOIN accounts a ON a.id = t.account_id AND a.status = 'ACTIVE'
+    WHERE t.is_processed = FALSE
+      AND t.id <= p_max_transaction_id;
+    
+    -- 누적 잔고가 음수가 되는 첫 출금은 (앞선 거래가 모두 성공했으므로) 확실히 실패
+    -- 실패를 빼고 그 계좌만 다시 계산해 새 실패가 없을 때까지 반복
+    REPEAT
+        DELETE FROM tmp_running_balance;
+        INSERT INTO tmp_running_balance (transaction_id, account_id, rn, delta, balance_after)
+        SELECT q.transaction_id,
+               q.account_id,
+               q.rn,
+               q.delta,
+               b.balance + SUM(q.delta) OVER (PARTITION BY q.account_id ORDER BY q.rn ROWS UNBOUNDED PRECEDING)
+        FROM tmp_settlement_queue q
+        JOIN tmp_account_balance b ON b.account_id = q.account_id
+        WHERE b.dirty = TRUE
+          AND q.failed = FALSE;
+        
+        DELETE FROM tmp_first_failure;
+        INSERT INTO tmp_first_failure (account_id, rn)
+        SELECT account_id, MIN(rn)
+        FROM tmp_running_balance
+        WHERE delta < 0
+          AND balance_after < 0
+        GROUP BY account_id;
+        
+        SET v_failures = ROW_COUNT();
+        SET v_rounds = v_rounds + 1;
+        
+        UPDATE tmp_settlement_queue q
+        JOIN tmp_first_failure f ON f.account_id = q.account_id AND f.rn = q.rn
+        JOIN tmp_running_balance r ON r.transaction_id = q.transaction_id
+        SET q.failed = TRUE,
+            q.available = r.balance_after - r.delta;
+        
+        UPDATE tmp_account_balance b
+        LEFT JOIN tmp_first_failure f ON f.account_id = b.account_id
+        SET b.dirty = (f.account_id IS NOT NULL);
+    UNTIL v_failures = 0 END REPEAT;
+    
+    SET @sp_settle_accounts_set_rounds = v_rounds;
+    
+    -- 거래별 정산 결과 (실패한 출금은 잔고 부족 오류)
+    INSERT INTO tmp_settlement_result (transaction_id, account_id, delta, error_code, error_message)
+    SELECT transaction_id,
+           account_id,
+           IF(failed, NULL, delta),
+           IF(failed, 'INSUFFICIENT_FUNDS', NULL),
+           IF(failed, CONCAT('Insufficient funds. Required: ', CAST(-delta AS DECIMAL(15,2)),
+                             ', Available: ', CAST(available AS DECIMAL(15,2))), NULL)
+    FROM tmp_settlement_queue;
+    
+    -- 계좌별 순증감을 한 번에 반영
+    UPDATE accounts a
+    JOIN (
+        SELECT account_id, SUM(delta) AS net_delta
+        FROM tmp_settlement_result
+        WHERE delta IS NOT NULL
+        GROUP BY account_id
+    ) d ON d.account_id = a.id
+    SET a.balance = a.balance + d.net_delta,
+        a.updated_at = CURRENT_TIMESTAMP;
+    
+    -- 오류 일괄 기록
+    INSERT INTO transaction_errors (transaction_id, error_code, error_message)
+    SELECT transaction_id, error_code, error_message
+    FROM tmp_settlement_result
+    WHERE error_code IS NOT NULL
+    ORDER BY transaction_id;
+    
+    SET v_error_count = ROW_COUNT();
+    
+    -- 거래 처리 완료 일괄 표시
+    UPDATE transactions t
+    JOIN tmp_settlement_result s ON s.transaction_id = t.id
+    SET t.is_processed = TRUE
+    WHERE s.delta IS NOT NULL;
+    
+    SET v_processed_count = ROW_COUNT();
+    
+    -- 정산 대기 큐에서 제거
+    DELETE p
+    FROM pending_transactions p
+    JOIN tmp_settlement_result s ON s.transaction_id = p.transaction_id
+    WHERE s.delta IS NOT NULL;
+    
+    -- 트랜잭션 커밋
+    COMMIT;
+    
+    DROP TEMPORARY TABLE IF EXISTS tmp_settlement_queue;
+    DROP TEMPORARY TABLE IF EXISTS tmp_account_balance;
+    DROP TEMPORARY TABLE IF EXISTS tmp_running_balance;
+    DROP TEMPORARY TABLE IF EXISTS tmp_first_failure;
+    DROP TEMPORARY TABLE IF EXISTS tmp_settlement_result;
+    
+    -- 결과 반환
+    SET processed_count = v_processed_count;
+    SET error_count = v_error_count;
+    
+END$$
+
+DELIMITER ;
+
+-- Stored Procedure: SP_SETTLE_ACCOUNTS_SHARD
+-- account_id 해시(CRC32) 기준 shard 하나의 미처리 거래만 정산
+-- shard 마다 별도 커넥션에서 병렬로 호출되며, 정산 이력은 호출한 쪽에서 전체 합계로 한 번만 기록함
+-- 모든 shard 에 같은 p_max_transaction_id 를 넘겨 호출 시점에 고정한 cutoff 이하 거래만 정산
+DELIMITER $$
+
+DROP PROCEDURE IF EXISTS SP_SETTLE_ACCOUNTS_SHARD$$
+
+CREATE PROCEDURE SP_SETTLE_ACCOUNTS_SHARD(IN p_shard_index INT, IN p_shard_count INT, IN p_max_transaction_id BIGINT,
+                                          OUT processed_count INT, OUT error_count INT)
+BEGIN
+    DECLARE done INT DEFAULT FALSE;
+    DECLARE v_transaction_id BIGINT;
+    DECLARE v_account_id VARCHAR(50);
+    DECLARE v_amount DECIMAL(15,2);
+    DECLARE v_type VARCHAR(20);
+    DECLARE v_current_balance DECIMAL(15,2);
+    DECLARE v_account_type VARCHAR(20);
+    DECLARE v_fee DECIMAL(15,2);
+    DECLARE v_processed_count INT DEFAULT 0;
+    DECLARE v_error_count INT DEFAULT 0;
+    
+    -- 커서 선언: 이 shard 에 속한 계좌의 미처리 거래만
+    DECLARE transaction_cursor CURSOR FOR
+        SELECT id, account_id, amount, type
+        FROM transactions
+        WHERE is_processed = FALSE
+          AND id <= p_max_transaction_id
+          AND MOD(CRC32(account_id), p_shard_count) = p_shard_index
+        ORDER BY created_at ASC, id ASC;
+    
+    -- 예외 처리 핸들러
+    DECLARE CONTINUE HANDLER FOR NOT FOUND SET done = TRUE;
+    DECLARE CONTINUE HANDLER FOR SQLEXCEPTION
+    BEGIN
+        ROLLBACK;
+        RESIGNAL;
+    END;
+    
+    -- 트랜잭션 시작 (shard 단위로 커밋)
+    START TRANSACTION;
+    
+    -- 커서 열기
+    OPEN transaction_cursor;
+    
+    -- 커서 루프
+    read_loop: LOOP
+        FETCH transaction_cursor INTO v_transaction_id, v_account_id, v_amount, v_type;
+        
+        IF done THEN
+            LEAVE read_loop;
+        END IF;
+        
+        -- 계좌 정보 조회 (이전 거래의 값이 남지 않도록 초기화)
+        SET v_current_balance = NULL;
+        SET v_account_type = NULL;
+        
+        SELECT balance, account_type INTO v_current_balance, v_account_type
+        FROM accounts
+        WHERE id = v_account_id AND status = 'ACTIVE'
+        FOR UPDATE;
+        
+        -- SELECT INTO 결과가 없을 때 NOT FOUND 핸들러가 done 을 설정하므로 되돌림
+        SET done = FALSE;
+        
+        -- 계좌가 존재하지 않거나 비활성화된 경우
+        IF v_current_balance IS NULL THEN
+            INSERT INTO transaction_errors (transaction_id, error_code, error_message)
+            VALUES (v_transaction_id, 'ACCOUNT_NOT_FOUND', 'Account not found or inactive');
+            SET v_error_count = v_error_count + 1;
+            ITERATE read_loop;
+        END IF;
+        
+        -- 거래 처리
+        IF v_type = 'DEPOSIT' THEN
+            -- BASIC 계좌는 0.5% 보너스 추가
+            IF v_account_type = 'BASIC' THEN
+                SET v_amount = v_amount * 1.005;
+            END IF;
+            
+            UPDATE accounts 
+            SET balance = balance + v_amount, updated_at = CURRENT_TIMESTAMP
+            WHERE id = v_account_id;
+            
+        ELSEIF v_type = 'WITHDRAWAL' THEN
+            -- PREMIUM 계좌는 1% 수수료
+            IF v_account_type = 'PREMIUM' THEN
+                SET v_fee = v_amount * 0.01;
+                SET v_amount = v_amount + v_fee;
+            END IF;
+            
+            -- 잔고 확인
+            IF v_current_balance < v_amount THEN
+                INSERT INTO transaction_errors (transaction_id, error_code, error_message)
+                VALUES (v_transaction_id, 'INSUFFICIENT_FUNDS', 
+                        CONCAT('Insufficient funds. Required: ', v_amount, ', Available: ', v_current_balance));
+                SET v_error_count = v_error_count + 1;
+                ITERATE read_loop;
+            END IF;
+            
+            UPDATE accounts 
+            SET balance = balance - v_amount, updated_at = CURRENT_TIMESTAMP
+            WHERE id = v_account_id;
+        END IF;
+        
+        -- 거래 처리 완료 표시
+        UPDATE transactions 
+        SET is_processed = TRUE 
+        WHERE id = v_transaction_id;
+        DELETE FROM pending_transactions WHERE transaction_id = v_transaction_id;
+        
+        SET v_processed_count = v_processed_count + 1;
+        
+    END LOOP;
+    
+    -- 커서 닫기
+    CLOSE transaction_cursor;
     
     -- 트랜잭션 커밋
     COMMIT;
@@ -10,17 +10,71 @@ CREATE TABLE IF NOT EXISTS accounts (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
--- 거래 테이블
+-- 거래 테이블 (created_at 월 단위 RANGE 파티션, 다음 달 파티션은 TransactionPartitionMaintenance 가 미리 생성)
+-- 아래 월 파티션은 이 스키마를 작성한 달(2026-10)까지만 정의하고, 이후 달은 애플리케이션 시작 시와 매일 파티션 관리가 생성
+-- (생성이 밀려 p_future 에 행이 들어가면 파티션 관리가 REORGANIZE 로 행을 옮겨 나눔)
+-- CREATE TABLE IF NOT EXISTS 이므로 기존의 파티션되지 않은 transactions 는 바꾸지 않음 (별도 마이그레이션 필요)
+-- 파티션 키는 모든 unique key 에 포함되어야 하므로 PK 는 (id, created_at)
 CREATE TABLE IF NOT EXISTS transactions (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT AUTO_INCREMENT,
     account_id VARCHAR(50) NOT NULL,
     amount DECIMAL(15,2) NOT NULL,
     type VARCHAR(20) NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     is_processed BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id, created_at),
     INDEX idx_account_id (account_id),
     INDEX idx_is_processed (is_processed),
-    INDEX idx_created_at (created_at)
+    INDEX idx_created_at (created_at),
+    -- 정산 Reader 의 keyset 조회용 (InnoDB 보조 인덱스에는 PK(id)가 포함됨)
+    INDEX idx_processed_created_at (is_processed, created_at)
+)
+PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION p_history VALUES LESS THAN (UNIX_TIMESTAMP('2024-01-01 00:00:00')),
+    PARTITION p202401 VALUES LESS THAN (UNIX_TIMESTAMP('2024-02-01 00:00:00')),
+    PARTITION p202402 VALUES LESS THAN (UNIX_TIMESTAMP('2024-03-01 00:00:00')),
+    PARTITION p202403 VALUES LESS THAN (UNIX_TIMESTAMP('2024-04-01 00:00:00')),
+    PARTITION p202404 VALUES LESS THAN (UNIX_TIMESTAMP('2024-05-01 00:00:00')),
+    PARTITION p202405 VALUES LESS THAN (UNIX_TIMESTAMP('2024-06-01 00:00:00')),
+    PARTITION p202406 VALUES LESS THAN (UNIX_TIMESTAMP('2024-07-01 00:00:00')),
+    PARTITION p202407 VALUES LESS THAN (UNIX_TIMESTAMP('2024-08-01 00:00:00')),
+    PARTITION p202408 VALUES LESS THAN (UNIX_TIMESTAMP('2024-09-01 00:00:00')),
+    PARTITION p202409 VALUES LESS THAN (UNIX_TIMESTAMP('2024-10-01 00:00:00')),
+    PARTITION p202410 VALUES LESS THAN (UNIX_TIMESTAMP('2024-11-01 00:00:00')),
+    PARTITION p202411 VALUES LESS THAN (UNIX_TIMESTAMP('2024-12-01 00:00:00')),
+    PARTITION p202412 VALUES LESS THAN (UNIX_TIMESTAMP('2025-01-01 00:00:00')),
+    PARTITION p202501 VALUES LESS THAN (UNIX_TIMESTAMP('2025-02-01 00:00:00')),
+    PARTITION p202502 VALUES LESS THAN (UNIX_TIMESTAMP('2025-03-01 00:00:00')),
+    PARTITION p202503 VALUES LESS THAN (UNIX_TIMESTAMP('2025-04-01 00:00:00')),
+    PARTITION p202504 VALUES LESS THAN (UNIX_TIMESTAMP('2025-05-01 00:00:00')),
+    PARTITION p202505 VALUES LESS THAN (UNIX_TIMESTAMP('2025-06-01 00:00:00')),
+    PARTITION p202506 VALUES LESS THAN (UNIX_TIMESTAMP('2025-07-01 00:00:00')),
+    PARTITION p202507 VALUES LESS THAN (UNIX_TIMESTAMP('2025-08-01 00:00:00')),
+    PARTITION p202508 VALUES LESS THAN (UNIX_TIMESTAMP('2025-09-01 00:00:00')),
+    PARTITION p202509 VALUES LESS THAN (UNIX_TIMESTAMP('2025-10-01 00:00:00')),
+    PARTITION p202510 VALUES LESS THAN (UNIX_TIMESTAMP('2025-11-01 00:00:00')),
+    PARTITION p202511 VALUES LESS THAN (UNIX_TIMESTAMP('2025-12-01 00:00:00')),
+    PARTITION p202512 VALUES LESS THAN (UNIX_TIMESTAMP('2026-01-01 00:00:00')),
+    PARTITION p202601 VALUES LESS THAN (UNIX_TIMESTAMP('2026-02-01 00:00:00')),
+    PARTITION p202602 VALUES LESS THAN (UNIX_TIMESTAMP('2026-03-01 00:00:00')),
+    PARTITION p202603 VALUES LESS THAN (UNIX_TIMESTAMP('2026-04-01 00:00:00')),
+    PARTITION p202604 VALUES LESS THAN (UNIX_TIMESTAMP('2026-05-01 00:00:00')),
+    PARTITION p202605 VALUES LESS THAN (UNIX_TIMESTAMP('2026-06-01 00:00:00')),
+    PARTITION p202606 VALUES LESS THAN (UNIX_TIMESTAMP('2026-07-01 00:00:00')),
+    PARTITION p202607 VALUES LESS THAN (UNIX_TIMESTAMP('2026-08-01 00:00:00')),
+    PARTITION p202608 VALUES LESS THAN (UNIX_TIMESTAMP('2026-09-01 00:00:00')),
+    PARTITION p202609 VALUES LESS THAN (UNIX_TIMESTAMP('2026-10-01 00:00:00')),
+    PARTITION p202610 VALUES LESS THAN (UNIX_TIMESTAMP('2026-11-01 00:00:00')),
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+-- 정산 대기 큐 테이블 (미처리 거래만 보관, 정산되면 삭제되므로 크기가 backlog 에 비례)
+CREATE TABLE IF NOT EXISTS pending_transactions (
+    transaction_id BIGINT PRIMARY KEY,
+    account_id VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    -- 정산 Reader 의 keyset 조회용
+    INDEX idx_pending_created_at (created_at, transaction_id)
 );
 
 -- 정산 이력 테이블
@@ -30,8 +84,13 @@ CREATE TABLE IF NOT EXISTS settlement_history (
     processed_count INT NOT NULL,
     error_count INT NOT NULL,
     status VARCHAR(20) NOT NULL,
+    cutoff_transaction_id BIGINT NULL, -- 실행 시작 시점의 MAX(transactions.id) (이 ID 이하만 정산)
+    source VARCHAR(20) NOT NULL DEFAULT 'RUN', -- RUN: 실행마다 한 건, CONTINUOUS: 연속 정산이 하루 한 건에 누적
+    -- 연속 정산 누적 행은 하루 한 건만 허용 (RUN 행은 NULL 이므로 제약 없음)
+    continuous_date DATE AS (IF(source = 'CONTINUOUS', settlement_date, NULL)) STORED,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    INDEX idx_settlement_date (settlement_date)
+    INDEX idx_settlement_date (settlement_date),
+    UNIQUE KEY uk_settlement_history_continuous (continuous_date)
 );
 
 -- 거래 오류 테이블
@@ -43,3 +102,43 @@ CREATE TABLE IF NOT EXISTS transaction_errors (
     logged_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     INDEX idx_transaction_id (transaction_id)
 );
+
+-- 정산 체크포인트 테이블 (run 별 마지막으로 커밋된 거래의 keyset, fencing_token 은 마지막으로 기록한 잠금 보유자의 토큰)
+CREATE TABLE IF NOT EXISTS settlement_checkpoint (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    run_key VARCHAR(100) NOT NULL,
+    partition_index INT NOT NULL,
+    last_created_at TIMESTAMP NOT NULL,
+    last_transaction_id BIGINT NOT NULL,
+    fencing_token BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_settlement_checkpoint_run (job_name, run_key, partition_index)
+);
+
+-- 작업 큐 모드 버킷 테이블 (여러 노드가 SKIP LOCKED 로 account_id 해시 버킷을 나눠 정산)
+CREATE TABLE IF NOT EXISTS settlement_work_bucket (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    run_key VARCHAR(100) NOT NULL,
+    bucket_index INT NOT NULL,
+    bucket_count INT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    claimed_by VARCHAR(100),
+    lease_until TIMESTAMP NULL,
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    error_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_settlement_work_bucket_run (run_key, bucket_index)
+);
+
+-- 정산 실행 잠금 테이블 (클러스터 전체에서 정산 한 건만 실행, fencing_token 은 획득할 때마다 증가)
+CREATE TABLE IF NOT EXISTS settlement_lock (
+    lock_name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(100),
+    fencing_token BIGINT NOT NULL DEFAULT 0,
+    lease_until TIMESTAMP NULL,
+    pending_run BOOLEAN NOT NULL DEFAULT FALSE,
+    pending_trigger VARCHAR(100),
+    pending_params VARCHAR(255),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
@@ -0,0 +1,158 @@
+package com.example.demo.batch.archive;
+
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.transaction.archive.ColdTransactionStore;
+import com.example.demo.transaction.repository.TransactionPartitionRepository;
+import com.example.demo.transaction.repository.TransactionPartitionRepository.TransactionPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPartitionMaintenanceTest {
+
+    @Mock
+    private TransactionPartitionRepository transactionPartitionRepository;
+
+    @Mock
+    private ColdTransactionStore coldTransactionStore;
+
+    private SettlementProperties properties;
+    private TransactionPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SettlementProperties();
+        properties.getTransactionPartition().setEnabled(true);
+        properties.getTransactionPartition().setMonthsAhead(2);
+        properties.getTransactionPartition().setRetainMonths(3);
+        maintenance = new TransactionPartitionMaintenance(transactionPartitionRepository, coldTransactionStore, properties);
+    }
+
+    @Test
+    void testSplitsFuturePartitionUpToMonthsAhead() {
+        // Given - 2024-03 까지 파티션이 있고 지금은 2024-03
+        when(transactionPartitionRepository.findPartitions()).thenReturn(List.of(
+                partition("p202402", "2024-03-01T00:00"),
+                partition("p202403", "2024-04-01T00:00"),
+                new TransactionPartition(TransactionPartitionRepository.MAXVALUE_PARTITION, null)));
+
+        // When
+        TransactionPartitionMaintenance.Result result = maintenance.run(YearMonth.of(2024, 3));
+
+        // Then - 2024-04, 2024-05 파티션을 p_future 를 나눠 생성
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TransactionPartition>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionPartitionRepository).addPartitions(captor.capture(), eq(true));
+        assertThat(captor.getValue()).containsExactly(
+                partition("p202404", "2024-05-01T00:00"),
+                partition("p202405", "2024-06-01T00:00"));
+        assertThat(result.createdPartitions()).containsExactly("p202404", "p202405");
+        assertThat(result.archivedPartitions()).isEmpty();
+    }
+
+    @Test
+    void testReorganizesNonEmptyFuturePartitionWithRowMovement() {
+        // Given - 파티션 생성이 밀려 2024-03 거래가 p_future 에 들어가 있음
+        when(transactionPartitionRepository.findPartitions()).thenReturn(List.of(
+                partition("p202401", "2024-02-01T00:00"),
+                new TransactionPartition(TransactionPartitionRepository.MAXVALUE_PARTITION, null)));
+        when(transactionPartitionRepository.hasRows(TransactionPartitionRepository.MAXVALUE_PARTITION)).thenReturn(true);
+
+        // When
+        TransactionPartitionMaintenance.Result result = maintenance.run(YearMonth.of(2024, 3));
+
+        // Then - 포기하지 않고 p_future 를 나눠 행을 해당 월 파티션으로 옮김
+        verify(transactionPartitionRepository).addPartitions(anyList(), eq(true));
+        assertThat(result.createdPartitions()).containsExactly("p202402", "p202403", "p202404", "p202405");
+    }
+
+    @Test
+    void testCreatesPartitionsButDoesNotArchiveWhenDisabled() {
+        // Given - 분리(enabled)는 꺼져 있고 보관 기간이 지난 파티션이 있음
+        properties.getTransactionPartition().setEnabled(false);
+        when(transactionPartitionRepository.findPartitions()).thenReturn(List.of(
+                partition("p202312", "2024-01-01T00:00"),
+                new TransactionPartition(TransactionPartitionRepository.MAXVALUE_PARTITION, null)));
+
+        // When
+        TransactionPartitionMaintenance.Result result = maintenance.run(YearMonth.of(2024, 1));
+
+        // Then
+        assertThat(result.createdPartitions()).containsExactly("p202401", "p202402", "p202403");
+        verify(transactionPartitionRepository, never()).exchangeOut(anyString(), anyString());
+    }
+
+    @Test
+    void testArchivesOnlyExpiredAndFullyProcessedPartitions() {
+        // Given - 보관 기간(3개월)이 지난 파티션 2개 중 하나는 미처리 거래가 남아 있음
+        when(transactionPartitionRepository.findPartitions()).thenReturn(List.of(
+                partition("p202312", "2024-01-01T00:00"),
+                partition("p202401", "2024-02-01T00:00"),
+                partition("p202402", "2024-03-01T00:00"),
+                partition("p202407", "2024-08-01T00:00")));
+        when(transactionPartitionRepository.hasUnprocessed("p202312")).thenReturn(true);
+        when(transactionPartitionRepository.hasUnprocessed("p202401")).thenReturn(false);
+
+        // When
+        TransactionPartitionMaintenance.Result result = maintenance.run(YearMonth.of(2024, 5));
+
+        // Then - 2024-02 이전 파티션 중 모두 정산된 것만 분리, 미리 만들 파티션은 없음
+        verify(transactionPartitionRepository).exchangeOut("p202401", "transactions_archive_p202401");
+        verify(transactionPartitionRepository, never()).exchangeOut(eq("p202312"), anyString());
+        verify(transactionPartitionRepository, never()).addPartitions(anyList(), anyBoolean());
+        assertThat(result.archivedPartitions()).containsExactly("p202401");
+    }
+
+    @Test
+    void testKeepsPartitionsNewerThanColdArchiveRetention() {
+        // Given - retainMonths(3) 기준으로는 만료지만 콜드 아카이브 retention 이 2024-01-20 이전까지만 파일로 옮김
+        when(transactionPartitionRepository.findPartitions()).thenReturn(List.of(
+                partition("p202312", "2024-01-01T00:00"),
+                partition("p202401", "2024-02-01T00:00"),
+                partition("p202407", "2024-08-01T00:00")));
+        when(coldTransactionStore.isEnabled()).thenReturn(true);
+        when(coldTransactionStore.hotWindowStart()).thenReturn(LocalDateTime.parse("2024-01-20T00:00"));
+        when(transactionPartitionRepository.hasUnprocessed("p202312")).thenReturn(false);
+
+        // When
+        TransactionPartitionMaintenance.Result result = maintenance.run(YearMonth.of(2024, 5));
+
+        // Then - 아직 아카이브 파일로 옮기지 않은 행이 있는 p202401 은 남김
+        verify(transactionPartitionRepository, never()).exchangeOut(eq("p202401"), anyString());
+        assertThat(result.archivedPartitions()).containsExactly("p202312");
+    }
+
+    @Test
+    void testSkipsUnpartitionedTable() {
+        // Given
+        when(transactionPartitionRepository.findPartitions()).thenReturn(List.of());
+
+        // When
+        TransactionPartitionMaintenance.Result result = maintenance.run(YearMonth.of(2024, 4));
+
+        // Then
+        assertThat(result.createdPartitions()).isEmpty();
+        verify(transactionPartitionRepository, never()).addPartitions(anyList(), anyBoolean());
+    }
+
+    private TransactionPartition partition(String name, String upperBound) {
+        return new TransactionPartition(name, LocalDateTime.parse(upperBound));
+    }
+}
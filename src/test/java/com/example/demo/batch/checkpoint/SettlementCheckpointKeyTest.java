@@ -0,0 +1,44 @@
+package com.example.demo.batch.checkpoint;
+
+import com.example.demo.batch.job.SettlementRunParameters;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SettlementCheckpointKeyTest {
+
+    private static final LocalDate SETTLEMENT_DATE = LocalDate.of(2024, 1, 15);
+
+    @Test
+    void testDateOnlyRunUsesSettlementDateAsRunKey() {
+        // Given
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(new JobParametersBuilder()
+                .addLocalDate(SettlementCheckpointKey.SETTLEMENT_DATE, SETTLEMENT_DATE)
+                .toJobParameters());
+
+        // When & Then
+        assertThat(SettlementCheckpointKey.of(stepExecution).runKey()).isEqualTo("2024-01-15");
+    }
+
+    @Test
+    void testRunsWithTimeDoNotShareCheckpoint() {
+        // Given - 같은 정산일의 후속/트리거 실행
+        StepExecution first = MetaDataInstanceFactory.createStepExecution(new JobParametersBuilder()
+                .addLocalDate(SettlementCheckpointKey.SETTLEMENT_DATE, SETTLEMENT_DATE)
+                .addLong(SettlementRunParameters.RUN_TIME, 1000L)
+                .toJobParameters());
+        StepExecution second = MetaDataInstanceFactory.createStepExecution(new JobParametersBuilder()
+                .addLocalDate(SettlementCheckpointKey.SETTLEMENT_DATE, SETTLEMENT_DATE)
+                .addLong(SettlementRunParameters.RUN_TIME, 2000L)
+                .toJobParameters());
+
+        // When & Then
+        assertThat(SettlementCheckpointKey.of(first).runKey()).isEqualTo("2024-01-15-1000");
+        assertThat(SettlementCheckpointKey.of(first)).isNotEqualTo(SettlementCheckpointKey.of(second));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.demo.batch.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DbConcurrencyLimitingTransactionManagerTest {
+
+    @Test
+    void testLimitsOpenTransactionsButNotWorkers() throws Exception {
+        // Given - 가상 스레드 worker 64개, permit 4개
+        DbConcurrencyLimitingTransactionManager transactionManager =
+                new DbConcurrencyLimitingTransactionManager(new StubTransactionManager(), 4);
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("test-worker-");
+        executor.setVirtualThreads(true);
+
+        AtomicInteger workersStarted = new AtomicInteger();
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        CountDownLatch allStarted = new CountDownLatch(64);
+        CountDownLatch done = new CountDownLatch(64);
+
+        // When - 모든 worker 가 시작된 뒤에 chunk 트랜잭션을 실행
+        for (int i = 0; i < 64; i++) {
+            executor.execute(() -> {
+                workersStarted.incrementAndGet();
+                allStarted.countDown();
+                try {
+                    allStarted.await();
+                    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                        maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+                        sleep();
+                        open.decrementAndGet();
+                    });
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        // Then - worker 는 모두 동시에 시작되지만 열린 트랜잭션은 permit 수를 넘지 않음
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(workersStarted.get()).isEqualTo(64);
+        assertThat(maxOpen.get()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void testReleasesPermitOnRollbackAndFailedBegin() {
+        // Given
+        StubTransactionManager delegate = new StubTransactionManager();
+        DbConcurrencyLimitingTransactionManager transactionManager = new DbConcurrencyLimitingTransactionManager(delegate, 1);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // When - 롤백된 chunk, 시작에 실패한 트랜잭션
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            throw new IllegalStateException("chunk failed");
+        })).isInstanceOf(IllegalStateException.class);
+        delegate.failBegin = true;
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> { }))
+                .isInstanceOf(CannotCreateTransactionException.class);
+        delegate.failBegin = false;
+
+        // Then - permit 이 반환되어 다음 트랜잭션이 실행됨
+        AtomicInteger executed = new AtomicInteger();
+        transactionTemplate.executeWithoutResult(status -> executed.incrementAndGet());
+        assertThat(executed.get()).isEqualTo(1);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class StubTransactionManager implements PlatformTransactionManager {
+
+        private volatile boolean failBegin;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            if (failBegin) {
+                throw new CannotCreateTransactionException("no connection");
+            }
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
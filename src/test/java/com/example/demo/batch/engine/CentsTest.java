@@ -0,0 +1,172 @@
+package com.example.demo.batch.engine;
+
+import com.example.demo.account.entity.Account;
+import com.example.demo.transaction.entity.Transaction;
+import com.example.demo.transaction.entity.TransactionError;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * long 최소 단위 연산이 프로시저의 DECIMAL(15,2) 연산과 같은 결과를 내는지 무작위 금액으로 검증
+ */
+class CentsTest {
+
+    private static final BigDecimal BASIC_DEPOSIT_RATE = new BigDecimal("1.005");
+    private static final BigDecimal PREMIUM_WITHDRAWAL_FEE_RATE = new BigDecimal("0.01");
+    private static final long MAX_DECIMAL_15_2_CENTS = 999_999_999_999_999L;
+
+    private final Random random = new Random(20240115L);
+
+    @Test
+    void testConversionRoundTrip() {
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal amount = randomAmount();
+
+            assertThat(Cents.toBigDecimal(Cents.of(amount))).isEqualTo(amount);
+        }
+    }
+
+    @Test
+    void testConversionRoundsExtraScaleHalfUp() {
+        assertThat(Cents.of(new BigDecimal("10.005"))).isEqualTo(1001L);
+        assertThat(Cents.of(new BigDecimal("10.004"))).isEqualTo(1000L);
+        assertThat(Cents.of(new BigDecimal("-10.005"))).isEqualTo(-1001L);
+        assertThat(Cents.of(new BigDecimal("7.5"))).isEqualTo(750L);
+        assertThat(Cents.of(new BigDecimal("12"))).isEqualTo(1200L);
+    }
+
+    @Test
+    void testBasicDepositBonusMatchesDecimal() {
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal amount = randomAmount();
+            BigDecimal expected = amount.multiply(BASIC_DEPOSIT_RATE).setScale(2, RoundingMode.HALF_UP);
+
+            assertThat(Cents.withBasicDepositBonus(Cents.of(amount))).isEqualTo(Cents.of(expected));
+        }
+    }
+
+    @Test
+    void testPremiumFeeMatchesDecimal() {
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal amount = randomAmount();
+            BigDecimal expected = amount.multiply(PREMIUM_WITHDRAWAL_FEE_RATE).setScale(2, RoundingMode.HALF_UP);
+
+            assertThat(Cents.premiumWithdrawalFee(Cents.of(amount))).isEqualTo(Cents.of(expected));
+        }
+    }
+
+    @Test
+    void testHalfBoundaries() {
+        // 0.5 경계: 10.10 * 1.005 = 10.1505, 0.50 * 0.01 = 0.005, 1.50 * 0.01 = 0.015
+        assertThat(Cents.withBasicDepositBonus(1010L)).isEqualTo(1015L);
+        assertThat(Cents.premiumWithdrawalFee(50L)).isEqualTo(1L);
+        assertThat(Cents.premiumWithdrawalFee(150L)).isEqualTo(2L);
+        assertThat(Cents.premiumWithdrawalFee(49L)).isEqualTo(0L);
+        assertThat(Cents.withBasicDepositBonus(MAX_DECIMAL_15_2_CENTS))
+                .isEqualTo(Cents.of(Cents.toBigDecimal(MAX_DECIMAL_15_2_CENTS)
+                        .multiply(BASIC_DEPOSIT_RATE).setScale(2, RoundingMode.HALF_UP)));
+    }
+
+    @Test
+    void testEngineMatchesDecimalReference() {
+        // Given - 무작위 계좌/거래 chunk
+        for (int round = 0; round < 200; round++) {
+            Map<String, SettlementAccount> accounts = new HashMap<>();
+            for (int i = 0; i < 10; i++) {
+                String id = "ACC" + i;
+                accounts.put(id, new SettlementAccount(id, randomAmount(10_000_000L),
+                        i % 3 == 0 ? Account.AccountType.PREMIUM : Account.AccountType.BASIC));
+            }
+
+            List<Transaction> transactions = new ArrayList<>();
+            for (long id = 1; id <= 500; id++) {
+                transactions.add(Transaction.builder()
+                        .id(id)
+                        .accountId("ACC" + random.nextInt(11)) // ACC10 은 존재하지 않는 계좌
+                        .amount(randomAmount(5_000_000L))
+                        .type(random.nextBoolean() ? Transaction.TransactionType.DEPOSIT : Transaction.TransactionType.WITHDRAWAL)
+                        .createdAt(LocalDateTime.now())
+                        .isProcessed(false)
+                        .build());
+            }
+
+            // When
+            ChunkSettlement actual = new SettlementEngine().settle(transactions, accounts);
+            DecimalReference expected = settleWithDecimal(transactions, accounts);
+
+            // Then
+            assertThat(actual.getProcessedTransactionIds()).isEqualTo(expected.processedIds);
+            assertThat(actual.getErrors()).extracting(TransactionError::getErrorMessage).isEqualTo(expected.errorMessages);
+            Map<String, BigDecimal> actualDeltas = new LinkedHashMap<>();
+            actual.getBalanceUpdates().forEach(update -> actualDeltas.put(update.getAccountId(), update.getDelta()));
+            assertThat(actualDeltas).isEqualTo(expected.netDeltas);
+        }
+    }
+
+    private BigDecimal randomAmount() {
+        return randomAmount(MAX_DECIMAL_15_2_CENTS);
+    }
+
+    private BigDecimal randomAmount(long maxCents) {
+        return BigDecimal.valueOf(1 + (long) (random.nextDouble() * (maxCents - 1)), 2);
+    }
+
+    /**
+     * SP_SETTLE_ACCOUNTS 를 BigDecimal 로 그대로 옮긴 기준 구현
+     */
+    private DecimalReference settleWithDecimal(List<Transaction> transactions, Map<String, SettlementAccount> accounts) {
+        DecimalReference reference = new DecimalReference();
+        Map<String, BigDecimal> balances = new HashMap<>();
+
+        for (Transaction transaction : transactions) {
+            SettlementAccount account = accounts.get(transaction.getAccountId());
+            if (account == null) {
+                reference.errorMessages.add("Account not found or inactive");
+                continue;
+            }
+
+            BigDecimal balance = balances.getOrDefault(account.getId(), account.getBalance());
+            BigDecimal amount = transaction.getAmount();
+            BigDecimal delta;
+            if (transaction.getType() == Transaction.TransactionType.DEPOSIT) {
+                if (account.getAccountType() == Account.AccountType.BASIC) {
+                    amount = amount.multiply(BASIC_DEPOSIT_RATE).setScale(2, RoundingMode.HALF_UP);
+                }
+                delta = amount;
+            } else {
+                if (account.getAccountType() == Account.AccountType.PREMIUM) {
+                    amount = amount.add(amount.multiply(PREMIUM_WITHDRAWAL_FEE_RATE).setScale(2, RoundingMode.HALF_UP));
+                }
+                if (balance.compareTo(amount) < 0) {
+                    reference.errorMessages.add("Insufficient funds. Required: " + amount.toPlainString()
+                            + ", Available: " + balance.toPlainString());
+                    continue;
+                }
+                delta = amount.negate();
+            }
+
+            balances.put(account.getId(), balance.add(delta));
+            reference.netDeltas.merge(account.getId(), delta, BigDecimal::add);
+            reference.processedIds.add(transaction.getId());
+        }
+
+        return reference;
+    }
+
+    private static class DecimalReference {
+        private final List<Long> processedIds = new ArrayList<>();
+        private final List<String> errorMessages = new ArrayList<>();
+        private final Map<String, BigDecimal> netDeltas = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.demo.batch.engine;
+
+import com.example.demo.account.entity.Account;
+import com.example.demo.transaction.entity.Transaction;
+import com.example.demo.transaction.entity.TransactionError;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SettlementEngineTest {
+
+    private final SettlementEngine settlementEngine = new SettlementEngine();
+
+    @Test
+    void testBasicDepositBonus() {
+        // Given - BASIC 계좌 입금 1000.00 → 0.5% 보너스
+        Map<String, SettlementAccount> accounts = Map.of("BASIC001", account("BASIC001", "10000.00", Account.AccountType.BASIC));
+
+        // When
+        ChunkSettlement result = settlementEngine.settle(
+                List.of(transaction(1L, "BASIC001", "1000.00", Transaction.TransactionType.DEPOSIT)), accounts);
+
+        // Then
+        assertThat(result.getProcessedTransactionIds()).containsExactly(1L);
+        assertThat(result.getBalanceUpdates()).hasSize(1);
+        assertThat(result.getBalanceUpdates().get(0).getDelta()).isEqualByComparingTo("1005.00");
+    }
+
+    @Test
+    void testDepositBonusIsRoundedLikeDecimal() {
+        // Given - 10.10 * 1.005 = 10.1505 → DECIMAL(15,2) 반올림 10.15
+        Map<String, SettlementAccount> accounts = Map.of("BASIC001", account("BASIC001", "0.00", Account.AccountType.BASIC));
+
+        // When
+        ChunkSettlement result = settlementEngine.settle(
+                List.of(transaction(1L, "BASIC001", "10.10", Transaction.TransactionType.DEPOSIT)), accounts);
+
+        // Then
+        assertThat(result.getBalanceUpdates().get(0).getDelta()).isEqualByComparingTo("10.15");
+    }
+
+    @Test
+    void testPremiumWithdrawalFee() {
+        // Given - PREMIUM 계좌 출금 2000.00 → 1% 수수료 20.00
+        Map<String, SettlementAccount> accounts = Map.of("PREMIUM001", account("PREMIUM001", "50000.00", Account.AccountType.PREMIUM));
+
+        // When
+        ChunkSettlement result = settlementEngine.settle(
+                List.of(transaction(1L, "PREMIUM001", "2000.00", Transaction.TransactionType.WITHDRAWAL)), accounts);
+
+        // Then
+        assertThat(result.getProcessedTransactionIds()).containsExactly(1L);
+        assertThat(result.getBalanceUpdates().get(0).getDelta()).isEqualByComparingTo("-2020.00");
+    }
+
+    @Test
+    void testInsufficientFundsUsesRunningBalance() {
+        // Given - 잔고 1000.00 에서 600.00 출금 두 번 → 두 번째는 잔고 부족
+        Map<String, SettlementAccount> accounts = Map.of("BASIC001", account("BASIC001", "1000.00", Account.AccountType.BASIC));
+
+        // When
+        ChunkSettlement result = settlementEngine.settle(List.of(
+                transaction(1L, "BASIC001", "600.00", Transaction.TransactionType.WITHDRAWAL),
+                transaction(2L, "BASIC001", "600.00", Transaction.TransactionType.WITHDRAWAL)), accounts);
+
+        // Then
+        assertThat(result.getProcessedTransactionIds()).containsExactly(1L);
+        assertThat(result.getErrors()).hasSize(1);
+        TransactionError error = result.getErrors().get(0);
+        assertThat(error.getTransactionId()).isEqualTo(2L);
+        assertThat(error.getErrorCode()).isEqualTo(SettlementEngine.INSUFFICIENT_FUNDS);
+        assertThat(error.getErrorMessage()).isEqualTo("Insufficient funds. Required: 600.00, Available: 400.00");
+    }
+
+    @Test
+    void testCoalescesDeltasPerAccount() {
+        // Given - 같은 계좌 거래 3건 + 다른 계좌 거래 1건
+        Map<String, SettlementAccount> accounts = Map.of(
+                "BASIC001", account("BASIC001", "1000.00", Account.AccountType.BASIC),
+                "PREMIUM001", account("PREMIUM001", "5000.00", Account.AccountType.PREMIUM));
+
+        // When
+        ChunkSettlement result = settlementEngine.settle(List.of(
+                transaction(1L, "BASIC001", "1000.00", Transaction.TransactionType.DEPOSIT),
+                transaction(2L, "PREMIUM001", "100.00", Transaction.TransactionType.WITHDRAWAL),
+                transaction(3L, "BASIC001", "1500.00", Transaction.TransactionType.WITHDRAWAL),
+                transaction(4L, "BASIC001", "200.00", Transaction.TransactionType.DEPOSIT)), accounts);
+
+        // Then - 계좌당 UPDATE 1건: BASIC001 = +1005.00 - 1500.00 + 201.00, PREMIUM001 = -101.00
+        assertThat(result.getProcessedTransactionIds()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(result.getBalanceUpdates()).hasSize(2);
+        assertThat(result.getBalanceUpdates().get(0).getAccountId()).isEqualTo("BASIC001");
+        assertThat(result.getBalanceUpdates().get(0).getDelta()).isEqualByComparingTo("-294.00");
+        assertThat(result.getBalanceUpdates().get(1).getAccountId()).isEqualTo("PREMIUM001");
+        assertThat(result.getBalanceUpdates().get(1).getDelta()).isEqualByComparingTo("-101.00");
+    }
+
+    @Test
+    void testFailedTransactionIsExcludedFromNetDelta() {
+        // Given - 잔고 부족 출금은 순증감에서 제외되고 이후 거래는 계속 처리
+        Map<String, SettlementAccount> accounts = Map.of("BASIC001", account("BASIC001", "100.00", Account.AccountType.BASIC));
+
+        // When
+        ChunkSettlement result = settlementEngine.settle(List.of(
+                transaction(1L, "BASIC001", "500.00", Transaction.TransactionType.WITHDRAWAL),
+                transaction(2L, "BASIC001", "50.00", Transaction.TransactionType.WITHDRAWAL)), accounts);
+
+        // Then
+        assertThat(result.getProcessedTransactionIds()).containsExactly(2L);
+        assertThat(result.getErrors()).extracting(TransactionError::getTransactionId).containsExactly(1L);
+        assertThat(result.getBalanceUpdates()).hasSize(1);
+        assertThat(result.getBalanceUpdates().get(0).getDelta()).isEqualByComparingTo("-50.00");
+    }
+
+    @Test
+    void testMissingAccount() {
+        // When
+        ChunkSettlement result = settlementEngine.settle(
+                List.of(transaction(1L, "UNKNOWN", "100.00", Transaction.TransactionType.DEPOSIT)), Map.of());
+
+        // Then
+        assertThat(result.getProcessedTransactionIds()).isEmpty();
+        assertThat(result.getBalanceUpdates()).isEmpty();
+        assertThat(result.getErrors()).extracting(TransactionError::getErrorCode)
+                .containsExactly(SettlementEngine.ACCOUNT_NOT_FOUND);
+    }
+
+    private SettlementAccount account(String id, String balance, Account.AccountType accountType) {
+        return new SettlementAccount(id, new BigDecimal(balance), accountType);
+    }
+
+    private Transaction transaction(Long id, String accountId, String amount, Transaction.TransactionType type) {
+        return Transaction.builder()
+                .id(id)
+                .accountId(accountId)
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .createdAt(LocalDateTime.now())
+                .isProcessed(false)
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.batch.job;
+
+import com.example.demo.batch.checkpoint.SettlementCheckpointKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SettlementRunParametersTest {
+
+    private static final LocalDate SETTLEMENT_DATE = LocalDate.of(2024, 1, 15);
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private Job job;
+
+    private SettlementRunParameters settlementRunParameters;
+
+    @BeforeEach
+    void setUp() {
+        settlementRunParameters = new SettlementRunParameters(jobRepository);
+        when(job.getName()).thenReturn("settlementJob");
+    }
+
+    @Test
+    void testFirstRunOfTheDayUsesSettlementDateOnly() {
+        // Given
+        when(jobRepository.getLastJobExecution(eq("settlementJob"), any(JobParameters.class))).thenReturn(null);
+
+        // When
+        JobParameters jobParameters = settlementRunParameters.forSettlementDate(job, SETTLEMENT_DATE).toJobParameters();
+
+        // Then
+        assertThat(jobParameters.getLocalDate(SettlementCheckpointKey.SETTLEMENT_DATE)).isEqualTo(SETTLEMENT_DATE);
+        assertThat(jobParameters.getParameters()).doesNotContainKey(SettlementRunParameters.RUN_TIME);
+    }
+
+    @Test
+    void testFailedRunIsRestartedWithSameParameters() {
+        // Given
+        when(jobRepository.getLastJobExecution(eq("settlementJob"), any(JobParameters.class)))
+                .thenReturn(execution(BatchStatus.FAILED));
+
+        // When
+        JobParameters jobParameters = settlementRunParameters.forSettlementDate(job, SETTLEMENT_DATE).toJobParameters();
+
+        // Then
+        assertThat(jobParameters.getParameters()).doesNotContainKey(SettlementRunParameters.RUN_TIME);
+    }
+
+    @Test
+    void testCompletedDayGetsNewJobInstance() {
+        // Given
+        when(jobRepository.getLastJobExecution(eq("settlementJob"), any(JobParameters.class)))
+                .thenReturn(execution(BatchStatus.COMPLETED));
+
+        // When
+        JobParameters jobParameters = settlementRunParameters.forSettlementDate(job, SETTLEMENT_DATE).toJobParameters();
+
+        // Then
+        assertThat(jobParameters.getParameters()).containsKey(SettlementRunParameters.RUN_TIME);
+        assertThat(settlementRunParameters.isCompleted(job, SETTLEMENT_DATE)).isTrue();
+    }
+
+    private JobExecution execution(BatchStatus status) {
+        JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution();
+        jobExecution.setStatus(status);
+        return jobExecution;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.batch.listener;
+
+import com.example.demo.transaction.entity.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SettlementMetricsListenerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SettlementMetricsListener listener = new SettlementMetricsListener("settlementStep", meterRegistry);
+
+    @Test
+    void testRecordsPhaseTimersAndWrittenItems() {
+        // Given
+        Transaction transaction = Transaction.builder().id(1L).build();
+
+        // When
+        listener.beforeRead();
+        listener.afterRead(transaction);
+        listener.beforeProcess(transaction);
+        listener.afterProcess(transaction, transaction);
+        listener.beforeWrite(new Chunk<>(List.of(transaction, transaction)));
+        listener.afterWrite(new Chunk<>(List.of(transaction, transaction)));
+
+        // Then
+        assertThat(meterRegistry.get("settlement.item.read").tag("step", "settlementStep").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("settlement.item.process").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("settlement.chunk.write").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("settlement.items.written").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void testCountsErrorsByPhase() {
+        // Given
+        Transaction transaction = Transaction.builder().id(1L).build();
+
+        // When
+        listener.beforeRead();
+        listener.onReadError(new IllegalStateException("read"));
+        listener.beforeWrite(new Chunk<>(List.of(transaction)));
+        listener.onWriteError(new IllegalStateException("write"), new Chunk<>(List.of(transaction)));
+
+        // Then
+        assertThat(meterRegistry.get("settlement.item.errors").tag("phase", "read").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("settlement.item.errors").tag("phase", "write").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("settlement.item.errors").tag("phase", "process").counter().count()).isZero();
+        // 오류로 끝난 단계는 타이머에 기록하지 않음
+        assertThat(meterRegistry.get("settlement.item.read").timer().count()).isZero();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.batch.listener;
+
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.step.AdaptiveChunkSizePolicy;
+import com.example.demo.batch.step.SettlementItemWriter;
+import com.example.demo.settlementhistory.dto.SettlementProgressEvent;
+import com.example.demo.settlementhistory.progress.SettlementProgressBroadcaster;
+import com.example.demo.transaction.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SettlementProgressListenerTest {
+
+    @Mock
+    private SettlementProgressBroadcaster settlementProgressBroadcaster;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private SettlementProgressListener listener;
+    private StepExecution stepExecution;
+
+    @BeforeEach
+    void setUp() {
+        listener = new SettlementProgressListener(settlementProgressBroadcaster, transactionRepository, new SettlementProperties());
+        stepExecution = MetaDataInstanceFactory.createStepExecution();
+        stepExecution.setStatus(BatchStatus.STARTED);
+        stepExecution.setStartTime(LocalDateTime.now().minusSeconds(10));
+    }
+
+    @Test
+    void testPublishesProgressWithEtaAfterEachChunk() {
+        // Given - 미처리 4000 건 중 10초 동안 1000 건 정산 (오류 포함)
+        when(transactionRepository.countPending()).thenReturn(4000L);
+        listener.beforeStep(stepExecution);
+        stepExecution.getExecutionContext().putLong(SettlementItemWriter.PROCESSED_COUNT, 990L);
+        stepExecution.getExecutionContext().putLong(SettlementItemWriter.ERROR_COUNT, 10L);
+        stepExecution.getExecutionContext().putInt(AdaptiveChunkSizePolicy.CHUNK_SIZE, 1500);
+
+        // When
+        listener.afterChunk(new ChunkContext(new StepContext(stepExecution)));
+
+        // Then
+        ArgumentCaptor<SettlementProgressEvent> captor = ArgumentCaptor.forClass(SettlementProgressEvent.class);
+        verify(settlementProgressBroadcaster, times(2)).publish(captor.capture());
+        SettlementProgressEvent event = captor.getValue();
+        assertThat(event.getJobExecutionId()).isEqualTo(stepExecution.getJobExecutionId());
+        assertThat(event.getProcessedCount()).isEqualTo(990L);
+        assertThat(event.getErrorCount()).isEqualTo(10L);
+        assertThat(event.getBacklog()).isEqualTo(4000L);
+        assertThat(event.getItemsPerSecond()).isBetween(90.0, 101.0);
+        assertThat(event.getEtaSeconds()).isBetween(29L, 34L);
+        assertThat(event.getChunkSize()).isEqualTo(1500);
+    }
+
+    @Test
+    void testAfterStepOnlyPublishes() {
+        // Given
+        when(transactionRepository.countPending()).thenReturn(0L);
+        listener.beforeStep(stepExecution);
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+
+        // When
+        listener.afterStep(stepExecution);
+
+        // Then - 첫 이벤트는 chunk 설정값을 크기로 사용하고, 구독은 Job 이 끝날 때까지 유지
+        ArgumentCaptor<SettlementProgressEvent> captor = ArgumentCaptor.forClass(SettlementProgressEvent.class);
+        verify(settlementProgressBroadcaster, times(2)).publish(captor.capture());
+        assertThat(captor.getAllValues().get(0).getChunkSize()).isEqualTo(1000);
+        assertThat(captor.getAllValues().get(0).getEtaSeconds()).isNull();
+        assertThat(captor.getValue().getStatus()).isEqualTo("COMPLETED");
+        verifyNoMoreInteractions(settlementProgressBroadcaster);
+    }
+
+    @Test
+    void testCompletesStreamWithJobStatusAfterJob() {
+        // Given - Step 은 끝났지만 Job 리스너에서 실패
+        JobExecution jobExecution = stepExecution.getJobExecution();
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+        stepExecution.getExecutionContext().putLong(SettlementItemWriter.PROCESSED_COUNT, 5L);
+        jobExecution.setStatus(BatchStatus.FAILED);
+
+        // When
+        listener.afterJob(jobExecution);
+
+        // Then
+        ArgumentCaptor<SettlementProgressEvent> captor = ArgumentCaptor.forClass(SettlementProgressEvent.class);
+        verify(settlementProgressBroadcaster).complete(captor.capture());
+        assertThat(captor.getValue().getJobExecutionId()).isEqualTo(jobExecution.getId());
+        assertThat(captor.getValue().getStatus()).isEqualTo("FAILED");
+        assertThat(captor.getValue().getProcessedCount()).isEqualTo(5L);
+    }
+}
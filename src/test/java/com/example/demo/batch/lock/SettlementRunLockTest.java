@@ -0,0 +1,135 @@
+package com.example.demo.batch.lock;
+
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.settlementhistory.repository.SettlementLockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SettlementRunLockTest {
+
+    @Mock
+    private SettlementLockRepository settlementLockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SettlementRunLock settlementRunLock;
+
+    @BeforeEach
+    void setUp() {
+        settlementRunLock = new SettlementRunLock(settlementLockRepository, new SettlementProperties(), transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        settlementRunLock.shutdown();
+    }
+
+    @Test
+    void testCoalescesIntoFollowUpWhileLockIsHeld() {
+        // Given - 다른 실행이 잠금 보유 중
+        when(settlementLockRepository.tryAcquire(eq(SettlementRunLock.LOCK_NAME), anyString(), any())).thenReturn(Optional.empty());
+        when(settlementLockRepository.requestFollowUp(SettlementRunLock.LOCK_NAME, "scheduled-job", null)).thenReturn(true);
+        List<SettlementRunLock.Lease> runs = new ArrayList<>();
+
+        // When
+        Optional<String> result = settlementRunLock.runExclusive("scheduled-job", lease -> {
+            runs.add(lease);
+            return "done";
+        });
+
+        // Then - 실행하지 않고 후속 실행 요청만 남김
+        assertThat(result).isEmpty();
+        assertThat(runs).isEmpty();
+        verify(settlementLockRepository).requestFollowUp(SettlementRunLock.LOCK_NAME, "scheduled-job", null);
+    }
+
+    @Test
+    void testReplaysRequesterWorkAsFollowUp() {
+        // Given - 스케줄 실행 중에 /run-batch 요청이 settlementDate 와 함께 후속 실행으로 남음
+        when(settlementLockRepository.tryAcquire(eq(SettlementRunLock.LOCK_NAME), anyString(), any()))
+                .thenReturn(Optional.of(1L), Optional.of(2L));
+        when(settlementLockRepository.release(SettlementRunLock.LOCK_NAME, 1L))
+                .thenReturn(Optional.of(new SettlementRunLock.FollowUp("run-batch", "false|2024-01-15")));
+        when(settlementLockRepository.release(SettlementRunLock.LOCK_NAME, 2L)).thenReturn(Optional.empty());
+        List<SettlementRunLock.Lease> runs = new ArrayList<>();
+        List<String> replayedParams = new ArrayList<>();
+        settlementRunLock.registerFollowUp("run-batch", (lease, params) -> {
+            runs.add(lease);
+            replayedParams.add(params);
+        });
+
+        // When
+        Optional<Long> result = settlementRunLock.runExclusive("scheduled-job", lease -> {
+            runs.add(lease);
+            return lease.fencingToken();
+        });
+
+        // Then - 보유자의 작업이 아니라 요청한 실행의 작업을 새 fencing token 으로 실행하고, 결과는 첫 실행 결과
+        assertThat(result).contains(1L);
+        assertThat(runs).extracting(SettlementRunLock.Lease::trigger).containsExactly("scheduled-job", "run-batch");
+        assertThat(runs).extracting(SettlementRunLock.Lease::fencingToken).containsExactly(1L, 2L);
+        assertThat(runs).extracting(SettlementRunLock.Lease::followUp).containsExactly(false, true);
+        assertThat(replayedParams).containsExactly("false|2024-01-15");
+    }
+
+    @Test
+    void testRequeuesFollowUpWhenAnotherRunTakesTheLock() {
+        // Given - 해제 직후 다른 노드가 잠금을 먼저 가져감
+        when(settlementLockRepository.tryAcquire(eq(SettlementRunLock.LOCK_NAME), anyString(), any()))
+                .thenReturn(Optional.of(1L), Optional.empty());
+        when(settlementLockRepository.release(SettlementRunLock.LOCK_NAME, 1L))
+                .thenReturn(Optional.of(new SettlementRunLock.FollowUp("api-procedure", null)));
+        when(settlementLockRepository.requestFollowUp(SettlementRunLock.LOCK_NAME, "api-procedure", null)).thenReturn(true);
+        List<SettlementRunLock.Lease> replays = new ArrayList<>();
+        settlementRunLock.registerFollowUp("api-procedure", (lease, params) -> replays.add(lease));
+
+        // When
+        settlementRunLock.runExclusive("scheduled-procedure", lease -> "done");
+
+        // Then - 요청을 다시 남겨 새 보유자가 끝난 뒤 실행되도록 함
+        assertThat(replays).isEmpty();
+        verify(settlementLockRepository).requestFollowUp(SettlementRunLock.LOCK_NAME, "api-procedure", null);
+    }
+
+    @Test
+    void testReleasesLockWhenWorkFails() {
+        // Given
+        when(settlementLockRepository.tryAcquire(eq(SettlementRunLock.LOCK_NAME), anyString(), any())).thenReturn(Optional.of(5L));
+
+        // When / Then
+        assertThatThrownBy(() -> settlementRunLock.runExclusive("api-procedure", lease -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        verify(settlementLockRepository).release(SettlementRunLock.LOCK_NAME, 5L);
+    }
+
+    @Test
+    void testVerifyRejectsSupersededFencingToken() {
+        // Given - 다른 노드가 만료된 잠금을 가져가 토큰이 증가함
+        when(settlementLockRepository.currentFencingToken(SettlementRunLock.LOCK_NAME)).thenReturn(8L);
+
+        // When / Then
+        assertThatThrownBy(() -> settlementRunLock.verify(7L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("superseded by 8");
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.demo.batch.step;
+
+import com.example.demo.batch.config.SettlementProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveChunkSizePolicyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SettlementProperties.AdaptiveChunk properties = new SettlementProperties.AdaptiveChunk();
+
+    private long now;
+    private StepExecution stepExecution;
+    private ChunkContext chunkContext;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMinSize(100);
+        properties.setMaxSize(10_000);
+        properties.setTargetCommitTime(Duration.ofSeconds(1));
+        stepExecution = MetaDataInstanceFactory.createStepExecution();
+        chunkContext = new ChunkContext(new StepContext(stepExecution));
+    }
+
+    @Test
+    void testGrowsUpToDoubleWhenChunksAreFast() {
+        // Given - 1000 건을 100 ms 에 처리 (목표 1초면 10000 건)
+        AdaptiveChunkSizePolicy policy = policy(1000);
+
+        // When
+        runChunk(policy, 1000, 100);
+
+        // Then - 한 번에 최대 2배
+        assertThat(policy.getCurrentSize()).isEqualTo(2000);
+        assertThat(stepExecution.getExecutionContext().getInt(AdaptiveChunkSizePolicy.CHUNK_SIZE)).isEqualTo(2000);
+        assertThat(stepExecution.getExecutionContext().getInt(AdaptiveChunkSizePolicy.ADJUSTMENT_COUNT)).isEqualTo(1);
+        assertThat(meterRegistry.get("settlement.chunk.size").gauge().value()).isEqualTo(2000.0);
+        assertThat(meterRegistry.get("settlement.chunk.size.adjustments").tag("direction", "grow").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testShrinksTowardTargetWhenChunksAreSlow() {
+        // Given - 1000 건을 1600 ms 에 처리 (목표 1초면 625 건)
+        AdaptiveChunkSizePolicy policy = policy(1000);
+
+        // When
+        runChunk(policy, 1000, 1600);
+
+        // Then
+        assertThat(policy.getCurrentSize()).isEqualTo(625);
+        assertThat(stepExecution.getExecutionContext().getString(AdaptiveChunkSizePolicy.LAST_ADJUSTMENT))
+                .startsWith("1000 -> 625");
+        assertThat(meterRegistry.get("settlement.chunk.size.adjustments").tag("direction", "shrink").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testKeepsSizeWithinDeadband() {
+        // Given - 목표 대비 5% 차이
+        AdaptiveChunkSizePolicy policy = policy(1000);
+
+        // When
+        runChunk(policy, 1000, 1050);
+
+        // Then
+        assertThat(policy.getCurrentSize()).isEqualTo(1000);
+        assertThat(stepExecution.getExecutionContext().containsKey(AdaptiveChunkSizePolicy.ADJUSTMENT_COUNT)).isFalse();
+    }
+
+    @Test
+    void testClampsToConfiguredBounds() {
+        // Given
+        properties.setMaxSize(1500);
+        AdaptiveChunkSizePolicy policy = policy(1000);
+
+        // When
+        runChunk(policy, 1000, 10);
+
+        // Then
+        assertThat(policy.getCurrentSize()).isEqualTo(1500);
+    }
+
+    @Test
+    void testHalvesOnRollback() {
+        // Given
+        AdaptiveChunkSizePolicy policy = policy(1000);
+        policy.beforeStep(stepExecution);
+
+        // When
+        policy.beforeChunk(chunkContext);
+        policy.afterChunkError(chunkContext);
+
+        // Then
+        assertThat(policy.getCurrentSize()).isEqualTo(500);
+    }
+
+    @Test
+    void testResumesFromExecutionContextOnRestart() {
+        // Given - 이전 실행에서 3000 으로 조절됨
+        stepExecution.getExecutionContext().putInt(AdaptiveChunkSizePolicy.CHUNK_SIZE, 3000);
+        AdaptiveChunkSizePolicy policy = policy(1000);
+
+        // When
+        policy.beforeStep(stepExecution);
+
+        // Then
+        assertThat(policy.getCurrentSize()).isEqualTo(3000);
+    }
+
+    @Test
+    void testCompletesChunkAtCurrentSize() {
+        // Given
+        AdaptiveChunkSizePolicy policy = policy(100);
+        RepeatContext context = policy.start(null);
+
+        // When
+        for (int i = 0; i < 99; i++) {
+            policy.update(context);
+        }
+
+        // Then
+        assertThat(policy.isComplete(context)).isFalse();
+        policy.update(context);
+        assertThat(policy.isComplete(context)).isTrue();
+    }
+
+    private AdaptiveChunkSizePolicy policy(int initialSize) {
+        return new AdaptiveChunkSizePolicy("settlementStep", initialSize, properties, meterRegistry, () -> now);
+    }
+
+    private void runChunk(AdaptiveChunkSizePolicy policy, int rows, long elapsedMillis) {
+        policy.beforeStep(stepExecution);
+        policy.beforeChunk(chunkContext);
+        stepExecution.setReadCount(stepExecution.getReadCount() + rows);
+        now += TimeUnit.MILLISECONDS.toNanos(elapsedMillis);
+        policy.afterChunk(chunkContext);
+    }
+}
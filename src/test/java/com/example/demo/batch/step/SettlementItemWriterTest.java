@@ -0,0 +1,143 @@
+package com.example.demo.batch.step;
+
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.engine.SettlementEngine;
+import com.example.demo.batch.lock.SettlementRunLock;
+import com.example.demo.settlementhistory.repository.SettlementCheckpointRepository;
+import com.example.demo.settlementhistory.repository.SettlementJdbcRepository;
+import com.example.demo.settlementhistory.repository.SettlementProcedureRepository;
+import com.example.demo.transaction.entity.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SettlementItemWriterTest {
+
+    @Mock
+    private SettlementEngine settlementEngine;
+
+    @Mock
+    private SettlementJdbcRepository settlementJdbcRepository;
+
+    @Mock
+    private SettlementProcedureRepository settlementProcedureRepository;
+
+    @Mock
+    private SettlementCheckpointRepository settlementCheckpointRepository;
+
+    @Mock
+    private SettlementRunLock settlementRunLock;
+
+    private SettlementItemWriter writer;
+    private StepExecution stepExecution;
+
+    @BeforeEach
+    void setUp() {
+        SettlementProperties properties = new SettlementProperties();
+        properties.getWriter().setMode(SettlementProperties.WriterMode.PROCEDURE);
+        writer = new SettlementItemWriter(settlementEngine, settlementJdbcRepository, settlementProcedureRepository,
+                settlementCheckpointRepository, properties, new SimpleMeterRegistry(), settlementRunLock);
+        stepExecution = MetaDataInstanceFactory.createStepExecution();
+
+        SettlementProcedureRepository.SettlementResult result = new SettlementProcedureRepository.SettlementResult();
+        result.setProcessedCount(2L);
+        result.setErrorCount(1L);
+        when(settlementProcedureRepository.executeChunkSettlementProcedure(anyList())).thenReturn(result);
+    }
+
+    @Test
+    void testCountsAreAccumulatedOnlyAfterCommit() throws Exception {
+        // Given
+        ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+        writer.beforeChunk(chunkContext);
+
+        // When
+        writer.write(chunk());
+
+        // Then - 커밋 전에는 ExecutionContext 에 반영되지 않음
+        assertThat(stepExecution.getExecutionContext().containsKey(SettlementItemWriter.PROCESSED_COUNT)).isFalse();
+
+        writer.afterChunk(chunkContext);
+        assertThat(stepExecution.getExecutionContext().getLong(SettlementItemWriter.PROCESSED_COUNT)).isEqualTo(2L);
+        assertThat(stepExecution.getExecutionContext().getLong(SettlementItemWriter.ERROR_COUNT)).isEqualTo(1L);
+    }
+
+    @Test
+    void testRolledBackChunkIsNotCounted() throws Exception {
+        // Given - 첫 chunk 가 롤백되고 같은 거래로 다시 실행되어 커밋됨
+        ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+        writer.beforeChunk(chunkContext);
+        writer.write(chunk());
+        writer.afterChunkError(chunkContext);
+
+        // When
+        writer.beforeChunk(chunkContext);
+        writer.write(chunk());
+        writer.afterChunk(chunkContext);
+
+        // Then - 커밋된 chunk 한 번만 누적
+        assertThat(stepExecution.getExecutionContext().getLong(SettlementItemWriter.PROCESSED_COUNT)).isEqualTo(2L);
+        assertThat(stepExecution.getExecutionContext().getLong(SettlementItemWriter.ERROR_COUNT)).isEqualTo(1L);
+    }
+
+    @Test
+    void testFailsChunkWhenCheckpointWasWrittenWithNewerFencingToken() {
+        // Given - 토큰 확인 이후 다른 노드가 잠금을 가져가 같은 run 의 체크포인트를 토큰 8 로 기록함
+        StepExecution fencedStepExecution = MetaDataInstanceFactory.createStepExecution(
+                new JobParametersBuilder().addLong(SettlementRunLock.FENCING_TOKEN, 7L).toJobParameters());
+        when(settlementCheckpointRepository.saveFenced(any(), any(), anyLong(), eq(7L))).thenReturn(false);
+        StepSynchronizationManager.register(fencedStepExecution);
+
+        // When & Then
+        try {
+            assertThatThrownBy(() -> writer.write(chunk()))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("newer fencing token than 7");
+            verify(settlementRunLock).verify(7L);
+        } finally {
+            StepSynchronizationManager.close();
+        }
+    }
+
+    private Chunk<Transaction> chunk() {
+        return new Chunk<>(List.of(
+                transaction(1L, "ACC001"),
+                transaction(2L, "ACC002"),
+                transaction(3L, "ACC003")));
+    }
+
+    private Transaction transaction(Long id, String accountId) {
+        return Transaction.builder()
+                .id(id)
+                .accountId(accountId)
+                .amount(new BigDecimal("100.00"))
+                .type(Transaction.TransactionType.DEPOSIT)
+                .createdAt(LocalDateTime.now())
+                .isProcessed(false)
+                .build();
+    }
+}
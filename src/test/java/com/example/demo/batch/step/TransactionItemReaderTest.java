@@ -0,0 +1,238 @@
+package com.example.demo.batch.step;
+
+import com.example.demo.batch.checkpoint.SettlementCheckpointKey;
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.listener.SettlementHistoryJobListener;
+import com.example.demo.settlementhistory.entity.SettlementCheckpoint;
+import com.example.demo.settlementhistory.repository.SettlementCheckpointRepository;
+import com.example.demo.transaction.entity.Transaction;
+import com.example.demo.transaction.repository.TransactionCursorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionItemReaderTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+    @Mock
+    private TransactionCursorRepository transactionCursorRepository;
+
+    @Mock
+    private SettlementCheckpointRepository settlementCheckpointRepository;
+
+    private TransactionItemReader reader;
+
+    @BeforeEach
+    void setUp() {
+        SettlementProperties properties = new SettlementProperties();
+        properties.getReader().setPageSize(2);
+        reader = new TransactionItemReader(transactionCursorRepository, settlementCheckpointRepository, properties, new SyncTaskExecutor());
+    }
+
+    @Test
+    void testReadsPagesWithKeysetCursor() {
+        // Given
+        Transaction first = transaction(1L, BASE_TIME);
+        Transaction second = transaction(2L, BASE_TIME);
+        Transaction third = transaction(3L, BASE_TIME.plusMinutes(1));
+        when(transactionCursorRepository.findFirstUnprocessedPage(0, 1, 2)).thenReturn(List.of(first, second));
+        when(transactionCursorRepository.findUnprocessedPageAfter(BASE_TIME, 2L, 0, 1, 2)).thenReturn(List.of(third));
+
+        // When
+        reader.open(new ExecutionContext());
+
+        // Then - 마지막 페이지가 덜 찼으므로 추가 조회 없이 종료
+        assertThat(reader.read()).isEqualTo(first);
+        assertThat(reader.read()).isEqualTo(second);
+        assertThat(reader.read()).isEqualTo(third);
+        assertThat(reader.read()).isNull();
+    }
+
+    @Test
+    void testResumesFromSavedPosition() {
+        // Given - 첫 실행에서 한 건을 읽고 위치를 저장
+        Transaction first = transaction(1L, BASE_TIME);
+        when(transactionCursorRepository.findFirstUnprocessedPage(0, 1, 2)).thenReturn(List.of(first));
+
+        ExecutionContext executionContext = new ExecutionContext();
+        reader.open(executionContext);
+        reader.read();
+        reader.update(executionContext);
+
+        // When - 저장된 ExecutionContext 로 재시작
+        Transaction second = transaction(2L, BASE_TIME.plusMinutes(1));
+        when(transactionCursorRepository.findUnprocessedPageAfter(BASE_TIME, 1L, 0, 1, 2)).thenReturn(List.of(second));
+
+        SettlementProperties properties = new SettlementProperties();
+        properties.getReader().setPageSize(2);
+        TransactionItemReader restarted = new TransactionItemReader(transactionCursorRepository, settlementCheckpointRepository, properties, new SyncTaskExecutor());
+        restarted.open(executionContext);
+
+        // Then
+        assertThat(restarted.read()).isEqualTo(second);
+        assertThat(restarted.read()).isNull();
+    }
+
+    @Test
+    void testResumesFromCheckpointWhenExecutionContextIsEmpty() {
+        // Given - Batch 메타데이터 없이 같은 settlementDate 로 다시 실행
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate(SettlementCheckpointKey.SETTLEMENT_DATE, LocalDate.of(2024, 1, 15))
+                .toJobParameters();
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(jobParameters);
+        SettlementCheckpointKey key = new SettlementCheckpointKey(
+                stepExecution.getJobExecution().getJobInstance().getJobName(), "2024-01-15", 0);
+
+        when(settlementCheckpointRepository.find(key)).thenReturn(Optional.of(SettlementCheckpoint.builder()
+                .jobName(key.jobName())
+                .runKey(key.runKey())
+                .partitionIndex(0)
+                .lastCreatedAt(BASE_TIME)
+                .lastTransactionId(5L)
+                .build()));
+        Transaction next = transaction(6L, BASE_TIME.plusMinutes(1));
+        when(transactionCursorRepository.findUnprocessedPageAfter(BASE_TIME, 5L, 0, 1, 2)).thenReturn(List.of(next));
+
+        // When
+        StepSynchronizationManager.register(stepExecution);
+        try {
+            reader.open(new ExecutionContext());
+        } finally {
+            StepSynchronizationManager.close();
+        }
+
+        // Then - 체크포인트 이후부터 읽음
+        assertThat(reader.read()).isEqualTo(next);
+        assertThat(reader.read()).isNull();
+        verify(transactionCursorRepository, never()).findFirstUnprocessedPage(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testReadsOnlyUpToCutoffTransactionId() {
+        // Given - Job 시작 시 고정한 cutoff
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate(SettlementCheckpointKey.SETTLEMENT_DATE, LocalDate.of(2024, 1, 15))
+                .toJobParameters();
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(jobParameters);
+        stepExecution.getJobExecution().getExecutionContext()
+                .putLong(SettlementHistoryJobListener.CUTOFF_TRANSACTION_ID, 2L);
+
+        Transaction first = transaction(1L, BASE_TIME);
+        Transaction second = transaction(2L, BASE_TIME);
+        when(transactionCursorRepository.findFirstUnprocessedPage(0, 1, 2, 2L)).thenReturn(List.of(first, second));
+        when(transactionCursorRepository.findUnprocessedPageAfter(BASE_TIME, 2L, 0, 1, 2, 2L)).thenReturn(List.of());
+
+        // When
+        StepSynchronizationManager.register(stepExecution);
+        try {
+            reader.open(new ExecutionContext());
+        } finally {
+            StepSynchronizationManager.close();
+        }
+
+        // Then - cutoff 이후에 들어온 거래는 조회 조건에서 제외
+        assertThat(reader.read()).isEqualTo(first);
+        assertThat(reader.read()).isEqualTo(second);
+        assertThat(reader.read()).isNull();
+        verify(transactionCursorRepository, never()).findFirstUnprocessedPage(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testPrefetchesNextPageInAsyncPipeline() {
+        // Given - ASYNC 모드, chunk 2건, in-flight chunk 1개 → 1페이지 미리 읽기
+        SettlementProperties properties = new SettlementProperties();
+        properties.setChunkSize(2);
+        properties.getReader().setPageSize(2);
+        properties.getPipeline().setMode(SettlementProperties.PipelineMode.ASYNC);
+        properties.getPipeline().setMaxInFlightChunks(1);
+        TransactionItemReader prefetching = new TransactionItemReader(
+                transactionCursorRepository, settlementCheckpointRepository, properties, new SyncTaskExecutor());
+
+        Transaction first = transaction(1L, BASE_TIME);
+        Transaction second = transaction(2L, BASE_TIME);
+        Transaction third = transaction(3L, BASE_TIME.plusMinutes(1));
+        when(transactionCursorRepository.findFirstUnprocessedPage(0, 1, 2)).thenReturn(List.of(first, second));
+        when(transactionCursorRepository.findUnprocessedPageAfter(BASE_TIME, 2L, 0, 1, 2)).thenReturn(List.of(third));
+
+        // When
+        prefetching.open(new ExecutionContext());
+
+        // Then - 첫 페이지를 소비하기 전에 다음 페이지 조회가 이미 예약됨
+        assertThat(prefetching.read()).isEqualTo(first);
+        verify(transactionCursorRepository).findUnprocessedPageAfter(BASE_TIME, 2L, 0, 1, 2);
+        assertThat(prefetching.read()).isEqualTo(second);
+        assertThat(prefetching.read()).isEqualTo(third);
+        assertThat(prefetching.read()).isNull();
+        prefetching.close();
+    }
+
+    @Test
+    void testReadsOnlyAssignedPartition() {
+        // Given - Partitioner 가 넣어준 파티션 정보
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.putInt(TransactionItemReader.PARTITION_INDEX, 1);
+        executionContext.putInt(TransactionItemReader.PARTITION_COUNT, 4);
+
+        Transaction first = transaction(1L, BASE_TIME);
+        when(transactionCursorRepository.findFirstUnprocessedPage(1, 4, 2)).thenReturn(List.of(first));
+
+        // When
+        reader.open(executionContext);
+
+        // Then
+        assertThat(reader.read()).isEqualTo(first);
+        assertThat(reader.read()).isNull();
+    }
+
+    @Test
+    void testEmptyBacklog() {
+        // Given
+        when(transactionCursorRepository.findFirstUnprocessedPage(anyInt(), anyInt(), anyInt())).thenReturn(List.of());
+
+        // When
+        reader.open(new ExecutionContext());
+
+        // Then
+        assertThat(reader.read()).isNull();
+        ExecutionContext executionContext = new ExecutionContext();
+        reader.update(executionContext);
+        assertThat(executionContext.isEmpty()).isTrue();
+        verify(transactionCursorRepository, never()).findUnprocessedPageAfter(any(), anyLong(), anyInt(), anyInt(), anyInt());
+    }
+
+    private Transaction transaction(Long id, LocalDateTime createdAt) {
+        return Transaction.builder()
+                .id(id)
+                .accountId("ACC000001")
+                .amount(new BigDecimal("100.00"))
+                .type(Transaction.TransactionType.DEPOSIT)
+                .createdAt(createdAt)
+                .isProcessed(false)
+                .build();
+    }
+}
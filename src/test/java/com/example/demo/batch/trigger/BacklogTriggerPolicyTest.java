@@ -0,0 +1,93 @@
+package com.example.demo.batch.trigger;
+
+import com.example.demo.batch.config.SettlementProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BacklogTriggerPolicyTest {
+
+    private final SettlementProperties.Trigger properties = new SettlementProperties.Trigger();
+    private final LocalDateTime start = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+    private BacklogTriggerPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        properties.setStartBacklog(1_000);
+        properties.setStopBacklog(100);
+        properties.setMaxAge(Duration.ofMinutes(30));
+        properties.setMinGap(Duration.ofMinutes(1));
+        properties.setMaxGap(Duration.ofHours(6));
+        policy = new BacklogTriggerPolicy(properties, start);
+    }
+
+    @Test
+    void testDrainsUntilBacklogFallsBelowStopThreshold() {
+        // Given - startBacklog 도달
+        LocalDateTime now = start.plusMinutes(5);
+        assertThat(policy.decide(backlog(1_000, now), now)).contains(BacklogTriggerPolicy.Reason.BACKLOG);
+        policy.runStarted(now);
+
+        // When - startBacklog 아래로 줄었지만 stopBacklog 보다는 많음
+        now = now.plusMinutes(2);
+
+        // Then - 소진 모드 유지
+        assertThat(policy.decide(backlog(500, now), now)).contains(BacklogTriggerPolicy.Reason.BACKLOG);
+        policy.runStarted(now);
+
+        // When - stopBacklog 이하
+        now = now.plusMinutes(2);
+
+        // Then - 소진 모드 종료, 다시 startBacklog 에 도달할 때까지 실행하지 않음
+        assertThat(policy.decide(backlog(100, now), now)).isEmpty();
+        assertThat(policy.isDraining()).isFalse();
+        now = now.plusMinutes(2);
+        assertThat(policy.decide(backlog(500, now), now)).isEmpty();
+    }
+
+    @Test
+    void testRespectsMinGap() {
+        // Given
+        LocalDateTime now = start.plusMinutes(5);
+        policy.runStarted(now);
+
+        // When - minGap 이전
+        LocalDateTime soon = now.plusSeconds(30);
+
+        // Then
+        assertThat(policy.decide(backlog(5_000, soon), soon)).isEmpty();
+        assertThat(policy.isDraining()).isTrue();
+        assertThat(policy.decide(backlog(5_000, now.plusMinutes(1)), now.plusMinutes(1)))
+                .contains(BacklogTriggerPolicy.Reason.BACKLOG);
+    }
+
+    @Test
+    void testRunsWhenOldestTransactionExceedsMaxAge() {
+        // Given
+        LocalDateTime now = start.plusMinutes(40);
+
+        // When / Then
+        assertThat(policy.decide(new BacklogTriggerPolicy.Backlog(10, now.minusMinutes(31)), now))
+                .contains(BacklogTriggerPolicy.Reason.AGE);
+        assertThat(policy.decide(new BacklogTriggerPolicy.Backlog(10, now.minusMinutes(29)), now)).isEmpty();
+    }
+
+    @Test
+    void testRunsAfterMaxGapOnlyWhenBacklogRemains() {
+        // Given
+        LocalDateTime now = start.plusHours(6);
+
+        // When / Then
+        assertThat(policy.decide(backlog(10, now), now)).contains(BacklogTriggerPolicy.Reason.MAX_GAP);
+        assertThat(policy.decide(new BacklogTriggerPolicy.Backlog(0, null), now)).isEmpty();
+    }
+
+    private BacklogTriggerPolicy.Backlog backlog(long size, LocalDateTime now) {
+        return new BacklogTriggerPolicy.Backlog(size, now.minusMinutes(1));
+    }
+}
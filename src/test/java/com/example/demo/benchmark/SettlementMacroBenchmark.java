@@ -0,0 +1,309 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.account.entity.Account;
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.util.TransactionDataGenerator;
+import com.example.demo.batch.workqueue.SettlementWorkQueueWorker;
+import com.example.demo.integration.ProcedureScript;
+import com.example.demo.settlementhistory.entity.SettlementHistory;
+import com.example.demo.settlementhistory.service.SettlementHistoryService;
+import com.example.demo.transaction.entity.Transaction;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 정산 경로별 end-to-end 처리량 벤치마크
+ *
+ * TransactionDataGenerator 로 N 계좌 / M 거래 backlog 를 한 번 생성해 bench_* 테이블에 보관하고,
+ * 경로마다 같은 backlog 를 복원한 뒤 정산하여 소요 시간, 초당 처리 건수, DB 왕복 횟수, 최대 힙, 행 잠금 대기 시간을 비교
+ *
+ * 실행: ./gradlew benchmark --tests '*SettlementMacroBenchmark' \
+ *         -Dbenchmark.macro.accounts=10000 \
+ *         -Dbenchmark.macro.transactions=100000,1000000,10000000 \
+ *         -Dbenchmark.macro.paths=settlementJob,partitionedSettlementJob,workQueue,procedure,procedureSet,procedureSharded
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class SettlementMacroBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 100_000;
+    private static final List<String> ALL_PATHS = List.of(
+            "settlementJob", "partitionedSettlementJob", "workQueue", "procedure", "procedureSet", "procedureSharded");
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("macro_benchmark_db")
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("--innodb-buffer-pool-size=2G");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> mysql.getJdbcUrl() + "?rewriteBatchedStatements=true");
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+        registry.add("logging.level.com.example.demo", () -> "WARN");
+        registry.add("logging.level.org.springframework.batch", () -> "WARN");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    @Qualifier("settlementJob")
+    private Job settlementJob;
+
+    @Autowired
+    @Qualifier("partitionedSettlementJob")
+    private Job partitionedSettlementJob;
+
+    @Autowired
+    private SettlementWorkQueueWorker settlementWorkQueueWorker;
+
+    @Autowired
+    private SettlementHistoryService settlementHistoryService;
+
+    @Autowired
+    private SettlementProperties settlementProperties;
+
+    @Autowired
+    private TransactionDataGenerator transactionDataGenerator;
+
+    @Test
+    void compareSettlementPaths() {
+        prepareSchema();
+
+        int accountCount = Integer.getInteger("benchmark.macro.accounts", 10_000);
+        List<String> results = new ArrayList<>();
+        for (int transactionCount : transactionCounts()) {
+            seedBacklog(accountCount, transactionCount);
+
+            for (String path : paths()) {
+                restoreBacklog();
+                results.add(measure(path, transactionCount).format());
+            }
+        }
+
+        System.out.println("  transactions | path                     |  elapsed ms |     rows/s | round trips | peak heap MB | lock wait ms");
+        results.forEach(System.out::println);
+    }
+
+    private Measurement measure(String path, int transactionCount) {
+        Supplier<Long> settlement = settlement(path);
+
+        System.gc();
+        resetPeakHeap();
+        Map<String, Long> statusBefore = globalStatus();
+        long start = System.nanoTime();
+
+        long processedCount = settlement.get();
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        Map<String, Long> statusAfter = globalStatus();
+
+        // 처리되지 않은 거래는 모두 오류로 기록되어 있어야 함
+        Integer remaining = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE is_processed = FALSE", Integer.class);
+        Integer errors = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT transaction_id) FROM transaction_errors", Integer.class);
+        assertThat(remaining).as(path).isEqualTo(errors);
+        assertThat(processedCount + remaining).as(path).isEqualTo(transactionCount);
+
+        return new Measurement(transactionCount, path, elapsedMillis,
+                // 상태 조회 쿼리 자신은 제외
+                statusAfter.get("Questions") - statusBefore.get("Questions") - 1,
+                peakHeapBytes() / (1024 * 1024),
+                statusAfter.get("Innodb_row_lock_time") - statusBefore.get("Innodb_row_lock_time"));
+    }
+
+    /**
+     * 정산 경로 실행 후 처리 건수 반환
+     */
+    private Supplier<Long> settlement(String path) {
+        return switch (path) {
+            case "settlementJob" -> () -> runJob(settlementJob);
+            case "partitionedSettlementJob" -> () -> runJob(partitionedSettlementJob);
+            case "workQueue" -> () -> settlementWorkQueueWorker.run(LocalDate.now()).getProcessedCount();
+            case "procedure" -> () -> runProcedure(SettlementProperties.ProcedureVariant.CURSOR, 1);
+            case "procedureSet" -> () -> runProcedure(SettlementProperties.ProcedureVariant.SET, 1);
+            case "procedureSharded" -> () -> runProcedure(SettlementProperties.ProcedureVariant.CURSOR,
+                    settlementProperties.getPartition().getGridSize());
+            default -> throw new IllegalArgumentException("Unknown settlement path: " + path);
+        };
+    }
+
+    private long runJob(Job job) {
+        try {
+            JobExecution jobExecution = jobLauncher.run(job, new JobParametersBuilder()
+                    .addLong("time", System.nanoTime())
+                    .toJobParameters());
+            assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to run " + job.getName(), e);
+        }
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE is_processed = TRUE", Long.class);
+    }
+
+    private long runProcedure(SettlementProperties.ProcedureVariant variant, int shardCount) {
+        SettlementProperties.Procedure procedure = settlementProperties.getProcedure();
+        SettlementProperties.ProcedureVariant previousVariant = procedure.getVariant();
+        int previousShardCount = procedure.getShardCount();
+        procedure.setVariant(variant);
+        procedure.setShardCount(shardCount);
+        try {
+            SettlementHistory history = settlementHistoryService.executeSettlement();
+            return history.getProcessedCount();
+        } finally {
+            procedure.setVariant(previousVariant);
+            procedure.setShardCount(previousShardCount);
+        }
+    }
+
+    private void prepareSchema() {
+        ProcedureScript.create(jdbcTemplate, "SP_SETTLE_ACCOUNTS");
+        ProcedureScript.create(jdbcTemplate, "SP_SETTLE_ACCOUNTS_SET");
+        ProcedureScript.create(jdbcTemplate, "SP_SETTLE_ACCOUNTS_SHARD");
+        jdbcTemplate.execute("CREATE INDEX idx_processed_created_at ON transactions (is_processed, created_at, id)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bench_accounts LIKE accounts");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bench_transactions LIKE transactions");
+    }
+
+    /**
+     * TransactionDataGenerator 로 backlog 를 생성해 bench_* 테이블에 보관 (거래는 배치 단위로 생성하여 메모리 사용 제한)
+     */
+    private void seedBacklog(int accountCount, int transactionCount) {
+        jdbcTemplate.execute("TRUNCATE TABLE bench_accounts");
+        jdbcTemplate.execute("TRUNCATE TABLE bench_transactions");
+
+        List<Account> accounts = transactionDataGenerator.generateAccounts(accountCount);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO bench_accounts (id, balance, status, account_type) VALUES (?, ?, ?, ?)",
+                accounts.stream()
+                        .map(account -> new Object[]{account.getId(), account.getBalance(),
+                                account.getStatus().name(), account.getAccountType().name()})
+                        .toList());
+
+        for (int seeded = 0; seeded < transactionCount; seeded += SEED_BATCH_SIZE) {
+            List<Transaction> transactions = transactionDataGenerator.generateBulkTransactions(
+                    accounts, Math.min(SEED_BATCH_SIZE, transactionCount - seeded));
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO bench_transactions (account_id, amount, type, created_at, is_processed) VALUES (?, ?, ?, ?, FALSE)",
+                    transactions.stream()
+                            .map(transaction -> new Object[]{transaction.getAccountId(), transaction.getAmount(),
+                                    transaction.getType().name(), Timestamp.valueOf(transaction.getCreatedAt())})
+                            .toList());
+        }
+    }
+
+    /**
+     * 같은 커넥션에서 외래 키 검사를 끄고 bench_* 테이블로부터 backlog 복원
+     */
+    private void restoreBacklog() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+                statement.execute("TRUNCATE TABLE transaction_errors");
+                statement.execute("TRUNCATE TABLE transactions");
+                statement.execute("TRUNCATE TABLE pending_transactions");
+                statement.execute("TRUNCATE TABLE accounts");
+                statement.execute("TRUNCATE TABLE settlement_history");
+                statement.execute("TRUNCATE TABLE settlement_checkpoint");
+                statement.execute("TRUNCATE TABLE settlement_work_bucket");
+                statement.execute("INSERT INTO accounts SELECT * FROM bench_accounts");
+                statement.execute("INSERT INTO transactions SELECT * FROM bench_transactions");
+                statement.execute("INSERT INTO pending_transactions (transaction_id, account_id, created_at) "
+                        + "SELECT id, account_id, created_at FROM transactions WHERE is_processed = FALSE");
+                statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Questions: 클라이언트가 보낸 문장 수 (프로시저 내부 문장 제외) = DB 왕복 횟수
+     * Innodb_row_lock_time: 행 잠금 대기 누적 시간 (ms)
+     */
+    private Map<String, Long> globalStatus() {
+        Map<String, Long> status = new HashMap<>();
+        jdbcTemplate.query("SHOW GLOBAL STATUS WHERE Variable_name IN ('Questions', 'Innodb_row_lock_time')",
+                rs -> {
+                    status.put(rs.getString(1), rs.getLong(2));
+                });
+        return status;
+    }
+
+    private void resetPeakHeap() {
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    private long peakHeapBytes() {
+        return heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    }
+
+    private List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+    }
+
+    private int[] transactionCounts() {
+        return Arrays.stream(System.getProperty("benchmark.macro.transactions", "100000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+    }
+
+    private List<String> paths() {
+        String paths = System.getProperty("benchmark.macro.paths");
+        if (paths == null || paths.isBlank()) {
+            return ALL_PATHS;
+        }
+        return Arrays.stream(paths.split(",")).map(String::trim).toList();
+    }
+
+    private record Measurement(int transactionCount, String path, long elapsedMillis, long roundTrips,
+                               long peakHeapMegabytes, long lockWaitMillis) {
+
+        String format() {
+            return String.format("%14d | %-24s | %11d | %10.0f | %11d | %12d | %12d",
+                    transactionCount, path, elapsedMillis, transactionCount * 1000.0 / Math.max(elapsedMillis, 1),
+                    roundTrips, peakHeapMegabytes, lockWaitMillis);
+        }
+    }
+}
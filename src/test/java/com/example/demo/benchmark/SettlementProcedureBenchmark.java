@@ -0,0 +1,156 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.integration.ProcedureScript;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.CallableStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커서 방식 SP_SETTLE_ACCOUNTS vs 집합 연산 SP_SETTLE_ACCOUNTS_SET 벤치마크
+ *
+ * SET 은 잔고 부족 출금이 나올 때마다 그 계좌의 누적 잔고를 다시 계산하므로, 반복 횟수(rounds)는
+ * 계좌별 최대 잔고 부족 출금 수 + 1 이고 출금 비중이 높은 이 데이터에서는 거래 수가 많을수록 늘어남
+ *
+ * 실행: ./gradlew benchmark -Dbenchmark.procedure.rows=100000,1000000,10000000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class SettlementProcedureBenchmark {
+
+    private static final int ACCOUNT_COUNT = 10_000;
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("procedure_benchmark_db")
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("--innodb-buffer-pool-size=2G");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareCursorAndSetProcedures() {
+        ProcedureScript.create(jdbcTemplate, "SP_SETTLE_ACCOUNTS");
+        ProcedureScript.create(jdbcTemplate, "SP_SETTLE_ACCOUNTS_SET");
+        jdbcTemplate.execute("CREATE INDEX idx_processed_created_at ON transactions (is_processed, created_at)");
+
+        List<String> results = new ArrayList<>();
+        for (int rows : rowCounts()) {
+            long cursorMillis = measure("SP_SETTLE_ACCOUNTS", rows).millis();
+            Measurement set = measure("SP_SETTLE_ACCOUNTS_SET", rows);
+
+            results.add(String.format("%10d | %12d | %9d | %10d | %6.1fx",
+                    rows, cursorMillis, set.millis(), set.rounds(), (double) cursorMillis / Math.max(set.millis(), 1)));
+        }
+
+        System.out.println("      rows | cursor ms    | set ms    | set rounds | speedup");
+        results.forEach(System.out::println);
+    }
+
+    private Measurement measure(String procedureName, int rows) {
+        loadBacklog(rows);
+
+        // SET 의 반복 횟수 세션 변수를 읽기 위해 호출과 같은 커넥션 사용
+        return jdbcTemplate.execute((ConnectionCallback<Measurement>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET @sp_settle_accounts_set_rounds = 0");
+            }
+
+            long start = System.nanoTime();
+            try (CallableStatement call = connection.prepareCall("{call " + procedureName + "(?, ?, ?)}")) {
+                call.setLong(1, Long.MAX_VALUE);
+                call.registerOutParameter(2, Types.INTEGER);
+                call.registerOutParameter(3, Types.INTEGER);
+                call.execute();
+                long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                assertThat(call.getInt(2) + call.getInt(3)).isEqualTo(rows);
+
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery("SELECT @sp_settle_accounts_set_rounds")) {
+                    resultSet.next();
+                    return new Measurement(elapsedMillis, resultSet.getInt(1));
+                }
+            }
+        });
+    }
+
+    private record Measurement(long millis, int rounds) {
+    }
+
+    private int[] rowCounts() {
+        return Arrays.stream(System.getProperty("benchmark.procedure.rows", "100000,1000000,10000000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+    }
+
+    /**
+     * SQL 로 결정적인 backlog 생성 (10 x 10 x ... 자릿수 테이블 cross join)
+     */
+    private void loadBacklog(int rows) {
+        jdbcTemplate.execute("DELETE FROM transaction_errors");
+        jdbcTemplate.execute("TRUNCATE TABLE settlement_history");
+        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
+        jdbcTemplate.execute("TRUNCATE TABLE transactions");
+        jdbcTemplate.execute("TRUNCATE TABLE accounts");
+        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
+
+        String digits = "(SELECT 0 AS n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4 "
+                + "UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9)";
+
+        jdbcTemplate.update("""
+                INSERT INTO accounts (id, balance, status, account_type)
+                SELECT CONCAT('BM', LPAD(seq, 6, '0')),
+                       (seq * 7919 % 1000000) / 100,
+                       'ACTIVE',
+                       IF(seq % 3 = 0, 'PREMIUM', 'BASIC')
+                FROM (SELECT d1.n + d2.n * 10 + d3.n * 100 + d4.n * 1000 AS seq
+                      FROM %1$s d1, %1$s d2, %1$s d3, %1$s d4) s
+                WHERE seq < ?
+                """.formatted(digits), ACCOUNT_COUNT);
+
+        jdbcTemplate.update("""
+                INSERT INTO transactions (id, account_id, amount, type, created_at, is_processed)
+                SELECT seq + 1,
+                       CONCAT('BM', LPAD(seq * 31 % ?, 6, '0')),
+                       (seq * 104729 % 300000 + 1) / 100,
+                       IF(seq % 5 < 2, 'DEPOSIT', 'WITHDRAWAL'),
+                       TIMESTAMP('2024-01-15') + INTERVAL (seq DIV 10) SECOND,
+                       FALSE
+                FROM (SELECT d1.n + d2.n * 10 + d3.n * 100 + d4.n * 1000 + d5.n * 10000 + d6.n * 100000 + d7.n * 1000000 AS seq
+                      FROM %1$s d1, %1$s d2, %1$s d3, %1$s d4, %1$s d5, %1$s d6, %1$s d7) s
+                WHERE seq < ?
+                """.formatted(digits), ACCOUNT_COUNT, rows);
+    }
+}
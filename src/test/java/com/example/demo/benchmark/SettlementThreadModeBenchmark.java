@@ -0,0 +1,169 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.batch.config.SettlementTaskExecutorFactory;
+import com.example.demo.batch.partition.AccountHashPartitioner;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 플랫폼 스레드 vs 가상 스레드 파티션 정산 벤치마크
+ *
+ * 같은 backlog (동일 seed) 를 worker 1/8/64 개로 정산하고 소요 시간을 비교
+ * 실행: ./gradlew benchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class SettlementThreadModeBenchmark {
+
+    private static final int ACCOUNT_COUNT = 2_000;
+    private static final int TRANSACTION_COUNT = 50_000;
+    private static final int[] WORKER_COUNTS = {1, 8, 64};
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("benchmark_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> mysql.getJdbcUrl() + "?rewriteBatchedStatements=true");
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+        registry.add("logging.level.com.example.demo", () -> "WARN");
+        registry.add("logging.level.org.springframework.batch", () -> "WARN");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    private AccountHashPartitioner accountHashPartitioner;
+
+    @Autowired
+    @Qualifier("settlementWorkerStep")
+    private Step settlementWorkerStep;
+
+    @Autowired
+    private SettlementTaskExecutorFactory settlementTaskExecutorFactory;
+
+    @Test
+    void compareThreadModes() throws Exception {
+        List<String> results = new ArrayList<>();
+
+        for (SettlementProperties.ThreadMode threadMode : SettlementProperties.ThreadMode.values()) {
+            for (int workers : WORKER_COUNTS) {
+                loadBacklog();
+
+                long start = System.nanoTime();
+                JobExecution jobExecution = jobLauncher.run(partitionedJob(threadMode, workers),
+                        new JobParametersBuilder()
+                                .addLong("time", System.nanoTime())
+                                .toJobParameters());
+                long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+                assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+                Integer remaining = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM transactions WHERE is_processed = FALSE", Integer.class);
+                Integer errors = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction_errors", Integer.class);
+                assertThat(remaining).isEqualTo(errors);
+
+                results.add(String.format("%-8s | %7d | %10d | %12.0f",
+                        threadMode, workers, elapsedMillis, TRANSACTION_COUNT * 1000.0 / Math.max(elapsedMillis, 1)));
+            }
+        }
+
+        System.out.println("threadMode | workers | elapsed ms | transactions/s");
+        results.forEach(System.out::println);
+    }
+
+    private Job partitionedJob(SettlementProperties.ThreadMode threadMode, int workers) {
+        Step managerStep = new StepBuilder("benchmarkManagerStep", jobRepository)
+                .partitioner("settlementWorkerStep", accountHashPartitioner)
+                .step(settlementWorkerStep)
+                .gridSize(workers)
+                .taskExecutor(settlementTaskExecutorFactory.create(threadMode, workers))
+                .build();
+
+        return new JobBuilder("threadModeBenchmarkJob", jobRepository)
+                .start(managerStep)
+                .build();
+    }
+
+    /**
+     * 매 측정마다 같은 seed 로 계좌/거래를 다시 적재
+     */
+    private void loadBacklog() {
+        jdbcTemplate.execute("TRUNCATE TABLE transaction_errors");
+        jdbcTemplate.execute("TRUNCATE TABLE transactions");
+        jdbcTemplate.execute("TRUNCATE TABLE settlement_checkpoint");
+        jdbcTemplate.execute("DELETE FROM accounts");
+
+        Random random = new Random(42L);
+        List<Object[]> accounts = new ArrayList<>();
+        for (int i = 1; i <= ACCOUNT_COUNT; i++) {
+            accounts.add(new Object[]{
+                    "ACC" + String.format("%06d", i),
+                    BigDecimal.valueOf(random.nextInt(10_000_000), 2),
+                    i % 3 == 0 ? "PREMIUM" : "BASIC"});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO accounts (id, balance, status, account_type) VALUES (?, ?, 'ACTIVE', ?)", accounts);
+
+        LocalDateTime baseTime = LocalDateTime.of(2024, 1, 15, 0, 0);
+        List<Object[]> transactions = new ArrayList<>();
+        for (int i = 0; i < TRANSACTION_COUNT; i++) {
+            transactions.add(new Object[]{
+                    "ACC" + String.format("%06d", 1 + random.nextInt(ACCOUNT_COUNT)),
+                    BigDecimal.valueOf(10_000 + random.nextInt(1_000_000), 2),
+                    random.nextBoolean() ? "DEPOSIT" : "WITHDRAWAL",
+                    Timestamp.valueOf(baseTime.plusSeconds(i))});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transactions (account_id, amount, type, created_at, is_processed) VALUES (?, ?, ?, ?, FALSE)",
+                transactions);
+        jdbcTemplate.update("""
+                INSERT INTO pending_transactions (transaction_id, account_id, created_at)
+                SELECT id, account_id, created_at FROM transactions WHERE is_processed = FALSE
+                """);
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.batch.archive.TransactionPartitionMaintenance;
+import com.example.demo.transaction.repository.TransactionCursorRepository;
+import com.example.demo.transaction.repository.TransactionRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 월 파티션 transactions 에서 이력이 늘어나도 기간 조회/정산 Reader 첫 페이지 지연이 일정한지 측정
+ *
+ * - 2024-01-15 하루치 거래 100,000 건(미처리 10,000 건)은 고정하고, 그 이전 이력(모두 처리됨)만 rows 까지 늘림
+ * - 기간 조회는 EXPLAIN 의 partitions 가 p202401 하나인지 확인
+ *
+ * 실행: ./gradlew benchmark -Dbenchmark.partition.rows=1000000,10000000,50000000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class TransactionPartitionBenchmark {
+
+    private static final int RECENT_ROWS = 100_000;
+    private static final int INSERT_BATCH_ROWS = 10_000_000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 30;
+
+    private static final LocalDateTime RANGE_START = LocalDateTime.of(2024, 1, 15, 10, 0);
+    private static final LocalDateTime RANGE_END = LocalDateTime.of(2024, 1, 15, 10, 59, 59);
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("partition_benchmark_db")
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("--innodb-buffer-pool-size=2G");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+        registry.add("settlement.transaction-partition.months-ahead", () -> "3");
+        registry.add("settlement.transaction-partition.retain-months", () -> "0");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionCursorRepository transactionCursorRepository;
+
+    @Autowired
+    private TransactionPartitionMaintenance transactionPartitionMaintenance;
+
+    @Test
+    void dateRangeAndReaderLatencyStayFlatAsHistoryGrows() {
+        createPartitionedTable();
+        transactionPartitionMaintenance.run(YearMonth.of(2024, 1));
+        loadRecentDay();
+
+        assertThat(jdbcTemplate.queryForList("""
+                EXPLAIN SELECT id FROM transactions
+                WHERE created_at BETWEEN '2024-01-15 10:00:00' AND '2024-01-15 10:59:59'
+                """).get(0).get("partitions")).isEqualTo("p202401");
+
+        List<String> results = new ArrayList<>();
+        long historyRows = 0;
+        for (long rows : rowCounts()) {
+            historyRows = growHistory(historyRows, rows);
+
+            double dateRangeMillis = medianMillis(() ->
+                    transactionRepository.findByCreatedAtBetween(RANGE_START, RANGE_END, PageRequest.of(0, 100)));
+            double readerMillis = medianMillis(() ->
+                    transactionCursorRepository.findFirstUnprocessedPage(0, 1, 1000));
+
+            results.add(String.format("%10d | %13.2f | %14.2f", rows, dateRangeMillis, readerMillis));
+        }
+
+        System.out.println("  history  | date range ms | reader page ms");
+        results.forEach(System.out::println);
+    }
+
+    private double medianMillis(Runnable query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.run();
+        }
+
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2] / 1_000_000.0;
+    }
+
+    private long[] rowCounts() {
+        return Arrays.stream(System.getProperty("benchmark.partition.rows", "1000000,10000000,50000000").split(","))
+                .map(String::trim)
+                .mapToLong(Long::parseLong)
+                .toArray();
+    }
+
+    /**
+     * Hibernate 가 만든 테이블을 schema.sql 과 같은 월 파티션 테이블로 교체 (파티션 테이블은 외래 키를 가질 수 없음)
+     */
+    private void createPartitionedTable() {
+        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
+        jdbcTemplate.execute("DROP TABLE transactions");
+        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
+        jdbcTemplate.execute("""
+                CREATE TABLE transactions (
+                    id BIGINT AUTO_INCREMENT,
+                    account_id VARCHAR(50) NOT NULL,
+                    amount DECIMAL(15,2) NOT NULL,
+                    type VARCHAR(20) NOT NULL,
+                    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                    is_processed BOOLEAN NOT NULL DEFAULT FALSE,
+                    PRIMARY KEY (id, created_at),
+                    INDEX idx_account_id (account_id),
+                    INDEX idx_is_processed (is_processed),
+                    INDEX idx_created_at (created_at),
+                    INDEX idx_processed_created_at (is_processed, created_at)
+                )
+                PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+                    PARTITION p_history VALUES LESS THAN (UNIX_TIMESTAMP('2019-01-01 00:00:00')),
+                    PARTITION p_future VALUES LESS THAN MAXVALUE
+                )
+                """);
+        jdbcTemplate.execute("TRUNCATE TABLE pending_transactions");
+    }
+
+    /**
+     * 조회 대상인 2024-01-15 하루치 거래 (10 건 중 1 건은 미처리로 정산 대기 큐에 등록)
+     */
+    private void loadRecentDay() {
+        jdbcTemplate.update("""
+                INSERT INTO transactions (id, account_id, amount, type, created_at, is_processed)
+                SELECT seq + 1,
+                       CONCAT('BM', LPAD(seq * 31 % 10000, 6, '0')),
+                       (seq * 104729 % 300000 + 1) / 100,
+                       IF(seq % 5 < 2, 'DEPOSIT', 'WITHDRAWAL'),
+                       TIMESTAMP('2024-01-15') + INTERVAL (seq % 86400) SECOND,
+                       seq % 10 <> 0
+                FROM (%s) s
+                WHERE seq < ?
+                """.formatted(sequence()), RECENT_ROWS);
+        jdbcTemplate.update("""
+                INSERT INTO pending_transactions (transaction_id, account_id, created_at)
+                SELECT id, account_id, created_at FROM transactions WHERE is_processed = FALSE
+                """);
+    }
+
+    /**
+     * 2024-01-01 이전으로 2 초 간격의 처리된 이력을 target 건까지 추가 (5천만 건이면 약 3년치)
+     */
+    private long growHistory(long current, long target) {
+        while (current < target) {
+            long batch = Math.min(INSERT_BATCH_ROWS, target - current);
+            jdbcTemplate.update("""
+                    INSERT INTO transactions (id, account_id, amount, type, created_at, is_processed)
+                    SELECT ? + seq + 1,
+                           CONCAT('BM', LPAD(seq * 31 % 10000, 6, '0')),
+                           (seq * 104729 % 300000 + 1) / 100,
+                           IF(seq % 5 < 2, 'DEPOSIT', 'WITHDRAWAL'),
+                           TIMESTAMP('2024-01-01') - INTERVAL ((? + seq + 1) * 2) SECOND,
+                           TRUE
+                    FROM (%s) s
+                    WHERE seq < ?
+                    """.formatted(sequence()), RECENT_ROWS + current, current, batch);
+            current += batch;
+        }
+        jdbcTemplate.execute("ANALYZE TABLE transactions");
+        return current;
+    }
+
+    /**
+     * 0 ~ 9,999,999 정수 (10 x 10 x ... 자릿수 테이블 cross join)
+     */
+    private String sequence() {
+        String digits = "(SELECT 0 AS n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4 "
+                + "UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9)";
+        return """
+                SELECT d1.n + d2.n * 10 + d3.n * 100 + d4.n * 1000 + d5.n * 10000 + d6.n * 100000 + d7.n * 1000000 AS seq
+                FROM %1$s d1, %1$s d2, %1$s d3, %1$s d4, %1$s d5, %1$s d6, %1$s d7
+                """.formatted(digits);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.demo.integration;
+
+import com.example.demo.batch.continuous.ContinuousSettlementWorker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 연속 정산 모드가 high-water mark 이후 거래만 정산하고 당일 정산 이력 1건에 누적하는지 검증
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class ContinuousSettlementIntegrationTest {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("continuous_test_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("settlement.continuous.batch-size", () -> String.valueOf(BATCH_SIZE));
+        registry.add("settlement.continuous.settle-delay", () -> "10s");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContinuousSettlementWorker continuousSettlementWorker;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM transaction_errors");
+        jdbcTemplate.update("DELETE FROM pending_transactions");
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM settlement_history");
+        jdbcTemplate.update("DELETE FROM settlement_checkpoint");
+        jdbcTemplate.update("DELETE FROM accounts");
+    }
+
+    @Test
+    void testSettlesIncrementallyAndRollsUpDailyHistory() {
+        // Given - BASIC 계좌에 100.00 입금 120 건
+        jdbcTemplate.update("INSERT INTO accounts (id, balance, status, account_type) VALUES ('CS000001', 0, 'ACTIVE', 'BASIC')");
+        LocalDateTime now = LocalDateTime.now();
+        insertDeposits(1, 120, now.minusMinutes(5));
+
+        // When
+        ContinuousSettlementWorker.RunResult first = continuousSettlementWorker.run();
+
+        // Then - batch 3 개 (50 + 50 + 20), high-water mark 는 마지막 거래
+        assertThat(first.getBatchCount()).isEqualTo(3);
+        assertThat(first.getProcessedCount()).isEqualTo(120);
+        Map<String, Object> checkpoint = jdbcTemplate.queryForMap(
+                "SELECT last_transaction_id FROM settlement_checkpoint WHERE job_name = 'continuousSettlement'");
+        assertThat(((Number) checkpoint.get("last_transaction_id")).longValue()).isEqualTo(120L);
+
+        // Given - 새 거래 30 건과 아직 settleDelay 가 지나지 않은 거래 5 건
+        insertDeposits(121, 30, now.minusMinutes(1));
+        insertDeposits(151, 5, LocalDateTime.now());
+
+        // When
+        ContinuousSettlementWorker.RunResult second = continuousSettlementWorker.run();
+
+        // Then - 새 거래만 정산하고 최근 거래는 다음 실행으로 미룸
+        assertThat(second.getProcessedCount()).isEqualTo(30);
+        Integer unprocessed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE is_processed = FALSE", Integer.class);
+        assertThat(unprocessed).isEqualTo(5);
+        Integer pending = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pending_transactions", Integer.class);
+        assertThat(pending).isEqualTo(5);
+
+        BigDecimal balance = jdbcTemplate.queryForObject(
+                "SELECT balance FROM accounts WHERE id = 'CS000001'", BigDecimal.class);
+        assertThat(balance).isEqualByComparingTo("15075.00");
+
+        // 정산 이력은 하루 1건에 누적
+        List<Map<String, Object>> history = jdbcTemplate.queryForList(
+                "SELECT processed_count, error_count, status FROM settlement_history");
+        assertThat(history).hasSize(1);
+        assertThat(((Number) history.get(0).get("processed_count")).intValue()).isEqualTo(150);
+        assertThat(history.get(0).get("status")).isEqualTo("SUCCESS");
+    }
+
+    @Test
+    void testRollUpLeavesSameDayRunHistoryUntouched() {
+        // Given - 같은 날 수동 실행이 기록한 이력
+        jdbcTemplate.update("INSERT INTO accounts (id, balance, status, account_type) VALUES ('CS000001', 0, 'ACTIVE', 'BASIC')");
+        jdbcTemplate.update("""
+                INSERT INTO settlement_history (settlement_date, processed_count, error_count, status, cutoff_transaction_id, source)
+                VALUES (CURDATE(), 7, 0, 'SUCCESS', 999, 'RUN')
+                """);
+        insertDeposits(1, 10, LocalDateTime.now().minusMinutes(5));
+
+        // When
+        continuousSettlementWorker.run();
+
+        // Then - 연속 정산은 자기 행에만 누적
+        Map<String, Object> run = jdbcTemplate.queryForMap(
+                "SELECT processed_count, cutoff_transaction_id FROM settlement_history WHERE source = 'RUN'");
+        assertThat(((Number) run.get("processed_count")).intValue()).isEqualTo(7);
+        assertThat(((Number) run.get("cutoff_transaction_id")).longValue()).isEqualTo(999L);
+        Map<String, Object> continuous = jdbcTemplate.queryForMap(
+                "SELECT processed_count, cutoff_transaction_id FROM settlement_history WHERE source = 'CONTINUOUS'");
+        assertThat(((Number) continuous.get("processed_count")).intValue()).isEqualTo(10);
+        assertThat(((Number) continuous.get("cutoff_transaction_id")).longValue()).isEqualTo(10L);
+    }
+
+    @Test
+    void testSweepSettlesRowsCommittedBehindHighWaterMark() {
+        // Given - high-water mark 가 지나간 뒤 더 이른 created_at 으로 커밋된 거래 3 건
+        jdbcTemplate.update("INSERT INTO accounts (id, balance, status, account_type) VALUES ('CS000001', 0, 'ACTIVE', 'BASIC')");
+        LocalDateTime now = LocalDateTime.now();
+        insertDeposits(1, 10, now.minusMinutes(5));
+        continuousSettlementWorker.run();
+        insertDeposits(11, 3, now.minusMinutes(10));
+
+        // When
+        ContinuousSettlementWorker.RunResult run = continuousSettlementWorker.run();
+        ContinuousSettlementWorker.RunResult sweep = continuousSettlementWorker.sweep();
+
+        // Then - run 은 high-water mark 이후만 읽으므로 놓치고 sweep 이 정산
+        assertThat(run.getProcessedCount()).isZero();
+        assertThat(sweep.getProcessedCount()).isEqualTo(3);
+        Integer pending = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pending_transactions", Integer.class);
+        assertThat(pending).isZero();
+        BigDecimal balance = jdbcTemplate.queryForObject(
+                "SELECT balance FROM accounts WHERE id = 'CS000001'", BigDecimal.class);
+        assertThat(balance).isEqualByComparingTo("1306.50");
+
+        // high-water mark 는 그대로
+        Long lastTransactionId = jdbcTemplate.queryForObject(
+                "SELECT last_transaction_id FROM settlement_checkpoint WHERE job_name = 'continuousSettlement'", Long.class);
+        assertThat(lastTransactionId).isEqualTo(10L);
+    }
+
+    private void insertDeposits(long firstId, int count, LocalDateTime createdAt) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{firstId + i, Timestamp.valueOf(createdAt.plusNanos(i * 1_000_000L))});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transactions (id, account_id, amount, type, created_at, is_processed) "
+                        + "VALUES (?, 'CS000001', 100.00, 'DEPOSIT', ?, FALSE)", rows);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO pending_transactions (transaction_id, account_id, created_at) VALUES (?, 'CS000001', ?)", rows);
+    }
+}
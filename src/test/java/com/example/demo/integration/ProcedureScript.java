@@ -0,0 +1,40 @@
+package com.example.demo.integration;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileCopyUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 운영 procedures.sql 에서 지정한 프로시저만 추출하여 생성 (DELIMITER $$ 블록 단위)
+ */
+public final class ProcedureScript {
+
+    private ProcedureScript() {
+    }
+
+    public static void create(JdbcTemplate jdbcTemplate, String procedureName) {
+        String script = read("procedures.sql");
+        String createStatement = "CREATE PROCEDURE " + procedureName + "(";
+
+        int start = script.indexOf(createStatement);
+        if (start == -1) {
+            throw new IllegalArgumentException("Procedure not found: " + procedureName);
+        }
+        int end = script.indexOf("END$$", start);
+
+        jdbcTemplate.execute("DROP PROCEDURE IF EXISTS " + procedureName);
+        jdbcTemplate.execute(script.substring(start, end + "END".length()));
+    }
+
+    private static String read(String path) {
+        try (var reader = new InputStreamReader(new ClassPathResource(path).getInputStream(), StandardCharsets.UTF_8)) {
+            return FileCopyUtils.copyToString(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read " + path, e);
+        }
+    }
+}
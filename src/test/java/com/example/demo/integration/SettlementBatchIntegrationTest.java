@@ -2,15 +2,18 @@ package com.example.demo.integration;
 
 import com.example.demo.account.entity.Account;
 import com.example.demo.account.repository.AccountRepository;
+import com.example.demo.batch.step.SettlementItemWriter;
 import com.example.demo.settlementhistory.entity.SettlementHistory;
 import com.example.demo.settlementhistory.repository.SettlementHistoryRepository;
 import com.example.demo.transaction.entity.Transaction;
 import com.example.demo.transaction.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.test.JobLauncherTestUtils;
 import org.springframework.batch.test.context.SpringBatchTest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -62,6 +65,9 @@ class SettlementBatchIntegrationTest extends AbstractStoredProcedureTest {
     @Autowired
     private Job settlementJob;
     
+    @Autowired
+    private Job partitionedSettlementJob;
+    
     @BeforeEach
     void setUp() {
         // 테스트 데이터 정리
@@ -131,6 +137,32 @@ class SettlementBatchIntegrationTest extends AbstractStoredProcedureTest {
         // 처리된 거래 확인
         List<Transaction> processedTransactions = transactionRepository.findByIsProcessed(true);
         assertThat(processedTransactions).isNotEmpty();
+        
+        // 정산된 거래는 대기 큐에서 빠지고 미처리 거래만 남음
+        assertThat(transactionRepository.countPending()).isEqualTo(transactionRepository.countByIsProcessed(false));
+    }
+    
+    @Test
+    void testPartitionedWorkersSettleOnlyTheirOwnPartition() throws Exception {
+        // Given
+        jobLauncherTestUtils.setJob(partitionedSettlementJob);
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLong("time", System.currentTimeMillis())
+                .toJobParameters();
+        
+        // When
+        var jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+        
+        // Then - 각 worker 는 자기 파티션에서 읽은 거래만 정산하고, 모든 거래는 한 번씩만 정산됨
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        List<StepExecution> workers = jobExecution.getStepExecutions().stream()
+                .filter(stepExecution -> stepExecution.getStepName().startsWith("settlementWorkerStep"))
+                .toList();
+        assertThat(workers).isNotEmpty().allSatisfy(worker ->
+                assertThat(worker.getExecutionContext().getLong(SettlementItemWriter.PROCESSED_COUNT, 0L))
+                        .isEqualTo(worker.getReadCount()));
+        assertThat(workers.stream().mapToLong(StepExecution::getReadCount).sum()).isEqualTo(2);
+        assertThat(transactionRepository.countByIsProcessed(false)).isZero();
     }
     
     @Test
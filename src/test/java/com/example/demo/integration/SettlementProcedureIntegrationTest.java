@@ -4,7 +4,7 @@ import com.example.demo.account.entity.Account;
 import com.example.demo.account.repository.AccountRepository;
 import com.example.demo.settlementhistory.entity.SettlementHistory;
 import com.example.demo.settlementhistory.repository.SettlementHistoryRepository;
-import com.example.demo.settlementhistory.repository.SettlementProcedureRepository;
+import com.example.demo.settlementhistory.service.SettlementHistoryService;
 import com.example.demo.transaction.entity.Transaction;
 import com.example.demo.transaction.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -53,7 +53,7 @@ class SettlementProcedureIntegrationTest extends AbstractStoredProcedureTest {
     private SettlementHistoryRepository settlementHistoryRepository;
     
     @Autowired
-    private SettlementProcedureRepository settlementProcedureRepository;
+    private SettlementHistoryService settlementHistoryService;
     
     // JdbcTemplate은 AbstractStoredProcedureTest에서 제공
     
@@ -112,16 +112,18 @@ class SettlementProcedureIntegrationTest extends AbstractStoredProcedureTest {
         List<Transaction> unprocessedTransactions = transactionRepository.findByIsProcessed(false);
         assertThat(unprocessedTransactions).hasSize(2);
         
+        long maxTransactionId = unprocessedTransactions.stream().mapToLong(Transaction::getId).max().orElseThrow();
+        
         // When - Stored Procedure 실행
-        var result = settlementProcedureRepository.executeSettlementProcedure();
+        SettlementHistory result = settlementHistoryService.executeSettlement();
         
         // Then
-        assertThat(result).isNotNull();
         assertThat(result.getProcessedCount()).isGreaterThan(0);
         
-        // 정산 이력 확인
+        // 정산 이력은 서비스가 cutoff 와 함께 한 건만 기록
         List<SettlementHistory> settlementHistory = settlementHistoryRepository.findAll();
-        assertThat(settlementHistory).isNotEmpty();
+        assertThat(settlementHistory).hasSize(1);
+        assertThat(settlementHistory.get(0).getCutoffTransactionId()).isEqualTo(maxTransactionId);
         
         // 처리된 거래 확인
         List<Transaction> processedTransactions = transactionRepository.findByIsProcessed(true);
@@ -151,16 +153,15 @@ class SettlementProcedureIntegrationTest extends AbstractStoredProcedureTest {
         transactionRepository.save(largeWithdrawal);
         
         // When - Stored Procedure 실행
-        var result = settlementProcedureRepository.executeSettlementProcedure();
+        SettlementHistory result = settlementHistoryService.executeSettlement();
         
         // Then
-        assertThat(result).isNotNull();
         // 오류가 발생했으므로 errorCount가 0보다 클 것
         assertThat(result.getErrorCount()).isGreaterThan(0);
         
         // 정산 이력에서 FAIL 상태 확인
         List<SettlementHistory> settlementHistory = settlementHistoryRepository.findAll();
-        assertThat(settlementHistory).isNotEmpty();
+        assertThat(settlementHistory).hasSize(1);
         assertThat(settlementHistory.get(0).getStatus()).isEqualTo(SettlementHistory.SettlementStatus.FAIL);
     }
     
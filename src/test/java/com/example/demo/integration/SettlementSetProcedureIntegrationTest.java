@@ -0,0 +1,203 @@
+package com.example.demo.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlOutParameter;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.simple.SimpleJdbcCall;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SP_SETTLE_ACCOUNTS_SET 이 커서 방식 SP_SETTLE_ACCOUNTS 와 같은 결과를 내는지 검증
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class SettlementSetProcedureIntegrationTest {
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("set_procedure_test_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testSetProcedureMatchesCursorProcedure() {
+        // Given
+        ProcedureScript.create(jdbcTemplate, "SP_SETTLE_ACCOUNTS");
+        ProcedureScript.create(jdbcTemplate, "SP_SETTLE_ACCOUNTS_SET");
+
+        // When - 같은 데이터로 두 프로시저를 각각 실행
+        loadBacklog();
+        Map<String, Object> cursorCounts = call("SP_SETTLE_ACCOUNTS");
+        SettlementSnapshot cursor = snapshot();
+
+        loadBacklog();
+        Map<String, Object> setCounts = call("SP_SETTLE_ACCOUNTS_SET");
+        SettlementSnapshot set = snapshot();
+
+        // Then
+        assertThat(setCounts).isEqualTo(cursorCounts);
+        assertThat(set.balances()).isEqualTo(cursor.balances());
+        assertThat(set.processedIds()).isEqualTo(cursor.processedIds());
+        assertThat(set.errors()).isEqualTo(cursor.errors());
+        assertThat(cursor.errors()).anyMatch(error -> error.startsWith("INSUFFICIENT_FUNDS"));
+        assertThat(cursor.errors()).anyMatch(error -> error.startsWith("ACCOUNT_NOT_FOUND"));
+        // 정산 이력은 호출한 쪽에서 기록하므로 SET 프로시저는 쓰지 않음
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM settlement_history", Integer.class)).isZero();
+    }
+
+    @Test
+    void testSkewedAccountNeedsOneRoundPerInsufficientWithdrawal() {
+        // Given
+        ProcedureScript.create(jdbcTemplate, "SP_SETTLE_ACCOUNTS");
+        ProcedureScript.create(jdbcTemplate, "SP_SETTLE_ACCOUNTS_SET");
+
+        // When - 한 계좌에 거래 5,000 건이 몰리고 그중 잔고 부족 출금은 5 건
+        loadSkewedBacklog();
+        Map<String, Object> cursorCounts = call("SP_SETTLE_ACCOUNTS");
+        SettlementSnapshot cursor = snapshot();
+
+        loadSkewedBacklog();
+        Integer rounds = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (CallableStatement call = connection.prepareCall("{call SP_SETTLE_ACCOUNTS_SET(?, ?, ?)}")) {
+                call.setLong(1, Long.MAX_VALUE);
+                call.registerOutParameter(2, Types.INTEGER);
+                call.registerOutParameter(3, Types.INTEGER);
+                call.execute();
+                assertThat(call.getInt(2)).isEqualTo(cursorCounts.get("processed_count"));
+                assertThat(call.getInt(3)).isEqualTo(cursorCounts.get("error_count"));
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT @sp_settle_accounts_set_rounds")) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        });
+        SettlementSnapshot set = snapshot();
+
+        // Then - 결과는 커서 방식과 같고, 누적 잔고 계산은 거래 수(5,000)가 아니라 실패 수 + 1 번만 반복
+        assertThat(set).isEqualTo(cursor);
+        assertThat(cursorCounts.get("error_count")).isEqualTo(5);
+        assertThat(rounds).isEqualTo(6);
+    }
+
+    private Map<String, Object> call(String procedureName) {
+        return new SimpleJdbcCall(jdbcTemplate)
+                .withProcedureName(procedureName)
+                .withoutProcedureColumnMetaDataAccess()
+                .declareParameters(
+                        new SqlParameter("p_max_transaction_id", Types.BIGINT),
+                        new SqlOutParameter("processed_count", Types.INTEGER),
+                        new SqlOutParameter("error_count", Types.INTEGER))
+                .execute(Long.MAX_VALUE);
+    }
+
+    private SettlementSnapshot snapshot() {
+        return new SettlementSnapshot(
+                jdbcTemplate.queryForList("SELECT CONCAT(id, '=', balance) FROM accounts ORDER BY id", String.class),
+                jdbcTemplate.queryForList("SELECT id FROM transactions WHERE is_processed = TRUE ORDER BY id", Long.class),
+                jdbcTemplate.queryForList(
+                        "SELECT CONCAT(error_code, ':', transaction_id, ':', error_message) FROM transaction_errors ORDER BY transaction_id",
+                        String.class));
+    }
+
+    /**
+     * 잔고 부족, 비활성 계좌, 같은 시각 거래, 반올림 경계가 섞인 backlog 적재
+     */
+    private void loadBacklog() {
+        jdbcTemplate.execute("DELETE FROM transaction_errors");
+        jdbcTemplate.execute("DELETE FROM transactions");
+        jdbcTemplate.execute("DELETE FROM settlement_history");
+        jdbcTemplate.execute("DELETE FROM accounts");
+
+        Random random = new Random(11L);
+        int accountCount = 100;
+
+        List<Object[]> accounts = new ArrayList<>();
+        for (int i = 1; i <= accountCount; i++) {
+            accounts.add(new Object[]{
+                    "SET" + String.format("%04d", i),
+                    BigDecimal.valueOf(random.nextInt(500_000), 2),
+                    i % 17 == 0 ? "INACTIVE" : "ACTIVE",
+                    i % 3 == 0 ? "PREMIUM" : "BASIC"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO accounts (id, balance, status, account_type) VALUES (?, ?, ?, ?)", accounts);
+
+        LocalDateTime baseTime = LocalDateTime.of(2024, 1, 15, 0, 0);
+        List<Object[]> transactions = new ArrayList<>();
+        for (long id = 1; id <= 3_000; id++) {
+            transactions.add(new Object[]{
+                    id,
+                    "SET" + String.format("%04d", 1 + random.nextInt(accountCount)),
+                    BigDecimal.valueOf(1 + random.nextInt(300_000), 2),
+                    random.nextInt(5) < 2 ? "DEPOSIT" : "WITHDRAWAL",
+                    // 같은 시각 거래는 id 순서로 정산
+                    Timestamp.valueOf(baseTime.plusSeconds(random.nextInt(600)))});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transactions (id, account_id, amount, type, created_at, is_processed) VALUES (?, ?, ?, ?, ?, FALSE)",
+                transactions);
+    }
+
+    /**
+     * 한 계좌(SKEW0001)에 입금 10.00 / 출금 5.00 을 번갈아 넣고 1,000 건마다 잔고를 넘는 출금 1 건
+     */
+    private void loadSkewedBacklog() {
+        jdbcTemplate.execute("DELETE FROM transaction_errors");
+        jdbcTemplate.execute("DELETE FROM transactions");
+        jdbcTemplate.execute("DELETE FROM settlement_history");
+        jdbcTemplate.execute("DELETE FROM accounts");
+
+        jdbcTemplate.update("INSERT INTO accounts (id, balance, status, account_type) VALUES ('SKEW0001', 100.00, 'ACTIVE', 'BASIC')");
+
+        LocalDateTime baseTime = LocalDateTime.of(2024, 1, 15, 0, 0);
+        List<Object[]> transactions = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            boolean insufficient = id % 1_000 == 500;
+            transactions.add(new Object[]{
+                    id,
+                    insufficient ? new BigDecimal("1000000.00") : id % 2 == 0 ? new BigDecimal("10.00") : new BigDecimal("5.00"),
+                    !insufficient && id % 2 == 0 ? "DEPOSIT" : "WITHDRAWAL",
+                    Timestamp.valueOf(baseTime.plusSeconds(id))});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transactions (id, account_id, amount, type, created_at, is_processed) VALUES (?, 'SKEW0001', ?, ?, ?, FALSE)",
+                transactions);
+    }
+
+    private record SettlementSnapshot(List<String> balances, List<Long> processedIds, List<String> errors) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo.integration;
+
+import com.example.demo.settlementhistory.entity.SettlementHistory;
+import com.example.demo.settlementhistory.service.SettlementHistoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlOutParameter;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.simple.SimpleJdbcCall;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SP_SETTLE_ACCOUNTS_SHARD 를 shard 별로 병렬 호출한 결과가 단일 SP_SETTLE_ACCOUNTS 호출과 같은지 검증
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class SettlementShardedProcedureIntegrationTest {
+
+    private static final int SHARD_COUNT = 4;
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("shard_procedure_test_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("settlement.procedure.shard-count", () -> String.valueOf(SHARD_COUNT));
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SettlementHistoryService settlementHistoryService;
+
+    @Test
+    void testShardedProcedureMatchesCursorProcedure() {
+        // Given
+        ProcedureScript.create(jdbcTemplate, "SP_SETTLE_ACCOUNTS");
+        ProcedureScript.create(jdbcTemplate, "SP_SETTLE_ACCOUNTS_SHARD");
+
+        // When - 같은 데이터로 단일 호출과 shard 병렬 호출을 각각 실행
+        loadBacklog();
+        Map<String, Object> cursorCounts = new SimpleJdbcCall(jdbcTemplate)
+                .withProcedureName("SP_SETTLE_ACCOUNTS")
+                .withoutProcedureColumnMetaDataAccess()
+                .declareParameters(
+                        new SqlParameter("p_max_transaction_id", Types.BIGINT),
+                        new SqlOutParameter("processed_count", Types.INTEGER),
+                        new SqlOutParameter("error_count", Types.INTEGER))
+                .execute(Long.MAX_VALUE);
+        SettlementSnapshot cursor = snapshot();
+
+        loadBacklog();
+        SettlementHistory history = settlementHistoryService.executeSettlement();
+        SettlementSnapshot sharded = snapshot();
+
+        // Then - 합산 건수와 잔고/처리/오류 내역이 같고, 정산 이력은 한 건
+        assertThat(history.getProcessedCount()).isEqualTo(cursorCounts.get("processed_count"));
+        assertThat(history.getErrorCount()).isEqualTo(cursorCounts.get("error_count"));
+        assertThat(sharded.balances()).isEqualTo(cursor.balances());
+        assertThat(sharded.processedIds()).isEqualTo(cursor.processedIds());
+        assertThat(sharded.errors()).isEqualTo(cursor.errors());
+
+        Integer historyCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM settlement_history", Integer.class);
+        assertThat(historyCount).isEqualTo(1);
+    }
+
+    private SettlementSnapshot snapshot() {
+        return new SettlementSnapshot(
+                jdbcTemplate.queryForList("SELECT CONCAT(id, '=', balance) FROM accounts ORDER BY id", String.class),
+                jdbcTemplate.queryForList("SELECT id FROM transactions WHERE is_processed = TRUE ORDER BY id", Long.class),
+                jdbcTemplate.queryForList(
+                        "SELECT CONCAT(error_code, ':', transaction_id, ':', error_message) FROM transaction_errors ORDER BY transaction_id",
+                        String.class));
+    }
+
+    /**
+     * 잔고 부족, 비활성 계좌, 같은 시각 거래가 섞인 backlog 적재
+     */
+    private void loadBacklog() {
+        jdbcTemplate.execute("DELETE FROM transaction_errors");
+        jdbcTemplate.execute("DELETE FROM transactions");
+        jdbcTemplate.execute("DELETE FROM settlement_history");
+        jdbcTemplate.execute("DELETE FROM accounts");
+
+        Random random = new Random(12L);
+        int accountCount = 100;
+
+        List<Object[]> accounts = new ArrayList<>();
+        for (int i = 1; i <= accountCount; i++) {
+            accounts.add(new Object[]{
+                    "SHD" + String.format("%04d", i),
+                    BigDecimal.valueOf(random.nextInt(500_000), 2),
+                    i % 17 == 0 ? "INACTIVE" : "ACTIVE",
+                    i % 3 == 0 ? "PREMIUM" : "BASIC"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO accounts (id, balance, status, account_type) VALUES (?, ?, ?, ?)", accounts);
+
+        LocalDateTime baseTime = LocalDateTime.of(2024, 1, 15, 0, 0);
+        List<Object[]> transactions = new ArrayList<>();
+        for (long id = 1; id <= 3_000; id++) {
+            transactions.add(new Object[]{
+                    id,
+                    "SHD" + String.format("%04d", 1 + random.nextInt(accountCount)),
+                    BigDecimal.valueOf(1 + random.nextInt(300_000), 2),
+                    random.nextInt(5) < 2 ? "DEPOSIT" : "WITHDRAWAL",
+                    Timestamp.valueOf(baseTime.plusSeconds(random.nextInt(600)))});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transactions (id, account_id, amount, type, created_at, is_processed) VALUES (?, ?, ?, ?, ?, FALSE)",
+                transactions);
+    }
+
+    private record SettlementSnapshot(List<String> balances, List<Long> processedIds, List<String> errors) {
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.demo.integration;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.account.entity.Account;
+import com.example.demo.batch.engine.ChunkSettlement;
+import com.example.demo.batch.engine.SettlementAccount;
+import com.example.demo.batch.engine.SettlementEngine;
+import com.example.demo.batch.workqueue.SettlementWorkQueueWorker;
+import com.example.demo.settlementhistory.repository.SettlementWorkBucketRepository;
+import com.example.demo.transaction.entity.Transaction;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 MySQL 을 바라보는 두 애플리케이션 컨텍스트(노드)가 작업 큐 모드로 함께 정산
+ */
+@Testcontainers
+class SettlementWorkQueueIntegrationTest {
+
+    private static final int ACCOUNT_COUNT = 200;
+    private static final int TRANSACTION_COUNT = 5_000;
+    private static final int BUCKET_COUNT = 8;
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("work_queue_test_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        // 스키마는 첫 번째 노드만 생성
+        nodeA = startNode("node-a", "create-drop", "always");
+        nodeB = startNode("node-b", "none", "never");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId, String ddlAuto, String batchSchema) {
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=" + mysql.getJdbcUrl(),
+                        "spring.datasource.username=" + mysql.getUsername(),
+                        "spring.datasource.password=" + mysql.getPassword(),
+                        "spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "spring.batch.jdbc.initialize-schema=" + batchSchema,
+                        "spring.sql.init.mode=never",
+                        "settlement.chunk-size=100",
+                        "settlement.work-queue.node-id=" + nodeId,
+                        "settlement.work-queue.bucket-count=" + BUCKET_COUNT)
+                .run();
+    }
+
+    @Test
+    void testTwoNodesSettleDisjointBuckets() {
+        // Given
+        JdbcTemplate jdbcTemplate = nodeA.getBean(JdbcTemplate.class);
+        Map<String, SettlementAccount> accounts = new HashMap<>();
+        List<Transaction> transactions = new ArrayList<>();
+        loadBacklog(jdbcTemplate, accounts, transactions);
+
+        // When - 두 노드가 동시에 같은 run 을 정산
+        LocalDate settlementDate = LocalDate.of(2024, 1, 15);
+        CompletableFuture<SettlementWorkQueueWorker.WorkResult> resultA = CompletableFuture.supplyAsync(
+                () -> nodeA.getBean(SettlementWorkQueueWorker.class).run(settlementDate));
+        CompletableFuture<SettlementWorkQueueWorker.WorkResult> resultB = CompletableFuture.supplyAsync(
+                () -> nodeB.getBean(SettlementWorkQueueWorker.class).run(settlementDate));
+
+        // Then - 모든 버킷이 정확히 한 노드에서 한 번 정산됨
+        SettlementWorkQueueWorker.WorkResult a = resultA.join();
+        SettlementWorkQueueWorker.WorkResult b = resultB.join();
+        assertThat(a.getBucketCount() + b.getBucketCount()).isEqualTo(BUCKET_COUNT);
+
+        Integer claimedNodes = jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT claimed_by) FROM settlement_work_bucket WHERE run_key = ?", Integer.class, "2024-01-15");
+        Integer recordedBuckets = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM settlement_work_bucket WHERE run_key = ? AND status = 'RECORDED'", Integer.class, "2024-01-15");
+        assertThat(claimedNodes).isBetween(1, 2);
+        assertThat(recordedBuckets).isEqualTo(BUCKET_COUNT);
+
+        // 정산 이력은 run 당 1건
+        Integer historyCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM settlement_history WHERE settlement_date = ?", Integer.class, settlementDate);
+        assertThat(historyCount).isEqualTo(1);
+
+        // 잔고와 처리 건수는 단일 노드에서 순서대로 정산한 결과와 같음
+        ChunkSettlement expected = new SettlementEngine().settle(transactions, accounts);
+        assertThat(a.getProcessedCount() + b.getProcessedCount()).isEqualTo(expected.getProcessedCount());
+        assertThat(a.getErrorCount() + b.getErrorCount()).isEqualTo(expected.getErrorCount());
+
+        Map<String, BigDecimal> expectedBalances = new HashMap<>();
+        accounts.forEach((id, account) -> expectedBalances.put(id, account.getBalance()));
+        expected.getBalanceUpdates().forEach(update -> expectedBalances.merge(update.getAccountId(), update.getDelta(), BigDecimal::add));
+
+        jdbcTemplate.query("SELECT id, balance FROM accounts", rs -> {
+            assertThat(rs.getBigDecimal("balance")).isEqualByComparingTo(expectedBalances.get(rs.getString("id")));
+        });
+        Integer duplicateErrors = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) - COUNT(DISTINCT transaction_id) FROM transaction_errors", Integer.class);
+        assertThat(duplicateErrors).isZero();
+    }
+
+    @Test
+    void testTakenOverBucketKeepsPreviousHolderProgress() {
+        // Given - 버킷 0 을 정산하던 노드가 페이지 일부를 커밋한 뒤 죽어 점유 기간이 만료됨
+        JdbcTemplate jdbcTemplate = nodeA.getBean(JdbcTemplate.class);
+        LocalDate settlementDate = LocalDate.of(2024, 1, 16);
+        nodeA.getBean(SettlementWorkBucketRepository.class).createBuckets("2024-01-16", BUCKET_COUNT);
+        jdbcTemplate.update("""
+                UPDATE settlement_work_bucket
+                SET status = 'CLAIMED', claimed_by = 'node-dead', lease_until = NOW() - INTERVAL 1 MINUTE,
+                    processed_count = 7, error_count = 1
+                WHERE run_key = '2024-01-16' AND bucket_index = 0
+                """);
+
+        // When
+        SettlementWorkQueueWorker.WorkResult result = nodeB.getBean(SettlementWorkQueueWorker.class).run(settlementDate);
+
+        // Then - 이어받은 노드가 버킷을 끝내고, 정산 이력에는 앞선 노드의 건수도 포함됨
+        assertThat(result.getBucketCount()).isEqualTo(BUCKET_COUNT);
+        Map<String, Object> history = jdbcTemplate.queryForMap(
+                "SELECT processed_count, error_count, status FROM settlement_history WHERE settlement_date = ?", settlementDate);
+        assertThat(((Number) history.get("processed_count")).longValue()).isEqualTo(7 + result.getProcessedCount());
+        assertThat(((Number) history.get("error_count")).longValue()).isEqualTo(1 + result.getErrorCount());
+        assertThat(history.get("status")).isEqualTo("FAIL");
+    }
+
+    private void loadBacklog(JdbcTemplate jdbcTemplate, Map<String, SettlementAccount> accounts, List<Transaction> transactions) {
+        Random random = new Random(7L);
+
+        List<Object[]> accountRows = new ArrayList<>();
+        for (int i = 1; i <= ACCOUNT_COUNT; i++) {
+            String id = "WQ" + String.format("%06d", i);
+            BigDecimal balance = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+            Account.AccountType accountType = i % 3 == 0 ? Account.AccountType.PREMIUM : Account.AccountType.BASIC;
+            accounts.put(id, new SettlementAccount(id, balance, accountType));
+            accountRows.add(new Object[]{id, balance, accountType.name()});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO accounts (id, balance, status, account_type) VALUES (?, ?, 'ACTIVE', ?)", accountRows);
+
+        LocalDateTime baseTime = LocalDateTime.of(2024, 1, 14, 0, 0);
+        List<Object[]> transactionRows = new ArrayList<>();
+        List<Object[]> pendingRows = new ArrayList<>();
+        for (long id = 1; id <= TRANSACTION_COUNT; id++) {
+            Transaction transaction = Transaction.builder()
+                    .id(id)
+                    .accountId("WQ" + String.format("%06d", 1 + random.nextInt(ACCOUNT_COUNT)))
+                    .amount(BigDecimal.valueOf(1_000 + random.nextInt(200_000), 2))
+                    .type(random.nextBoolean() ? Transaction.TransactionType.DEPOSIT : Transaction.TransactionType.WITHDRAWAL)
+                    .createdAt(baseTime.plusSeconds(id))
+                    .isProcessed(false)
+                    .build();
+            transactions.add(transaction);
+            transactionRows.add(new Object[]{transaction.getId(), transaction.getAccountId(), transaction.getAmount(),
+                    transaction.getType().name(), Timestamp.valueOf(transaction.getCreatedAt())});
+            pendingRows.add(new Object[]{transaction.getId(), transaction.getAccountId(), Timestamp.valueOf(transaction.getCreatedAt())});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transactions (id, account_id, amount, type, created_at, is_processed) VALUES (?, ?, ?, ?, ?, FALSE)",
+                transactionRows);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO pending_transactions (transaction_id, account_id, created_at) VALUES (?, ?, ?)", pendingRows);
+    }
+}
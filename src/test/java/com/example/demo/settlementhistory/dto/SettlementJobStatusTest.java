@@ -0,0 +1,77 @@
+package com.example.demo.settlementhistory.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SettlementJobStatusTest {
+
+    @Test
+    void testSumsStepCountsAndThroughput() {
+        // Given - 10초 동안 2000 건 처리 후 실행 중
+        JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution("settlementJob", 1L, 7L);
+        jobExecution.setStatus(BatchStatus.STARTED);
+        jobExecution.setStartTime(LocalDateTime.now().minusSeconds(10));
+        StepExecution step = jobExecution.createStepExecution("settlementStep");
+        step.setId(1L);
+        step.setStartTime(jobExecution.getStartTime());
+        step.setReadCount(2000);
+        step.setWriteCount(2000);
+
+        // When
+        SettlementJobStatus status = SettlementJobStatus.from(jobExecution);
+
+        // Then
+        assertThat(status.getJobExecutionId()).isEqualTo(7L);
+        assertThat(status.getStatus()).isEqualTo("STARTED");
+        assertThat(status.getWriteCount()).isEqualTo(2000);
+        assertThat(status.getItemsPerSecond()).isBetween(150.0, 201.0);
+        assertThat(status.getSteps()).hasSize(1);
+    }
+
+    @Test
+    void testCountsOnlyPartitionWorkers() {
+        // Given - manager Step 은 종료 시 worker 건수를 합산하므로 제외해야 함
+        JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution("partitionedSettlementJob", 1L, 8L);
+        jobExecution.setStartTime(LocalDateTime.now().minusSeconds(1));
+        StepExecution manager = jobExecution.createStepExecution("settlementManagerStep");
+        manager.setId(1L);
+        manager.setWriteCount(300);
+        StepExecution worker0 = jobExecution.createStepExecution("settlementWorkerStep:partition0");
+        worker0.setId(2L);
+        worker0.setWriteCount(100);
+        StepExecution worker1 = jobExecution.createStepExecution("settlementWorkerStep:partition1");
+        worker1.setId(3L);
+        worker1.setWriteCount(200);
+
+        // When
+        SettlementJobStatus status = SettlementJobStatus.from(jobExecution);
+
+        // Then
+        assertThat(status.getWriteCount()).isEqualTo(300);
+        assertThat(status.getSteps()).extracting(SettlementJobStatus.StepStatus::getStepName)
+                .containsExactly("settlementManagerStep", "settlementWorkerStep:partition0", "settlementWorkerStep:partition1");
+    }
+
+    @Test
+    void testStepsWithoutIdAreListedLast() {
+        // Given - 방금 생성되어 아직 저장되지 않은 worker Step
+        JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution("partitionedSettlementJob", 1L, 9L);
+        jobExecution.createStepExecution("settlementWorkerStep:partition1");
+        StepExecution saved = jobExecution.createStepExecution("settlementWorkerStep:partition0");
+        saved.setId(2L);
+
+        // When
+        SettlementJobStatus status = SettlementJobStatus.from(jobExecution);
+
+        // Then
+        assertThat(status.getSteps()).extracting(SettlementJobStatus.StepStatus::getStepName)
+                .containsExactly("settlementWorkerStep:partition0", "settlementWorkerStep:partition1");
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.settlementhistory.progress;
+
+import com.example.demo.settlementhistory.dto.SettlementProgressEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SettlementProgressBroadcasterTest {
+
+    private SettlementProgressBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new SettlementProgressBroadcaster();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void testCompleteReleasesSubscribers() {
+        // Given
+        broadcaster.subscribe(1L);
+        broadcaster.subscribe(1L);
+        broadcaster.publish(event(1L, "STARTED"));
+
+        // When
+        broadcaster.complete(event(1L, "COMPLETED"));
+
+        // Then
+        assertThat(broadcaster.getSubscriberCount(1L)).isZero();
+    }
+
+    @Test
+    void testLateSubscriberIsNotRegisteredAfterJobCompleted() {
+        // Given - Job 이 끝난 뒤 (JobRepository 에 반영되기 전) 들어온 구독
+        broadcaster.complete(event(2L, "COMPLETED"));
+
+        // When
+        broadcaster.subscribe(2L);
+
+        // Then - 완료 이벤트를 받고 바로 종료되므로 구독 목록에 남지 않음
+        assertThat(broadcaster.getSubscriberCount(2L)).isZero();
+    }
+
+    private SettlementProgressEvent event(Long jobExecutionId, String status) {
+        return SettlementProgressEvent.builder()
+                .jobExecutionId(jobExecutionId)
+                .stepName("settlementStep")
+                .status(status)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.demo.transaction.archive;
+
+import com.example.demo.batch.config.SettlementProperties;
+import com.example.demo.transaction.entity.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ColdTransactionStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private SettlementProperties properties;
+    private ColdTransactionStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SettlementProperties();
+        properties.getColdArchive().setEnabled(true);
+        properties.getColdArchive().setDirectory(directory.toString());
+        store = new ColdTransactionStore(properties);
+    }
+
+    @Test
+    void testPublishedFilesRoundTripAllColumns() {
+        // Given
+        List<Transaction> transactions = List.of(
+                transaction(3L, "ACC002", "0.01", Transaction.TransactionType.WITHDRAWAL, "2024-01-15T23:59:59"),
+                transaction(1L, "ACC001", "1234567.89", Transaction.TransactionType.DEPOSIT, "2024-01-15T00:00:00"),
+                transaction(2L, "ACC001", "-50.00", Transaction.TransactionType.WITHDRAWAL, "2024-01-16T12:00:00"));
+
+        // When
+        store.publish(store.stage(transactions));
+
+        // Then - 일자별 파일로 나뉘고 (created_at, id) 순서로 모든 컬럼이 복원됨
+        assertThat(directory.resolve("dt=2024-01-15/part-1-3.tcol")).exists();
+        assertThat(directory.resolve("dt=2024-01-16/part-2-2.tcol")).exists();
+        assertThat(store.findByCreatedAtBetween(LocalDateTime.parse("2024-01-01T00:00:00"), LocalDateTime.parse("2024-01-31T23:59:59")))
+                .extracting(Transaction::getId, Transaction::getAccountId, Transaction::getAmount,
+                        Transaction::getType, Transaction::getCreatedAt, Transaction::getIsProcessed)
+                .containsExactly(
+                        tuple(1L, "ACC001", new BigDecimal("1234567.89"), Transaction.TransactionType.DEPOSIT,
+                                LocalDateTime.parse("2024-01-15T00:00:00"), true),
+                        tuple(3L, "ACC002", new BigDecimal("0.01"), Transaction.TransactionType.WITHDRAWAL,
+                                LocalDateTime.parse("2024-01-15T23:59:59"), true),
+                        tuple(2L, "ACC001", new BigDecimal("-50.00"), Transaction.TransactionType.WITHDRAWAL,
+                                LocalDateTime.parse("2024-01-16T12:00:00"), true));
+    }
+
+    @Test
+    void testFindsOnlyRowsInRangeAndAccount() {
+        // Given
+        store.publish(store.stage(List.of(
+                transaction(1L, "ACC001", "10.00", Transaction.TransactionType.DEPOSIT, "2024-01-15T09:00:00"),
+                transaction(2L, "ACC002", "20.00", Transaction.TransactionType.DEPOSIT, "2024-01-15T10:30:00"),
+                transaction(3L, "ACC003", "30.00", Transaction.TransactionType.DEPOSIT, "2024-01-16T10:30:00"))));
+
+        // When & Then
+        assertThat(store.findByCreatedAtBetween(LocalDateTime.parse("2024-01-15T10:00:00"), LocalDateTime.parse("2024-01-16T10:00:00")))
+                .extracting(Transaction::getId).containsExactly(2L);
+        assertThat(store.findByAccountId("ACC003")).extracting(Transaction::getId).containsExactly(3L);
+        assertThat(store.findByAccountId("ACC999")).isEmpty();
+    }
+
+    @Test
+    void testStagedFilesAreInvisibleAndCleanedUp() throws Exception {
+        // Given - 커밋 전에 중단되어 공개되지 않은 파일
+        List<Path> staged = store.stage(List.of(
+                transaction(1L, "ACC001", "10.00", Transaction.TransactionType.DEPOSIT, "2024-01-15T09:00:00")));
+
+        // When & Then
+        assertThat(store.findByAccountId("ACC001")).isEmpty();
+        store.cleanUpStaged();
+        assertThat(staged.get(0)).doesNotExist();
+        try (Stream<Path> files = Files.list(directory.resolve("dt=2024-01-15"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void testDuplicateArchivesAreReturnedOnce() {
+        // Given - 같은 거래가 두 번 아카이브된 경우 (파일 공개 후 삭제 커밋 전에 프로세스가 종료)
+        Transaction transaction = transaction(7L, "ACC001", "10.00", Transaction.TransactionType.DEPOSIT, "2024-01-15T09:00:00");
+        store.publish(store.stage(List.of(transaction)));
+        store.publish(store.stage(List.of(transaction,
+                transaction(8L, "ACC001", "20.00", Transaction.TransactionType.DEPOSIT, "2024-01-15T09:00:00"))));
+
+        // When & Then
+        assertThat(store.findByAccountId("ACC001")).extracting(Transaction::getId).containsExactly(7L, 8L);
+    }
+
+    @Test
+    void testHeaderIndexesSkipFilesOutsideRange() throws Exception {
+        // Given
+        store.publish(store.stage(List.of(
+                transaction(1L, "ACC005", "10.00", Transaction.TransactionType.DEPOSIT, "2024-01-15T09:00:00"),
+                transaction(2L, "ACC009", "20.00", Transaction.TransactionType.DEPOSIT, "2024-01-15T11:00:00"))));
+
+        // When
+        TransactionColumnarFile.Header header = TransactionColumnarFile.readHeader(directory.resolve("dt=2024-01-15/part-1-2.tcol"));
+
+        // Then
+        assertThat(header.rowCount()).isEqualTo(2);
+        assertThat(header.overlaps(LocalDateTime.parse("2024-01-15T10:00:00"), LocalDateTime.parse("2024-01-15T10:30:00"))).isTrue();
+        assertThat(header.overlaps(LocalDateTime.parse("2024-01-15T11:00:01"), LocalDateTime.parse("2024-01-15T12:00:00"))).isFalse();
+        assertThat(header.mayContainAccount("ACC005")).isTrue();
+        assertThat(header.mayContainAccount("ACC001")).isFalse();
+        // min/max 범위 안이지만 블룸 필터로 걸러짐
+        assertThat(header.mayContainAccount("ACC007")).isFalse();
+    }
+
+    @Test
+    void testAllowsNodeLocalDirectoryUnlessSharedDirectoryIsRequired() {
+        // Given - 단일 노드 (settlement_lock 은 기본값대로 사용)
+        properties.getLock().setEnabled(true);
+        store.validate();
+
+        // When - 여러 노드 배포로 공유 경로를 요구하지만 공유 경로로 표시하지 않음
+        properties.getColdArchive().setRequireSharedDirectory(true);
+
+        // Then
+        assertThatThrownBy(store::validate)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("shared-directory");
+
+        properties.getColdArchive().setSharedDirectory(true);
+        store.validate();
+    }
+
+    private Transaction transaction(Long id, String accountId, String amount, Transaction.TransactionType type, String createdAt) {
+        return Transaction.builder()
+                .id(id)
+                .accountId(accountId)
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .createdAt(LocalDateTime.parse(createdAt))
+                .isProcessed(true)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demo.transaction.service;
 
+import com.example.demo.transaction.archive.ColdTransactionStore;
 import com.example.demo.transaction.entity.Transaction;
 import com.example.demo.transaction.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -21,9 +26,16 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceTest {
 
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2025, 6, 30, 23, 59, 59);
+    private static final Sort HISTORY_ORDER = Sort.by("createdAt", "id");
+
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private ColdTransactionStore coldTransactionStore;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -94,4 +106,67 @@ class TransactionServiceTest {
         assertThat(unprocessedTransactions).hasSize(1);
         assertThat(unprocessedTransactions.get(0).getIsProcessed()).isFalse();
     }
+
+    @Test
+    void testFindTransactionsByDateRangeMergesArchivedAndHotRows() {
+        // Given - 아카이브 4 건(그중 12 는 transactions 에도 남은 중복), transactions 5 건(10, 11 은 아카이브가 밀려 남은 오래된 거래)
+        when(coldTransactionStore.isEnabled()).thenReturn(true);
+        when(coldTransactionStore.hotWindowStart()).thenReturn(LocalDateTime.of(2025, 1, 1, 0, 0));
+        when(coldTransactionStore.findByCreatedAtBetween(START, END)).thenReturn(List.of(
+                transaction(1L, "2024-03-01T00:00"), transaction(2L, "2024-06-01T00:00"),
+                transaction(3L, "2024-09-01T00:00"), transaction(12L, "2025-02-01T00:00")));
+        when(transactionRepository.findExistingIds(List.of(1L, 2L, 3L, 12L))).thenReturn(List.of(12L));
+        when(transactionRepository.findByCreatedAtBetween(START, END, PageRequest.of(0, 7, HISTORY_ORDER))).thenReturn(
+                new PageImpl<>(hotRows(), PageRequest.of(0, 7, HISTORY_ORDER), 5));
+
+        // When - 두 번째 페이지 (병합 목록 10, 1, 11, 2, 3, 12, 13, 14 의 offset 4)
+        Page<Transaction> page = transactionService.findTransactionsByDateRange(START, END, PageRequest.of(1, 4));
+
+        // Then - 중복 없이 (created_at, id) 순서
+        assertThat(page.getContent()).extracting(Transaction::getId).containsExactly(3L, 12L, 13L, 14L);
+        assertThat(page.getTotalElements()).isEqualTo(8);
+    }
+
+    @Test
+    void testDeepPageStartsAtMergedPositionOfFirstHotRow() {
+        // Given - 아카이브 3 건이 모두 transactions 거래 14 보다 앞섬
+        when(coldTransactionStore.isEnabled()).thenReturn(true);
+        when(coldTransactionStore.hotWindowStart()).thenReturn(LocalDateTime.of(2025, 1, 1, 0, 0));
+        when(coldTransactionStore.findByCreatedAtBetween(START, END)).thenReturn(List.of(
+                transaction(1L, "2024-03-01T00:00"), transaction(2L, "2024-06-01T00:00"), transaction(3L, "2024-09-01T00:00")));
+        when(transactionRepository.findExistingIds(List.of(1L, 2L, 3L))).thenReturn(List.of());
+        when(transactionRepository.findByCreatedAtBetween(START, END, PageRequest.of(1, 4, HISTORY_ORDER))).thenReturn(
+                new PageImpl<>(hotRows().subList(4, 5), PageRequest.of(1, 4, HISTORY_ORDER), 5));
+
+        // When - 마지막 거래 (offset 7, transactions 는 offset 4 부터만 읽음)
+        Page<Transaction> page = transactionService.findTransactionsByDateRange(START, END, PageRequest.of(7, 1));
+
+        // Then
+        assertThat(page.getContent()).extracting(Transaction::getId).containsExactly(14L);
+        assertThat(page.getTotalElements()).isEqualTo(8);
+    }
+
+    private List<Transaction> hotRows() {
+        return List.of(
+                transaction(10L, "2024-02-01T00:00"), transaction(11L, "2024-05-01T00:00"),
+                transaction(12L, "2025-02-01T00:00"), transaction(13L, "2025-03-01T00:00"),
+                transaction(14L, "2025-04-01T00:00"));
+    }
+
+    private Transaction transaction(Long id, String createdAt) {
+        Transaction transaction = transaction(id);
+        transaction.setCreatedAt(LocalDateTime.parse(createdAt));
+        return transaction;
+    }
+
+    private Transaction transaction(Long id) {
+        return Transaction.builder()
+                .id(id)
+                .accountId("TEST_ACCOUNT_001")
+                .amount(new BigDecimal("100.00"))
+                .type(Transaction.TransactionType.DEPOSIT)
+                .isProcessed(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
 }
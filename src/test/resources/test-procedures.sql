@@ -3,7 +3,7 @@
 
 DROP PROCEDURE IF EXISTS SP_SETTLE_ACCOUNTS;
 
-CREATE PROCEDURE SP_SETTLE_ACCOUNTS(OUT processed_count INT, OUT error_count INT)
+CREATE PROCEDURE SP_SETTLE_ACCOUNTS(IN p_max_transaction_id BIGINT, OUT processed_count INT, OUT error_count INT)
 BEGIN
     DECLARE v_processed_count INT DEFAULT 0;
     DECLARE v_error_count INT DEFAULT 0;
@@ -19,6 +19,7 @@ BEGIN
         END,
         a.updated_at = NOW()
     WHERE t.is_processed = FALSE 
+      AND t.id <= p_max_transaction_id
       AND a.status = 'ACTIVE'
       AND (t.type = 'DEPOSIT' OR (t.type = 'WITHDRAWAL' AND a.balance >= t.amount));
     
@@ -30,16 +31,12 @@ BEGIN
     FROM transactions t
     JOIN accounts a ON t.account_id = a.id
     WHERE t.is_processed = FALSE 
+      AND t.id <= p_max_transaction_id
       AND t.type = 'WITHDRAWAL' 
       AND a.balance < t.amount;
     
     SET v_error_count = ROW_COUNT();
     
-    -- 정산 이력 생성
-    INSERT INTO settlement_history (settlement_date, processed_count, error_count, status, created_at)
-    VALUES (CURDATE(), v_processed_count, v_error_count, 
-            CASE WHEN v_error_count = 0 THEN 'SUCCESS' ELSE 'FAIL' END, NOW());
-    
     -- 결과 반환
     SET processed_count = v_processed_count;
     SET error_count = v_error_count;